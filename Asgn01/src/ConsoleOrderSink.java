@@ -0,0 +1,37 @@
+import java.io.PrintStream;
+
+/**
+ * Pretends to be a database by printing each statement on its own line.
+ */
+public class ConsoleOrderSink implements OrderSink {
+
+    // The database we are pretending to connect to.
+    private final String databaseTarget;
+    private final PrintStream out;
+
+    /**
+     * Initializes the ConsoleOrderSink object
+     *
+     * @param databaseTarget the url of the database we pretend to connect to
+     * @param out            where to print the statements
+     */
+    public ConsoleOrderSink(String databaseTarget, PrintStream out) {
+        this.databaseTarget = databaseTarget;
+        this.out = out;
+    }
+
+    @Override
+    public void connect() {
+        out.printf("Pretending to connect to %s%n", databaseTarget);
+    }
+
+    @Override
+    public void execute(CharSequence statement) {
+        out.println(statement);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
@@ -1,30 +1,86 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 
-public class DatabaseService{
-     
-    // The url of the database we will connect to
-    private final String databaseTarget;
+public class DatabaseService implements AutoCloseable {
+
+    // How many orders go into one INSERT statement by default.
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // Where the statements go
+    private final OrderSink sink;
+
+    // How many orders go into one INSERT statement
+    private final int batchSize;
+
+    // Builds the INSERT statements
+    private final InsertStatementTemplate insertTemplate = new InsertStatementTemplate();
 
     /*
-     * Initializes the DatabaseService object
+     * Initializes the DatabaseService object. It only pretends to connect, printing one
+     * INSERT statement per product.
      * @param databaseTarget the url of the database that we will connect to
      */
     public DatabaseService(String databaseTarget){
-        this.databaseTarget = databaseTarget;
+        this(new ConsoleOrderSink(databaseTarget, System.out), 1);
+    }
+
+    /*
+     * Initializes the DatabaseService object
+     * @param sink where to send the statements
+     * @param batchSize how many orders go into one INSERT statement
+     */
+    public DatabaseService(OrderSink sink, int batchSize){
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Opens a DatabaseService that saves to a local file (the stand-in for a real database),
+     * in batches of DEFAULT_BATCH_SIZE orders.
+     *
+     * @param file the file holding the orders
+     * @return the DatabaseService
+     * @throws IOException if the file cannot be opened
+     */
+    public static DatabaseService open(Path file) throws IOException {
+        return new DatabaseService(new FileOrderStore(file), DEFAULT_BATCH_SIZE);
     }
 
     /**
-     * Simulates saving all current orders to a database by printing SQL INSERT statements.
-     * Displays a connection message and then an INSERT line per product.
+     * Saves all current orders to the database, as INSERT statements of up to batchSize
+     * orders each.
+     *
+     * @param orders the orders to save
+     * @return how many orders were saved, and how quickly
+     * @throws UncheckedIOException if the orders cannot be saved
      */
-    public void saveOrdersToDatabase(List<Product> orders) {
-        // Fake database save
-        System.out.printf("Pretending to connect to %s%n", databaseTarget);
-
-        // Iterate over each Product to simulate individual INSERT operations.
-        for (Product p : orders) {
-            // Print a generated SQL INSERT statement using the product's fields.
-            System.out.printf("INSERT INTO orders VALUES('%s', %.2f, %.2f)%n", p.productName(), p.retailCost(), p.wholesaleCost());
+    public SaveReport saveOrdersToDatabase(List<Product> orders) {
+        long start = System.nanoTime();
+        int statements = 0;
+
+        try {
+            sink.connect();
+            Iterator<Product> rows = orders.iterator();
+            for (int from = 0; from < orders.size(); from += batchSize) {
+                sink.execute(insertTemplate.render(rows, Math.min(orders.size() - from, batchSize)));
+                statements++;
+            }
+            sink.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
+
+        return new SaveReport(orders.size(), statements, System.nanoTime() - start);
+    }
+
+    // Closes the connection to the database
+    @Override
+    public void close() throws IOException {
+        sink.close();
     }
-}
\ No newline at end of file
+}
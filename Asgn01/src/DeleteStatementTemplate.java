@@ -0,0 +1,30 @@
+/**
+ * Builds DELETE statements that remove some copies of one product from the orders table, e.g.
+ * DELETE FROM orders WHERE (product_name, retail_cost, wholesale_cost) = ('Laptop', 999.99, 750.00) LIMIT 1
+ * <p>
+ * Like InsertStatementTemplate, the same builder is reused for every statement.
+ */
+public class DeleteStatementTemplate {
+
+    private static final String PREFIX = "DELETE FROM orders WHERE (product_name, retail_cost, wholesale_cost) = ('";
+
+    // The statement being built (reused for every statement).
+    private final StringBuilder statement = new StringBuilder(256);
+
+    /**
+     * Builds the statement deleting copies of a product.
+     * The statement is only valid until the next call.
+     *
+     * @param product the product
+     * @param count   how many copies to delete
+     * @return the statement
+     */
+    public CharSequence render(Product product, int count) {
+        statement.setLength(0);
+        statement.append(PREFIX).append(product.productName().replace("'", "''")).append("', ");
+        Money.appendCents(statement, Money.toCents(product.retailCost()));
+        statement.append(", ");
+        Money.appendCents(statement, Money.toCents(product.wholesaleCost()));
+        return statement.append(") LIMIT ").append(count);
+    }
+}
@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures a DiscountRuleEngine with several rules (a gross threshold, a volume, tiered
+ * breakpoints and two product rules), which makes one pass over the orders, against the same
+ * rules with each one that looks at the orders making its own pass (as separate
+ * DiscountStrategies do). First checks that the wholesale invoice is exactly the same with the
+ * engine as with VolumeDiscount and the invoice's own big order discount, for carts of every
+ * size from 0 to 20.
+ * <p>
+ * Usage: java DiscountBenchmark [orders] (default 5,000,000)
+ */
+public class DiscountBenchmark {
+
+    private static final String[] NAMES = {"Laptop", "Smartphone", "Tablet", "Keyboard", "Monitor", "Mouse"};
+
+    private static final double[] TIERS = {1_000, 10_000, 100_000, 1_000_000};
+    private static final double[] TIER_MULTIPLIERS = {0.99, 0.98, 0.97, 0.96};
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Random random = new Random(42);
+
+        // The same wholesale invoices, both ways.
+        DiscountRuleEngine wholesale = DiscountRuleEngine.builder()
+                .volumeDiscount(3, 0.9)
+                .addAll(InvoiceRenderer.BIG_ORDER_DISCOUNT)
+                .build();
+        for (int i = 0; i < 10_000; i++) {
+            List<Product> cart = randomOrders(random, i % 21);
+            var expected = new StringBuilder();
+            new InvoiceRenderer(expected).renderWholesalerInvoice(cart, new VolumeDiscount().computeDiscount(cart));
+            var actual = new StringBuilder();
+            new InvoiceRenderer(actual).renderWholesalerInvoice(cart, wholesale.evaluate(cart));
+            if (!expected.toString().equals(actual.toString())) {
+                throw new AssertionError("The engine's invoice differs:\n" + expected + "\n" + actual);
+            }
+        }
+
+        DiscountRuleEngine engine = DiscountRuleEngine.builder()
+                .productDiscount("Laptop", 2, 0.85, null)
+                .productDiscount("Mouse", 5, 0.5, null)
+                .volumeDiscount(3, 0.9)
+                .grossDiscount(500, 0.95)
+                .tieredDiscount(TIERS, TIER_MULTIPLIERS)
+                .build();
+        List<Product> orders = randomOrders(random, count);
+
+        System.out.printf("Orders: %,d%n", count);
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            double separate = separatePasses(orders);
+            long separateNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double fused = engine.evaluate(orders).total();
+            long fusedNanos = System.nanoTime() - start;
+
+            if (separate != fused) {
+                throw new AssertionError("Totals differ: " + separate + " and " + fused);
+            }
+            System.out.printf("A pass per rule %,7.1f ms   one pass %,7.1f ms   (total %.2f)%n",
+                    separateNanos / 1e6, fusedNanos / 1e6, fused);
+        }
+    }
+
+    // The same rules as the engine, each going through the orders itself.
+    private static double separatePasses(List<Product> orders) {
+        long laptopCents = productCents(orders, "Laptop", 2);
+        long mouseCents = productCents(orders, "Mouse", 5);
+        long totalCents = OrderTotals.of(orders).retailCents();
+        long discountedCents = totalCents
+                - laptopCents + Math.round(laptopCents * 0.85)
+                - mouseCents + Math.round(mouseCents * 0.5);
+        double total = Money.toDollars(discountedCents);
+
+        // The volume rule counts the orders itself, as a DiscountStrategy given a list does.
+        if (OrderTotals.of(orders).count() > 3) {
+            total *= 0.9;
+        }
+        if (total > 500) {
+            total *= 0.95;
+        }
+        for (int i = TIERS.length - 1; i >= 0; i--) {
+            if (total > TIERS[i]) {
+                total *= TIER_MULTIPLIERS[i];
+                break;
+            }
+        }
+        return total;
+    }
+
+    // The total of a product's lines, if there are at least a number of them (or else 0).
+    private static long productCents(List<Product> orders, String name, int minimumLines) {
+        int lines = 0;
+        long cents = 0;
+        for (Product p : orders) {
+            if (p.productName().equals(name)) {
+                lines++;
+                cents += Money.toCents(p.retailCost());
+            }
+        }
+        return lines >= minimumLines ? cents : 0;
+    }
+
+    private static List<Product> randomOrders(Random random, int count) {
+        List<Product> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new Product(NAMES[random.nextInt(NAMES.length)], random.nextInt(300_000) / 100.0,
+                    random.nextInt(200_000) / 100.0));
+        }
+        return orders;
+    }
+}
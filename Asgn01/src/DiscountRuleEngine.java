@@ -0,0 +1,289 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several discount rules applied together, in a single pass over the orders however many rules
+ * there are.
+ * <p>
+ * There are two kinds of rule. Product rules take a percentage off every line of one product
+ * (if there are enough of them); the pass adds up each product rule's lines as it goes, looking
+ * the product up once per line. Order rules (a total threshold, a volume, tiered breakpoints, or
+ * either of a volume and a total) then only look at the count and the total, so they cost
+ * nothing per order. They apply in the order they were added, each to the total left by the
+ * ones before it (so discounts stack, as the wholesale invoice's big order discount always has).
+ * <p>
+ * Without product rules, an engine only needs the orders' totals, so it can work straight from
+ * an OrderRepository's running totals (evaluate(OrderTotals)).
+ */
+public final class DiscountRuleEngine implements DiscountStrategy {
+
+    // The order rules, in order.
+    private final OrderRule[] orderRules;
+
+    // The product rules, and the index of each product's rule.
+    private final ProductRule[] productRules;
+    private final Map<String, Integer> productRuleIndex;
+
+    private DiscountRuleEngine(Builder builder) {
+        orderRules = builder.orderRules.toArray(new OrderRule[0]);
+        productRules = builder.productRules.toArray(new ProductRule[0]);
+        productRuleIndex = new HashMap<>(builder.productRuleIndex);
+    }
+
+    // returns a builder for a new engine
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // returns whether any rule depends on which products were ordered (and not just the totals)
+    public boolean hasProductRules() {
+        return productRules.length > 0;
+    }
+
+    // Compute New total
+    @Override
+    public double computeDiscount(List<Product> orders) {
+        return evaluate(orders).total();
+    }
+
+    /**
+     * Applies every rule to a list of orders, in one pass over them.
+     *
+     * @param orders the orders
+     * @return the discounted total, and the notices of the rules that applied
+     */
+    public Result evaluate(List<Product> orders) {
+        if (productRules.length == 0) {
+            return evaluate(OrderTotals.of(orders));
+        }
+
+        // One pass: the total, and the lines and total of each product rule's product.
+        long totalCents = 0;
+        int[] ruleLines = new int[productRules.length];
+        long[] ruleCents = new long[productRules.length];
+        for (Product p : orders) {
+            long cents = Money.toCents(p.retailCost());
+            totalCents += cents;
+            Integer rule = productRuleIndex.get(p.productName());
+            if (rule != null) {
+                ruleLines[rule]++;
+                ruleCents[rule] += cents;
+            }
+        }
+
+        // The lines of products whose rules apply are discounted (each product's lines together,
+        // to the nearest cent); the rest are not. Whole cents add up the same in any order.
+        List<String> notices = new ArrayList<>();
+        long discountedCents = totalCents;
+        for (int i = 0; i < productRules.length; i++) {
+            ProductRule rule = productRules[i];
+            if (ruleLines[i] >= rule.minimumLines()) {
+                discountedCents += Math.round(ruleCents[i] * rule.multiplier()) - ruleCents[i];
+                if (rule.notice() != null) {
+                    notices.add(rule.notice());
+                }
+            }
+        }
+
+        return applyOrderRules(orders.size(), Money.toDollars(discountedCents), notices);
+    }
+
+    /**
+     * Applies every rule to a set of orders, from their totals alone.
+     *
+     * @param totals the orders' totals (e.g. an OrderRepository's running totals)
+     * @return the discounted total, and the notices of the rules that applied
+     * @throws IllegalStateException if there are product rules (which need the orders themselves)
+     */
+    public Result evaluate(OrderTotals totals) {
+        if (productRules.length > 0) {
+            throw new IllegalStateException("Product rules need the orders, not just their totals");
+        }
+        return applyOrderRules(totals.count(), Money.toDollars(totals.retailCents()), new ArrayList<>());
+    }
+
+    /**
+     * Applies the order rules to a total that has already been worked out (product rules do not
+     * apply).
+     *
+     * @param count the number of orders
+     * @param total their total, possibly already discounted
+     * @return the discounted total, and the notices of the rules that applied
+     */
+    public Result applyOrderRules(int count, double total) {
+        return applyOrderRules(count, total, new ArrayList<>());
+    }
+
+    private Result applyOrderRules(int count, double total, List<String> notices) {
+        for (OrderRule rule : orderRules) {
+            double multiplier = rule.multiplierFor(count, total);
+            if (multiplier != 1.0) {
+                total *= multiplier;
+                if (rule.notice() != null) {
+                    notices.add(rule.notice());
+                }
+            }
+        }
+        return new Result(total, List.copyOf(notices));
+    }
+
+    /**
+     * The outcome of applying the rules.
+     *
+     * @param total   the discounted total
+     * @param notices what to tell the customer about the discounts applied (e.g. "Discount
+     *                applied!"), in order
+     */
+    public record Result(double total, List<String> notices) {
+    }
+
+    /**
+     * Collects the rules for a DiscountRuleEngine. Each rule takes a multiplier: 0.9 takes 10% off.
+     * (A multiplier of 1 would not be a discount, so it is not allowed.)
+     */
+    public static final class Builder {
+
+        private final List<OrderRule> orderRules = new ArrayList<>();
+        private final List<ProductRule> productRules = new ArrayList<>();
+        private final Map<String, Integer> productRuleIndex = new HashMap<>();
+
+        private Builder() {
+        }
+
+        // Discount the total if it is more than a threshold (like GrossDiscount).
+        public Builder grossDiscount(double moreThanTotal, double multiplier) {
+            return itemsOrTotalDiscount(Integer.MAX_VALUE, moreThanTotal, multiplier, null);
+        }
+
+        // Discount the total if there are more than a number of orders (like VolumeDiscount).
+        public Builder volumeDiscount(int moreThanItems, double multiplier) {
+            return itemsOrTotalDiscount(moreThanItems, Double.POSITIVE_INFINITY, multiplier, null);
+        }
+
+        /**
+         * Discounts the total if there are more than a number of orders, or the total is more than
+         * a threshold.
+         *
+         * @param moreThanItems the number of orders to exceed
+         * @param moreThanTotal the total to exceed
+         * @param multiplier    what the total is multiplied by
+         * @param notice        what to tell the customer when it applies (or null)
+         * @return this builder
+         */
+        public Builder itemsOrTotalDiscount(int moreThanItems, double moreThanTotal, double multiplier, String notice) {
+            checkMultiplier(multiplier);
+            orderRules.add(new ThresholdRule(moreThanItems, moreThanTotal, multiplier, notice));
+            return this;
+        }
+
+        /**
+         * Discounts the total by the tier it falls in: the last breakpoint it is more than
+         * (found by binary search, so any number of tiers costs a few comparisons).
+         *
+         * @param moreThanTotals the breakpoints, in increasing order
+         * @param multipliers    the multiplier for a total more than each breakpoint
+         * @return this builder
+         */
+        public Builder tieredDiscount(double[] moreThanTotals, double[] multipliers) {
+            if (moreThanTotals.length != multipliers.length) {
+                throw new IllegalArgumentException("Each breakpoint needs one multiplier");
+            }
+            for (int i = 0; i < moreThanTotals.length; i++) {
+                checkMultiplier(multipliers[i]);
+                if (i > 0 && !(moreThanTotals[i] > moreThanTotals[i - 1])) {
+                    throw new IllegalArgumentException("Breakpoints must increase: " + moreThanTotals[i]);
+                }
+            }
+            orderRules.add(new TieredRule(moreThanTotals.clone(), multipliers.clone()));
+            return this;
+        }
+
+        /**
+         * Discounts every line of a product, if there are at least a number of them. Product rules
+         * apply to the lines before any order rule applies to the total.
+         *
+         * @param productName  the product
+         * @param minimumLines how many lines of it there must be
+         * @param multiplier   what the total of its lines' retail costs is multiplied by (to the
+         *                     nearest cent)
+         * @param notice       what to tell the customer when it applies (or null)
+         * @return this builder
+         */
+        public Builder productDiscount(String productName, int minimumLines, double multiplier, String notice) {
+            checkMultiplier(multiplier);
+            if (productRuleIndex.putIfAbsent(productName, productRules.size()) != null) {
+                throw new IllegalArgumentException("There is already a rule for " + productName);
+            }
+            productRules.add(new ProductRule(productName, minimumLines, multiplier, notice));
+            return this;
+        }
+
+        // Adds all of another engine's rules (after the ones added so far).
+        public Builder addAll(DiscountRuleEngine engine) {
+            orderRules.addAll(List.of(engine.orderRules));
+            for (ProductRule rule : engine.productRules) {
+                productDiscount(rule.productName(), rule.minimumLines(), rule.multiplier(), rule.notice());
+            }
+            return this;
+        }
+
+        // returns the engine
+        public DiscountRuleEngine build() {
+            return new DiscountRuleEngine(this);
+        }
+
+        private static void checkMultiplier(double multiplier) {
+            if (!(multiplier >= 0 && multiplier < 1)) {
+                throw new IllegalArgumentException("A discount multiplier must be at least 0 and less than 1: " + multiplier);
+            }
+        }
+    }
+
+    // A rule that looks only at the number of orders and the total.
+    private interface OrderRule {
+
+        // returns what the total is multiplied by (1.0 if the rule does not apply)
+        double multiplierFor(int count, double total);
+
+        // returns what to tell the customer when the rule applies (or null)
+        String notice();
+    }
+
+    private record ThresholdRule(int moreThanItems, double moreThanTotal, double multiplier, String notice)
+            implements OrderRule {
+
+        @Override
+        public double multiplierFor(int count, double total) {
+            return count > moreThanItems || total > moreThanTotal ? multiplier : 1.0;
+        }
+    }
+
+    private record TieredRule(double[] moreThanTotals, double[] multipliers) implements OrderRule {
+
+        @Override
+        public double multiplierFor(int count, double total) {
+            // Find how many breakpoints the total is more than.
+            int low = 0;
+            int high = moreThanTotals.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (total > moreThanTotals[middle]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low == 0 ? 1.0 : multipliers[low - 1];
+        }
+
+        @Override
+        public String notice() {
+            return null;
+        }
+    }
+
+    private record ProductRule(String productName, int minimumLines, double multiplier, String notice) {
+    }
+}
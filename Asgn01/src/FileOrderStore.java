@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A local, file-backed stand-in for the orders database. Every statement is appended to the
+ * file (as a SQL script that a real database could load), through one reusable buffer, so
+ * saving a large order is limited by the disk rather than by the writing.
+ */
+public class FileOrderStore implements OrderSink {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Opens (or creates) the store, adding to whatever it already holds.
+     *
+     * @param file the file holding the store
+     * @throws IOException if the file cannot be opened
+     */
+    public FileOrderStore(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void execute(CharSequence statement) throws IOException {
+        encode(CharBuffer.wrap(statement));
+        encode(CharBuffer.wrap(";\n"));
+    }
+
+    // Writes what is buffered and forces it to the disk.
+    @Override
+    public void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Encodes text into the buffer, writing the buffer out whenever it fills up.
+    private void encode(CharBuffer text) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(text, buffer, false);
+            if (result.isUnderflow()) {
+                return;
+            }
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    // Writes the buffer out to the file.
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -1,16 +1,10 @@
-import java.util.List;
-
-public class GrossDiscount implements DiscountStrategy{
+public class GrossDiscount implements TotalsDiscountStrategy{
 
 
     // If the total order is more than $500 then the resulting total cost is 95% of actual total.
     @Override
-    public double computeDiscount(List<Product> orders) {
-        double totalCost = 0;
-
-        for (Product p : orders){
-            totalCost += p.retailCost();
-        }
+    public double computeDiscount(OrderTotals totals) {
+        double totalCost = Money.toDollars(totals.retailCents());
 
         return totalCost > 500? totalCost * 0.95: totalCost;
     }
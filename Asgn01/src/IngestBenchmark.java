@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Measures how many orders a second can be taken from several threads at once: one
+ * OrderRepository behind a lock, against a ShardedOrderIngest. Each thread adds orders for its
+ * own customers. Checks that both end up with exactly the same totals, and that the sharded
+ * snapshot holds every order.
+ * <p>
+ * Usage: java IngestBenchmark [orders per thread] [threads...] (default 1,000,000, and 1, 2, 4,
+ * 8 and 16 threads)
+ */
+public class IngestBenchmark {
+
+    private static final int SHARDS = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] threadCounts = args.length > 1
+                ? Stream.of(args).skip(1).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 2, 4, 8, 16};
+
+        // A thousand products, ordered over and over.
+        Product[] catalog = new Product[1000];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("Product-" + i, 0.01 + i * 1.37, 0.01 + i * 0.71);
+        }
+
+        System.out.printf("Cores: %d   shards: %d%n", Runtime.getRuntime().availableProcessors(), SHARDS);
+        System.out.printf("%8s %18s %18s%n", "Threads", "Locked orders/s", "Sharded orders/s");
+        for (int threads : threadCounts) {
+            for (int round = 0; round < 3; round++) {
+                OrderRepository locked = new OrderRepository();
+                long lockedNanos = run(threads, perThread, catalog, (customer, product) -> {
+                    synchronized (locked) {
+                        locked.addOrder(product);
+                    }
+                });
+
+                ShardedOrderIngest sharded = new ShardedOrderIngest(SHARDS);
+                long shardedNanos = run(threads, perThread, catalog, sharded::addOrder);
+
+                ShardedOrderIngest.Snapshot snapshot = sharded.snapshot();
+                if (!snapshot.totals().equals(locked.getTotals())
+                        || !OrderTotals.of(snapshot.orders()).equals(snapshot.totals())) {
+                    throw new AssertionError("Totals differ: " + locked.getTotals() + " and " + snapshot.totals());
+                }
+
+                double added = (double) threads * perThread;
+                System.out.printf("%8d %,18.0f %,18.0f%n", threads,
+                        added / (lockedNanos / 1e9), added / (shardedNanos / 1e9));
+            }
+        }
+    }
+
+    // Takes one order.
+    private interface Orders {
+        void add(String customer, Product product);
+    }
+
+    // Runs the threads, each adding a number of orders, and returns how long they all took.
+    private static long run(int threads, int perThread, Product[] catalog, Orders orders) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                String[] customers = new String[100];
+                for (int i = 0; i < customers.length; i++) {
+                    customers[i] = "Customer-" + thread + "-" + i;
+                }
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    orders.add(customers[i % customers.length], catalog[(i * 7 + thread) % catalog.length]);
+                }
+            }));
+        }
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+}
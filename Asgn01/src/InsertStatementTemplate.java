@@ -0,0 +1,55 @@
+import java.util.Iterator;
+
+/**
+ * Builds multi-row INSERT statements for the orders table, e.g.
+ * INSERT INTO orders VALUES('Laptop', 999.99, 750.00), ('Tablet', 299.99, 200.00)
+ * <p>
+ * The same builder is reused for every batch, and prices are formatted by hand, so building a
+ * statement costs little more than copying its text.
+ */
+public class InsertStatementTemplate {
+
+    private static final String PREFIX = "INSERT INTO orders VALUES";
+
+    // The statement being built (reused for every batch).
+    private final StringBuilder statement = new StringBuilder(1024);
+
+    /**
+     * Builds the statement inserting the next orders from an iterator (which goes through the
+     * orders in order, rather than finding each one by position).
+     * The statement is only valid until the next call.
+     *
+     * @param orders the orders, from the first one to insert
+     * @param count  how many orders to insert (there must be at least this many left)
+     * @return the statement
+     */
+    public CharSequence render(Iterator<Product> orders, int count) {
+        statement.setLength(0);
+        statement.append(PREFIX);
+
+        for (int i = 0; i < count; i++) {
+            Product p = orders.next();
+            if (i > 0) {
+                statement.append(", ");
+            }
+
+            statement.append("('");
+            appendQuoted(p.productName());
+            statement.append("', ");
+            Money.appendCents(statement, Money.toCents(p.retailCost()));
+            statement.append(", ");
+            Money.appendCents(statement, Money.toCents(p.wholesaleCost()));
+            statement.append(')');
+        }
+        return statement;
+    }
+
+    // Appends a string value, doubling any quotes in it (as SQL requires).
+    private void appendQuoted(String value) {
+        if (value.indexOf('\'') < 0) {
+            statement.append(value);
+        } else {
+            statement.append(value.replace("'", "''"));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures writing a very large wholesale invoice to a file: printf a line at a time (as
+ * OrderViewer used to) against the InvoiceRenderer. First checks that the two produce exactly
+ * the same text.
+ * <p>
+ * Usage: java InvoiceBenchmark [lines] (default 2,000,000)
+ */
+public class InvoiceBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        Random random = new Random(42);
+        String[] names = {"Laptop", "Smartphone", "Tablet", "Mechanical Keyboard", "Câble", "TV"};
+        List<Product> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new Product(names[i % names.length], random.nextInt(1_000_000) / 1000.0,
+                    random.nextInt(100_000) / 100.0));
+        }
+        double total = new GrossDiscount().computeDiscount(orders);
+
+        // The same text, both ways.
+        List<Product> sample = orders.subList(0, 10_000);
+        var expected = new ByteArrayOutputStream();
+        printfInvoice(sample, total, new PrintStream(expected, true, StandardCharsets.UTF_8));
+        var actual = new StringBuilder();
+        new InvoiceRenderer(actual).renderWholesalerInvoice(sample, total);
+        if (!expected.toString(StandardCharsets.UTF_8).equals(actual.toString())) {
+            throw new AssertionError("The renderer's invoice differs from printf's.");
+        }
+
+        Path file = Files.createTempFile("invoice", ".txt");
+        try {
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                try (var out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024))) {
+                    printfInvoice(orders, total, out);
+                }
+                long printfNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                try (var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    new InvoiceRenderer(channel).renderWholesalerInvoice(orders, total);
+                }
+                long rendererNanos = System.nanoTime() - start;
+
+                System.out.printf("%,d lines (%,d bytes): printf %,8.1f ms   renderer %,8.1f ms%n",
+                        count, Files.size(file), printfNanos / 1e6, rendererNanos / 1e6);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // The wholesale invoice, printed the way OrderViewer used to print it.
+    private static void printfInvoice(List<Product> orders, double totalCost, PrintStream out) {
+        out.println("====================== Invoice =====================");
+        int count = 1;
+        for (Product p : orders) {
+            out.printf("%d. %-10s | Wholesale: $%.2f | MSRP: $%.2f%n", count++, p.productName(), p.wholesaleCost(), p.retailCost());
+        }
+        out.println("----------------------------------------------------");
+        if (count > 10 || totalCost > 1000.0) {
+            out.println("Discount applied!");
+            totalCost *= 0.9;
+        }
+        out.printf("Total: $%.2f%n", totalCost);
+        out.println("====================================================");
+    }
+}
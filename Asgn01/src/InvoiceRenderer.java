@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes invoices, a line at a time, into one reusable buffer that is passed on whenever it
+ * fills up (and at the end of each invoice). Numbers and prices are formatted by hand rather
+ * than with printf, so even an invoice of millions of lines is written about as fast as the
+ * destination can take it. The text is exactly what the printf formats used to produce.
+ * <p>
+ * The destination is any Appendable (such as System.out or a Writer), or a channel (such as
+ * a file), which is sent UTF-8.
+ */
+public class InvoiceRenderer {
+
+    // Header text printed at the top of an invoice.
+    private final static String RETAIL_INVOICE_HEADER = "================== Retail Invoice ==================";
+    private final static String RETAIL_INVOICE_FOOTER = "====================================================";
+    private final static String WHOLESALE_INVOICE_HEADER = "====================== Invoice =====================";
+    private final static String WHOLESALE_INVOICE_FOOTER = "====================================================";
+    private final static String TOTAL_SEPARATOR = "----------------------------------------------------";
+
+    // Product names are padded to this width (like "%-10s").
+    private static final int NAME_WIDTH = 10;
+
+    // The buffer is passed on once it holds this many characters.
+    private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    /**
+     * The wholesale invoice's big order discount: 10% off more than 10 items, or over $1000.
+     * (The items have always been counted one past the last item number, so 10 items are enough.)
+     */
+    public static final DiscountRuleEngine BIG_ORDER_DISCOUNT = DiscountRuleEngine.builder()
+            .itemsOrTotalDiscount(9, 1000.0, 0.9, "Discount applied!")
+            .build();
+
+    // The destination: exactly one of these is set.
+    private final Appendable out;
+    private final WritableByteChannel channel;
+
+    // The text waiting to be passed on.
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 256);
+
+    // For a channel: turns the text into bytes.
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes;
+
+    /**
+     * Initializes the InvoiceRenderer object
+     *
+     * @param out where to write the invoices
+     */
+    public InvoiceRenderer(Appendable out) {
+        this.out = out;
+        this.channel = null;
+        this.encoder = null;
+        this.bytes = null;
+    }
+
+    /**
+     * Initializes the InvoiceRenderer object
+     *
+     * @param channel where to write the invoices (as UTF-8)
+     */
+    public InvoiceRenderer(WritableByteChannel channel) {
+        this.out = null;
+        this.channel = channel;
+        this.encoder = StandardCharsets.UTF_8.newEncoder();
+        this.bytes = ByteBuffer.allocateDirect(FLUSH_THRESHOLD * 2);
+    }
+
+    /**
+     * Writes a retail invoice: each product's name and retail price, then the total.
+     *
+     * @param orders    the orders
+     * @param totalCost the (discounted) total
+     * @throws IOException if the invoice cannot be written
+     */
+    public void renderRetailInvoice(List<Product> orders, double totalCost) throws IOException {
+        line(RETAIL_INVOICE_HEADER);
+
+        // Number each product line item.
+        int count = 1;
+        for (Product p : orders) {
+            item(count++, p.productName());
+            price(buffer.append(" | Retail Price: $"), p.retailCost());
+            buffer.append(' ');
+            endLine();
+        }
+
+        line(TOTAL_SEPARATOR);
+        total(totalCost);
+        line(RETAIL_INVOICE_FOOTER);
+        flush();
+    }
+
+    /**
+     * Writes a wholesale invoice: each product's name, wholesale price and retail price, then the
+     * total, less 10% for a big order (BIG_ORDER_DISCOUNT).
+     *
+     * @param orders    the orders
+     * @param totalCost the (discounted) total, before the big order discount
+     * @throws IOException if the invoice cannot be written
+     */
+    public void renderWholesalerInvoice(List<Product> orders, double totalCost) throws IOException {
+        renderWholesalerInvoice(orders, BIG_ORDER_DISCOUNT.applyOrderRules(orders.size(), totalCost));
+    }
+
+    /**
+     * Writes a wholesale invoice: each product's name, wholesale price and retail price, then the
+     * notices of the discounts applied, and the total.
+     *
+     * @param orders   the orders
+     * @param discount the discounted total (with every discount, including any big order discount)
+     * @throws IOException if the invoice cannot be written
+     */
+    public void renderWholesalerInvoice(List<Product> orders, DiscountRuleEngine.Result discount) throws IOException {
+        line(WHOLESALE_INVOICE_HEADER);
+
+        // Number each product line item.
+        int count = 1;
+        for (Product p : orders) {
+            item(count++, p.productName());
+            price(buffer.append(" | Wholesale: $"), p.wholesaleCost());
+            price(buffer.append(" | MSRP: $"), p.retailCost());
+            endLine();
+        }
+
+        line(TOTAL_SEPARATOR);
+        for (String notice : discount.notices()) {
+            line(notice);
+        }
+
+        total(discount.total());
+        line(WHOLESALE_INVOICE_FOOTER);
+        flush();
+    }
+
+    // Starts an item line: "<number>. <name padded to 10>"
+    private void item(int number, String name) {
+        buffer.append(number).append(". ").append(name);
+        for (int i = name.length(); i < NAME_WIDTH; i++) {
+            buffer.append(' ');
+        }
+    }
+
+    // Appends a price with two decimal places (like "%.2f").
+    private void price(StringBuilder out, double dollars) {
+        Money.appendCents(out, Money.toCents(dollars));
+    }
+
+    // Writes the total line.
+    private void total(double totalCost) throws IOException {
+        price(buffer.append("Total: $"), totalCost);
+        endLine();
+    }
+
+    // Writes a whole line.
+    private void line(String text) throws IOException {
+        buffer.append(text);
+        endLine();
+    }
+
+    // Ends the current line, passing the buffer on if it is full.
+    private void endLine() throws IOException {
+        buffer.append(NEW_LINE);
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    // Passes the buffered text on to the destination.
+    private void flush() throws IOException {
+        if (out != null) {
+            out.append(buffer);
+        } else {
+            CharBuffer text = CharBuffer.wrap(buffer);
+            while (true) {
+                CoderResult result = encoder.encode(text, bytes, true);
+                drain();
+                if (result.isUnderflow()) {
+                    break;
+                }
+                if (!result.isOverflow()) {
+                    result.throwException();
+                }
+            }
+            encoder.reset();
+        }
+        buffer.setLength(0);
+    }
+
+    // Writes the encoded bytes to the channel.
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
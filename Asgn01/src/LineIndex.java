@@ -0,0 +1,109 @@
+import java.util.Arrays;
+
+/**
+ * The slots of order lines in the OrderRepository's columns, by line ID. Line IDs are handed out
+ * one after another, so this is simply an array of slots indexed by line ID (less the ID of its
+ * first entry): 4 bytes a line, and a lookup is one array read.
+ * <p>
+ * Lines are in the columns in the order of their IDs, so the entries only ever go up, and the
+ * line in a slot is found by binary search; that is why the columns need no line IDs of their
+ * own. To keep the entries in order, a removed line's entry holds the complement (~) of the
+ * slot it had, or after compact() of the slot of the next line. When the repository closes up
+ * its gaps, compact() renumbers the slots and drops the removed lines at either end.
+ */
+final class LineIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] entries = new int[INITIAL_CAPACITY];
+    // The line ID of entries[0], and how many entries are in use.
+    private long base = 1;
+    private int length = 0;
+
+    LineIndex() {
+    }
+
+    // makes a copy of another index
+    LineIndex(LineIndex other) {
+        entries = Arrays.copyOf(other.entries, Math.max(other.length, INITIAL_CAPACITY));
+        base = other.base;
+        length = other.length;
+    }
+
+    // returns the slot of a line, or -1 if there is no such line
+    int get(long lineId) {
+        long i = lineId - base;
+        return i >= 0 && i < length && entries[(int) i] >= 0 ? entries[(int) i] : -1;
+    }
+
+    // returns the ID of the line in a slot (which must hold a line)
+    long lineAt(int slot) {
+        // The last entry whose slot is at most this one.
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (slotOf(entries[middle]) <= slot) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return base + low - 1;
+    }
+
+    // adds a line, which must have a higher ID (and slot) than every line added so far
+    void add(long lineId, int slot) {
+        if (length == 0) {
+            base = lineId;
+        }
+        long i = lineId - base;
+        if (i < length) {
+            throw new IllegalArgumentException("Line IDs must increase: " + lineId);
+        }
+
+        if (i >= entries.length) {
+            entries = Arrays.copyOf(entries, (int) Math.max(i + 1, entries.length + (entries.length >> 1)));
+        }
+        Arrays.fill(entries, length, (int) i, ~slot); // Lines never added in between
+        entries[(int) i] = slot;
+        length = (int) i + 1;
+    }
+
+    // removes a line, returning its slot (or -1 if there was no such line)
+    int remove(long lineId) {
+        int slot = get(lineId);
+        if (slot >= 0) {
+            entries[(int) (lineId - base)] = ~slot;
+        }
+        return slot;
+    }
+
+    // Renumbers the slots once the repository has closed up the gaps in its columns (keeping
+    // the lines in order), dropping the removed lines before the first line and after the last.
+    void compact() {
+        int first = 0;
+        while (first < length && entries[first] < 0) {
+            first++;
+        }
+        int last = length;
+        while (last > first && entries[last - 1] < 0) {
+            last--;
+        }
+
+        int slot = 0;
+        for (int i = first; i < last; i++) {
+            entries[i - first] = entries[i] >= 0 ? slot++ : ~slot;
+        }
+        base += first;
+        length = last - first;
+        if (entries.length > INITIAL_CAPACITY && entries.length > 2 * length) {
+            entries = Arrays.copyOf(entries, Math.max(length, INITIAL_CAPACITY)); // Give back the room
+        }
+    }
+
+    // The slot an entry holds (or held, for a removed line).
+    private static int slotOf(int entry) {
+        return entry >= 0 ? entry : ~entry;
+    }
+}
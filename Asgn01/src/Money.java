@@ -0,0 +1,63 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point helpers for money amounts, kept as whole cents.
+ * Converting and formatting by hand is much cheaper than String.format("%.2f", ...),
+ * and gives exactly the same text.
+ */
+public final class Money {
+
+    // Beyond this many cents a double's rounding error can reach the cents digit.
+    private static final double EXACT_LIMIT = 1e9;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a dollar amount to cents, rounding half up just like "%.2f" does.
+     *
+     * @param dollars the amount in dollars
+     * @return the amount in cents
+     */
+    public static long toCents(double dollars) {
+        double scaled = dollars * 100;
+
+        // Away from a tie the nearest whole cent is obvious; only ties need the exact decimal value.
+        if (Math.abs(scaled) < EXACT_LIMIT && Math.abs(scaled - Math.floor(scaled) - 0.5) > 1e-6) {
+            return Math.round(scaled);
+        }
+        return BigDecimal.valueOf(dollars).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts an amount of cents back to dollars.
+     *
+     * @param cents the amount in cents
+     * @return the amount in dollars (the nearest double, e.g. 99999 -> 999.99)
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Appends an amount of cents as dollars with two decimal places (e.g. 99999 -> "999.99").
+     *
+     * @param out   the builder to append to
+     * @param cents the amount in cents
+     * @return the same builder
+     */
+    public static StringBuilder appendCents(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+
+        long fraction = cents % 100;
+        out.append(cents / 100).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
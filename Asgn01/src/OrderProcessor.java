@@ -1,3 +1,4 @@
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages a collection of Product orders and provides operations to add, remove,
@@ -5,11 +6,26 @@
  * handling an in-memory order list and demonstrates basic persistence and output.
  */
 class OrderProcessor {
+
+    // The discounts on each invoice, each worked out in one go.
+    private static final DiscountRuleEngine RETAIL_DISCOUNTS = DiscountRuleEngine.builder()
+            .grossDiscount(500, 0.95)
+            .build();
+    private static final DiscountRuleEngine WHOLESALE_DISCOUNTS = DiscountRuleEngine.builder()
+            .volumeDiscount(3, 0.9)
+            .addAll(InvoiceRenderer.BIG_ORDER_DISCOUNT)
+            .build();
     
     private final OrderRepository orderRepository;
     private final OrderViewer orderViewer;
     private final DatabaseService databaseService;
 
+    // Saves each change in the background as it is made (null unless enabled).
+    private WriteBehindQueue writeBehind;
+
+    // Takes orders from many threads at once, instead of orderRepository (null unless enabled).
+    private ShardedOrderIngest concurrentIngest;
+
     
     /**
      * Initializes the OrderProcessor object
@@ -18,19 +34,37 @@ class OrderProcessor {
      */
 
     public OrderProcessor(String databaseTarget){
+        this(new DatabaseService(databaseTarget));
+    }
+
+    /**
+     * Initializes the OrderProcessor object
+     *
+     * @param databaseService where the orders are saved (e.g. DatabaseService.open(file))
+     */
+    public OrderProcessor(DatabaseService databaseService){
         orderRepository = new OrderRepository();
         orderViewer = new OrderViewer();
-        databaseService = new DatabaseService(databaseTarget);
+        this.databaseService = databaseService;
     }
 
     /**
      * Adds a product to the current collection of orders.
      *
      * @param product the Product to insert into the orders list
+     * @return the ID of the new order line (for removeOrder)
+     * @throws IllegalStateException if taking orders concurrently (where orders are added
+     *                               through addOrder(customerId, product), and lines have no IDs)
      */
-    public void addOrder(Product product) {
+    public long addOrder(Product product) {
+        requireNoConcurrentIngest();
+
         // Append the given Product to the end of the orders list.
-        orderRepository.addOrder(product);
+        long lineId = orderRepository.addOrder(product);
+        if (writeBehind != null) {
+            writeBehind.add(product);
+        }
+        return lineId;
     }
 
     /**
@@ -38,20 +72,104 @@ class OrderProcessor {
      * If the product is not found, no change occurs.
      *
      * @param product the Product to remove from the orders list
+     * @throws IllegalStateException if taking orders concurrently (where orders are removed
+     *                               through removeOrder(customerId, product))
      */
     public void removeOrder(Product product) {
+        requireNoConcurrentIngest();
+
         // Remove the first occurrence of the given Product from the orders list.
-        orderRepository.removeOrder(product);
+        if (orderRepository.removeOrder(product) && writeBehind != null) {
+            writeBehind.remove(product);
+        }
+    }
+
+    /**
+     * Removes one order line (in constant time), even if other lines hold the same product.
+     * If there is no such line, no change occurs.
+     *
+     * @param lineId the ID of the line, from addOrder
+     * @throws IllegalStateException if taking orders concurrently (where lines have no IDs)
+     */
+    public void removeOrder(long lineId) {
+        requireNoConcurrentIngest();
+        Product product = orderRepository.removeOrder(lineId);
+        if (product != null && writeBehind != null) {
+            writeBehind.remove(product);
+        }
+    }
+
+    /**
+     * Adds a customer's order. Safe to call from many threads at once, once concurrent orders
+     * are enabled.
+     *
+     * @param customerId the customer
+     * @param product    the Product to insert into the orders list
+     * @throws IllegalStateException if concurrent orders are not enabled
+     */
+    public void addOrder(String customerId, Product product) {
+        requireConcurrentIngest().addOrder(customerId, product);
+    }
+
+    /**
+     * Removes one of a customer's orders for a product. Safe to call from many threads at once,
+     * once concurrent orders are enabled. If the product is not found, no change occurs.
+     *
+     * @param customerId the customer
+     * @param product    the Product to remove from the orders list
+     * @throws IllegalStateException if concurrent orders are not enabled
+     */
+    public void removeOrder(String customerId, Product product) {
+        requireConcurrentIngest().removeOrder(customerId, product);
+    }
+
+    /**
+     * Takes orders from many threads at once from now on: the orders are split between several
+     * repositories by customer (ShardedOrderIngest), and the invoices and saves work from a
+     * snapshot of them all. Enable write-behind first, if at all, and both before the processor
+     * is shared between threads. Orders are then added and removed by customer, and order lines
+     * have no IDs, so addOrder(product), removeOrder(product) and removeOrder(lineId) are no
+     * longer allowed.
+     *
+     * @param shards how many repositories to split the orders between
+     * @throws IllegalStateException if there are already orders
+     */
+    public void enableConcurrentOrders(int shards) {
+        if (orderRepository.size() > 0) {
+            throw new IllegalStateException("Concurrent orders must be enabled before any orders are added");
+        }
+        concurrentIngest = new ShardedOrderIngest(shards, writeBehind);
+    }
+
+    /**
+     * Saves every change to the orders made from now on in the background (write-behind),
+     * instead of only when saveOrdersToDatabase() is called.
+     *
+     * @param writeBehind the queue the changes are saved through
+     */
+    public void enableWriteBehind(WriteBehindQueue writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Asks for every change queued for the background writer to be saved now.
+     *
+     * @return a future completed once they have been saved (already complete without write-behind)
+     */
+    public CompletableFuture<Void> flushChanges() {
+        return writeBehind == null ? CompletableFuture.completedFuture(null) : writeBehind.flush();
     }
 
 
     /**
-     * Simulates saving all current orders to a database by printing SQL INSERT statements.
-     * Displays a connection message and then an INSERT line per product.
+     * Saves all current orders to the database as batched SQL INSERT statements.
+     * (The default database only pretends: it prints a connection message and then an
+     * INSERT line per product.)
+     *
+     * @return how many orders were saved, and how quickly
      */
-    public void saveOrdersToDatabase() {
-        // Fake database save
-        databaseService.saveOrdersToDatabase(orderRepository.getOrders());
+    public SaveReport saveOrdersToDatabase() {
+        return databaseService.saveOrdersToDatabase(currentOrders().orders());
     }
 
 
@@ -61,8 +179,8 @@ class OrderProcessor {
      * The invoice includes a header and footer for the invoice.
      */
     public void printRetailInvoice() {
-        DiscountStrategy ds = new GrossDiscount();
-        orderViewer.printRetailInvoice(orderRepository.getOrders(), ds);
+        ShardedOrderIngest.Snapshot orders = currentOrders();
+        orderViewer.printRetailInvoice(orders.orders(), computeDiscount(RETAIL_DISCOUNTS, orders).total());
     }
 
 
@@ -72,8 +190,51 @@ class OrderProcessor {
      * The invoice includes a header and footer for the invoice.
      */
     public void printWholesalerInvoice() {
-        DiscountStrategy ds = new VolumeDiscount();
-        orderViewer.printWholesalerInvoice(orderRepository.getOrders(), ds);
+        ShardedOrderIngest.Snapshot orders = currentOrders();
+        orderViewer.printWholesalerInvoice(orders.orders(), computeDiscount(WHOLESALE_DISCOUNTS, orders));
+
+    }
+
+    /**
+     * Returns the current orders and their totals: a snapshot when taking orders concurrently,
+     * or else the repository's own view and running totals.
+     *
+     * @return the current orders
+     */
+    private ShardedOrderIngest.Snapshot currentOrders() {
+        if (concurrentIngest != null) {
+            return concurrentIngest.snapshot();
+        }
+        return new ShardedOrderIngest.Snapshot(orderRepository.getOrders(), orderRepository.getTotals());
+    }
+
+    /**
+     * Computes the discounted total of some orders: straight from their totals if the rules
+     * only need those, or else in one pass through the orders.
+     *
+     * @param discounts the discount rules
+     * @param orders    the orders, and their totals
+     * @return the discounted total
+     */
+    private DiscountRuleEngine.Result computeDiscount(DiscountRuleEngine discounts, ShardedOrderIngest.Snapshot orders) {
+        if (discounts.hasProductRules()) {
+            return discounts.evaluate(orders.orders());
+        }
+        return discounts.evaluate(orders.totals());
+    }
+
+    // throws if concurrent orders are enabled (for the operations that are not by customer)
+    private void requireNoConcurrentIngest() {
+        if (concurrentIngest != null) {
+            throw new IllegalStateException("Orders are added and removed by customer while taking orders concurrently");
+        }
+    }
 
+    // returns the concurrent ingest, or throws if it is not enabled
+    private ShardedOrderIngest requireConcurrentIngest() {
+        if (concurrentIngest == null) {
+            throw new IllegalStateException("Concurrent orders are not enabled");
+        }
+        return concurrentIngest;
     }
 }
@@ -1,29 +1,226 @@
 import java.util.*;
+
+/**
+ * Holds the current orders in memory, column by column: each product name is stored once
+ * (as an index into a dictionary of names) and prices are whole cents, all in primitive arrays.
+ * An order costs 24 bytes (20 in the columns, 4 in the index of line IDs) rather than a Product
+ * object, and totals are exact sums over contiguous arrays instead of adding up doubles.
+ * <p>
+ * The count and total costs are also kept up to date as orders come and go (getTotals()),
+ * so discounts never need to look through the orders at all.
+ * <p>
+ * Every order line gets an ID when it is added, which stays the same however the other
+ * orders change, and tells apart two lines for the same product. Removing a line by its ID
+ * takes constant time: an index by ID (IDs are sequential, so it is just an array) finds its
+ * slot, which is simply marked as removed. The gaps are closed up in one pass (keeping the
+ * orders in order) when the columns fill up, or once the gaps take up more than half of them.
+ * Reading skips over the gaps (counted per block of slots, in a Fenwick tree, so an order is
+ * found by position in logarithmic time rather than by looking at the slots before it), and
+ * never changes anything, so any number of threads can read at once. Reading all the orders
+ * (getOrders().iterator()) simply walks the slots.
+ */
 public class OrderRepository{
-    // Holds the current list of Product orders in memory.
-    private final List<Product> orders = new ArrayList<>();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The name index of a removed order.
+    private static final int NO_NAME = -1;
+
+    // The removed orders are counted per block of this many slots (a power of two).
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    // The dictionary of product names, and each name's index in it.
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    // The columns: one entry per order, in order. A removed order's name index is NO_NAME.
+    private int[] nameColumn = new int[INITIAL_CAPACITY];
+    private long[] retailColumn = new long[INITIAL_CAPACITY];
+    private long[] wholesaleColumn = new long[INITIAL_CAPACITY];
+    // The slots used (including removed orders), and how many of those are removed orders.
+    private int slots = 0;
+    private int removed = 0;
+    // The number of removed orders in each block of slots, as a Fenwick tree: entry b (from 1)
+    // holds the count for the blocks from b - lowestOneBit(b) up to (not including) b.
+    private int[] removedTree = new int[blocksFor(INITIAL_CAPACITY) + 1];
+
+    // The slot of every line, by line ID.
+    private final LineIndex lines;
+    private long nextLineId = 1;
+
+    // The running totals of the columns.
+    private long retailTotal = 0;
+    private long wholesaleTotal = 0;
+
+    // A read-only view of the orders as Products.
+    private final List<Product> ordersView = new OrdersView();
 
 
      /*
      * Initializes the OrderRepository object
      */
     public OrderRepository(){
+        lines = new LineIndex();
+    }
+
+    /**
+     * Initializes the OrderRepository object with a copy of another repository's orders (line
+     * IDs included), which then changes independently of it. Copying the columns is much cheaper
+     * than copying the orders one by one. (The other repository is only read.)
+     *
+     * @param other the repository to copy
+     */
+    public OrderRepository(OrderRepository other){
+        int capacity = Math.max(other.size(), INITIAL_CAPACITY);
+        names.addAll(other.names);
+        nameIds.putAll(other.nameIds);
+        lines = new LineIndex(other.lines);
+        if (other.removed == 0) {
+            nameColumn = Arrays.copyOf(other.nameColumn, capacity);
+            retailColumn = Arrays.copyOf(other.retailColumn, capacity);
+            wholesaleColumn = Arrays.copyOf(other.wholesaleColumn, capacity);
+        } else {
+            // Copy only the orders that have not been removed, closing up the gaps.
+            nameColumn = new int[capacity];
+            retailColumn = new long[capacity];
+            wholesaleColumn = new long[capacity];
+            int live = 0;
+            for (int i = 0; i < other.slots; i++) {
+                if (other.nameColumn[i] != NO_NAME) {
+                    nameColumn[live] = other.nameColumn[i];
+                    retailColumn[live] = other.retailColumn[i];
+                    wholesaleColumn[live] = other.wholesaleColumn[i];
+                    live++;
+                }
+            }
+            lines.compact();
+        }
+        slots = other.size();
+        removedTree = new int[blocksFor(capacity) + 1];
+        nextLineId = other.nextLineId;
+        retailTotal = other.retailTotal;
+        wholesaleTotal = other.wholesaleTotal;
+    }
+
+    // returns the orders (a read-only view, which follows later changes)
+    public List<Product> getOrders(){
+        return ordersView;
+    }
+
+    // returns the number of orders
+    public int size(){
+        return slots - removed;
+    }
+
+    // returns the line ID of the order at an index
+    public long getLineId(int index){
+        return lines.lineAt(slotOf(index));
+    }
+
+    // returns the product name of the order at an index
+    public String getProductName(int index){
+        return names.get(nameColumn[slotOf(index)]);
+    }
+
+    // returns the retail cost of the order at an index, in cents
+    public long getRetailCents(int index){
+        return retailColumn[slotOf(index)];
+    }
+
+    // returns the wholesale cost of the order at an index, in cents
+    public long getWholesaleCents(int index){
+        return wholesaleColumn[slotOf(index)];
+    }
+
+    // returns the product on an order line, or null if there is no such line
+    public Product getOrder(long lineId){
+        int slot = lines.get(lineId);
+        return slot < 0 ? null : productAt(slot);
+    }
+
+    // returns the number of orders and their total costs (kept as orders come and go)
+    public OrderTotals getTotals(){
+        return new OrderTotals(size(), retailTotal, wholesaleTotal);
+    }
+
+    // returns the number and total costs of the orders from index from up to (not including) to, added up afresh
+    public OrderTotals sumTotals(int from, int to){
+        Objects.checkFromToIndex(from, to, size());
+        long retail = 0;
+        long wholesale = 0;
+        if (from < to) {
+            // Walk the slots from the first order's, skipping removed orders.
+            int slot = slotOf(from);
+            for (int i = from; i < to; slot++) {
+                if (nameColumn[slot] != NO_NAME) {
+                    retail += retailColumn[slot];
+                    wholesale += wholesaleColumn[slot];
+                    i++;
+                }
+            }
+        }
+        return new OrderTotals(to - from, retail, wholesale);
+    }
 
+    // returns the total retail cost of all orders, in cents (added up afresh)
+    public long sumRetailCents(){
+        return sumLive(retailColumn);
     }
 
-    // returns the orders 
-    public List getOrders(){
-        return orders;
+    // returns the total wholesale cost of all orders, in cents (added up afresh)
+    public long sumWholesaleCents(){
+        return sumLive(wholesaleColumn);
     }
 
     /**
      * Adds a product to the current collection of orders.
      *
      * @param product the Product to insert into the orders list
+     * @return the ID of the new order line
      */
-    public void addOrder(Product product) {
-        // Append the given Product to the end of the orders list.
-        orders.add(product);
+    public long addOrder(Product product) {
+        // Make room (by closing up the gaps, or else growing), then append the product's fields to the end of each column.
+        if (slots == nameColumn.length) {
+            compact();
+            if (slots > nameColumn.length * 3 / 4) {
+                int capacity = slots + (slots >> 1);
+                nameColumn = Arrays.copyOf(nameColumn, capacity);
+                retailColumn = Arrays.copyOf(retailColumn, capacity);
+                wholesaleColumn = Arrays.copyOf(wholesaleColumn, capacity);
+                removedTree = new int[blocksFor(capacity) + 1]; // No removed orders after compact()
+            }
+        }
+
+        long lineId = nextLineId++;
+        nameColumn[slots] = nameIds.computeIfAbsent(product.productName(), name -> {
+            names.add(name);
+            return names.size() - 1;
+        });
+        retailColumn[slots] = Money.toCents(product.retailCost());
+        wholesaleColumn[slots] = Money.toCents(product.wholesaleCost());
+        retailTotal += retailColumn[slots];
+        wholesaleTotal += wholesaleColumn[slots];
+        lines.add(lineId, slots);
+        slots++;
+        return lineId;
+    }
+
+    /**
+     * Removes an order line (in constant time).
+     *
+     * @param lineId the ID of the line (from addOrder)
+     * @return the product that was on the line, or null if there is no such line
+     */
+    public Product removeOrder(long lineId) {
+        int slot = lines.remove(lineId);
+        if (slot < 0) {
+            return null;
+        }
+
+        Product product = productAt(slot);
+        removeSlot(slot);
+        return product;
     }
 
     /**
@@ -31,10 +228,168 @@ public class OrderRepository{
      * If the product is not found, no change occurs.
      *
      * @param product the Product to remove from the orders list
+     * @return true if the product was found (and removed)
      */
-    public void removeOrder(Product product) {
-        // Remove the first occurrence of the given Product from the orders list.
-        orders.remove(product);
+    public boolean removeOrder(Product product) {
+        // Find the first occurrence of the given Product (a name never seen cannot be there).
+        Integer nameId = nameIds.get(product.productName());
+        if (nameId == null) {
+            return false;
+        }
+        long retail = Money.toCents(product.retailCost());
+        long wholesale = Money.toCents(product.wholesaleCost());
+
+        for (int i = 0; i < slots; i++) {
+            if (nameColumn[i] == nameId && retailColumn[i] == retail && wholesaleColumn[i] == wholesale) {
+                lines.remove(lines.lineAt(i));
+                removeSlot(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Closes up the gaps left by removed orders, keeping the rest in order. (This happens by
+     * itself as orders are added and removed; reading orders by position is a little quicker
+     * without gaps. Like any change, it must not be made while other threads are reading.)
+     */
+    public void compact() {
+        if (removed == 0) {
+            return;
+        }
+
+        int live = 0;
+        for (int i = 0; i < slots; i++) {
+            if (nameColumn[i] != NO_NAME) {
+                if (live != i) {
+                    nameColumn[live] = nameColumn[i];
+                    retailColumn[live] = retailColumn[i];
+                    wholesaleColumn[live] = wholesaleColumn[i];
+                }
+                live++;
+            }
+        }
+        slots = live;
+        removed = 0;
+        Arrays.fill(removedTree, 0);
+        lines.compact();
+    }
+
+    // Marks a slot as removed, closing up the gaps once they are half of the slots.
+    private void removeSlot(int slot) {
+        nameColumn[slot] = NO_NAME;
+        for (int b = (slot >>> BLOCK_SHIFT) + 1; b < removedTree.length; b += b & -b) {
+            removedTree[b]++;
+        }
+        retailTotal -= retailColumn[slot];
+        wholesaleTotal -= wholesaleColumn[slot];
+        if (++removed > slots / 2) {
+            compact();
+        }
+    }
+
+    // Makes the Product for a slot.
+    private Product productAt(int slot) {
+        return new Product(names.get(nameColumn[slot]), Money.toDollars(retailColumn[slot]),
+                Money.toDollars(wholesaleColumn[slot]));
     }
 
-}
\ No newline at end of file
+    // Finds the slot of the order at an index: down the Fenwick tree to the block holding it
+    // (taking every block as full, which only the last one in use may not be), then along it.
+    private int slotOf(int index) {
+        Objects.checkIndex(index, size());
+        if (removed == 0) {
+            return index;
+        }
+
+        int block = 0;
+        int before = 0; // The orders in the blocks before this one.
+        for (int step = Integer.highestOneBit(removedTree.length - 1); step > 0; step >>= 1) {
+            int next = block + step;
+            if (next < removedTree.length) {
+                int live = (step << BLOCK_SHIFT) - removedTree[next];
+                if (before + live <= index) {
+                    block = next;
+                    before += live;
+                }
+            }
+        }
+        for (int slot = block << BLOCK_SHIFT; ; slot++) {
+            if (nameColumn[slot] != NO_NAME && before++ == index) {
+                return slot;
+            }
+        }
+    }
+
+    // Adds up a column's entries for the orders that have not been removed.
+    private long sumLive(long[] column) {
+        long total = 0;
+        if (removed == 0) {
+            for (int i = 0; i < slots; i++) {
+                total += column[i];
+            }
+        } else {
+            for (int i = 0; i < slots; i++) {
+                if (nameColumn[i] != NO_NAME) {
+                    total += column[i];
+                }
+            }
+        }
+        return total;
+    }
+
+    // The number of blocks of slots in columns of a capacity.
+    private static int blocksFor(int capacity) {
+        return (capacity + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    }
+
+    // returns the repository whose orders a list is (from getOrders()), or null if it is not one
+    static OrderRepository ownerOf(List<Product> orders) {
+        return orders instanceof OrderRepository.OrdersView view ? view.owner() : null;
+    }
+
+    // The orders, as Products made on demand from the columns.
+    private class OrdersView extends AbstractList<Product> implements RandomAccess {
+
+        @Override
+        public Product get(int index) {
+            return productAt(slotOf(index));
+        }
+
+        @Override
+        public int size() {
+            return OrderRepository.this.size();
+        }
+
+        // Walks the slots in order, skipping removed orders (rather than finding each by position).
+        @Override
+        public Iterator<Product> iterator() {
+            return new Iterator<>() {
+                private int slot = 0;
+                private int returned = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return returned < size();
+                }
+
+                @Override
+                public Product next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    while (nameColumn[slot] == NO_NAME) {
+                        slot++;
+                    }
+                    returned++;
+                    return productAt(slot++);
+                }
+            };
+        }
+
+        private OrderRepository owner() {
+            return OrderRepository.this;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Somewhere the DatabaseService sends its SQL statements: a real database connection,
+ * a local file standing in for one, or just the console.
+ */
+public interface OrderSink extends Closeable {
+
+    /**
+     * Gets ready for a batch of statements (e.g. connects to the database).
+     *
+     * @throws IOException if the sink cannot be reached
+     */
+    default void connect() throws IOException {
+    }
+
+    /**
+     * Runs (or stores) one statement.
+     *
+     * @param statement the SQL statement, without a trailing semicolon
+     * @throws IOException if the statement cannot be written
+     */
+    void execute(CharSequence statement) throws IOException;
+
+    /**
+     * Makes sure every statement so far has actually been written.
+     *
+     * @throws IOException if the statements cannot be written
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.List;
+
+/**
+ * The running totals of a set of orders: everything the discounts need to know about them.
+ *
+ * @param count          how many orders there are
+ * @param retailCents    the total retail cost, in cents
+ * @param wholesaleCents the total wholesale cost, in cents
+ */
+public record OrderTotals(int count, long retailCents, long wholesaleCents) {
+
+    /**
+     * Adds up a list of orders (for orders not kept in an OrderRepository, which keeps its
+     * totals as it goes).
+     *
+     * @param orders the orders
+     * @return their totals
+     */
+    public static OrderTotals of(List<Product> orders) {
+        long retail = 0;
+        long wholesale = 0;
+        for (Product p : orders) {
+            retail += Money.toCents(p.retailCost());
+            wholesale += Money.toCents(p.wholesaleCost());
+        }
+        return new OrderTotals(orders.size(), retail, wholesale);
+    }
+
+    /**
+     * Combines the totals of two sets of orders.
+     *
+     * @param other the totals of the other orders
+     * @return the totals of both
+     */
+    public OrderTotals plus(OrderTotals other) {
+        return new OrderTotals(count + other.count, retailCents + other.retailCents,
+                wholesaleCents + other.wholesaleCents);
+    }
+}
@@ -1,41 +1,34 @@
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 public class OrderViewer{
 
-    // Header text printed at the top of an invoice.
-    private final static String RETAIL_INVOICE_HEADER = "================== Retail Invoice ==================";
-    private final static String RETAIL_INVOICE_FOOTER = "====================================================";
-    private final static String WHOLESALE_INVOICE_HEADER = "====================== Invoice =====================";
-    private final static String WHOLESALE_INVOICE_FOOTER = "====================================================";
+    // Writes the invoices.
+    private final InvoiceRenderer renderer;
 
 
-    // Initializes the orderViewer
+    // Initializes the orderViewer (printing to the standard output)
     public OrderViewer() {
+        this(new InvoiceRenderer(System.out));
+    }
 
+    // Initializes the orderViewer
+    public OrderViewer(InvoiceRenderer renderer) {
+        this.renderer = renderer;
     }
 
     // Prints the retail prices of all the products
     public void printRetailInvoice(List<Product> orders, DiscountStrategy discountStrategy) {
-        // Print the invoice header line.
-        System.out.println(RETAIL_INVOICE_HEADER);
-
-        // Initialize a counter to number each product line item.
-        int count = 1;
-        double totalCost = discountStrategy.computeDiscount(orders);
-
-        // Loop through each Product to print its details.
-        for (Product p : orders) {
+        printRetailInvoice(orders, discountStrategy.computeDiscount(orders));
+    }
 
-            // Print the numbered line with product name and both cost values.
-            System.out.printf("%d. %-10s | Retail Price: $%.2f %n", count++, p.productName(), p.retailCost());
+    // Prints the retail prices of all the products, with an already discounted total
+    public void printRetailInvoice(List<Product> orders, double totalCost) {
+        try {
+            renderer.renderRetailInvoice(orders, totalCost);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-
-        // Print the total cost of all products.
-        System.out.println("----------------------------------------------------");
-        System.out.printf("Total: $%.2f%n", totalCost);
-
-        // Print the invoice footer line.
-        System.out.println(RETAIL_INVOICE_FOOTER);
     }
 
     
@@ -45,30 +38,24 @@ public class OrderViewer{
      * The invoice includes a header and footer for the invoice.
      */
     public void printWholesalerInvoice(List<Product> orders, DiscountStrategy discountStrategy) {
-        // Print the invoice header line.
-        System.out.println(WHOLESALE_INVOICE_HEADER);
-
-        // Initialize a counter to number each product line item.
-        int count = 1;
-        double totalCost = discountStrategy.computeDiscount(orders);
-
-        // Loop through each Product to print its details.
-        for (Product p : orders) {
-            // Calculate the total cost for the order.
+        printWholesalerInvoice(orders, discountStrategy.computeDiscount(orders));
+    }
 
-            // Print the numbered line with product name and both cost values.
-            System.out.printf("%d. %-10s | Wholesale: $%.2f | MSRP: $%.2f%n", count++, p.productName(), p.wholesaleCost(), p.retailCost());
+    // Prints the wholesale invoice, with an already discounted total (before the big order discount)
+    public void printWholesalerInvoice(List<Product> orders, double totalCost) {
+        try {
+            renderer.renderWholesalerInvoice(orders, totalCost);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
+    }
 
-        System.out.println("----------------------------------------------------");
-        if (count > 10 || totalCost > 1000.0) {
-            System.out.println("Discount applied!");
-            totalCost *= 0.9; // Apply a 10% discount
+    // Prints the wholesale invoice, with every discount already applied (by a DiscountRuleEngine)
+    public void printWholesalerInvoice(List<Product> orders, DiscountRuleEngine.Result discount) {
+        try {
+            renderer.renderWholesalerInvoice(orders, discount);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-
-        System.out.printf("Total: $%.2f%n", totalCost);
-
-        // Print the invoice footer line.
-        System.out.println(WHOLESALE_INVOICE_FOOTER);
     }
-}
\ No newline at end of file
+}
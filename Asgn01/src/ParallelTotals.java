@@ -0,0 +1,100 @@
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Adds up very large sets of orders on all cores, by splitting them into segments (fork/join).
+ * <p>
+ * Every segment is added up in whole cents, and adding whole numbers gives the same answer
+ * in any order, so the totals (and any discount computed from them) are exactly the same as
+ * adding the orders up one after another.
+ */
+public final class ParallelTotals {
+
+    // Segments smaller than this are added up directly rather than split again.
+    public static final int SEGMENT_SIZE = 1 << 16;
+
+    private ParallelTotals() {
+    }
+
+    /**
+     * Adds up a repository's orders afresh (rather than using its running totals).
+     *
+     * @param repository the orders
+     * @param pool       the threads to use
+     * @return the totals
+     */
+    public static OrderTotals of(OrderRepository repository, ForkJoinPool pool) {
+        return add(new Segment(0, repository.size(), repository::sumTotals), pool);
+    }
+
+    /**
+     * Adds up a list of orders, on the common pool. (A list that is small, or slow to index
+     * into, is simply added up in order.)
+     *
+     * @param orders the orders
+     * @return the totals
+     */
+    public static OrderTotals of(List<Product> orders) {
+        return of(orders, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Adds up a list of orders. (A list that is small, or slow to index into, is simply added up
+     * in order.)
+     *
+     * @param orders the orders
+     * @param pool   the threads to use
+     * @return the totals
+     */
+    public static OrderTotals of(List<Product> orders, ForkJoinPool pool) {
+        // A repository's orders are added up straight from its columns.
+        OrderRepository repository = OrderRepository.ownerOf(orders);
+        if (repository != null) {
+            return of(repository, pool);
+        }
+        if (!(orders instanceof RandomAccess)) {
+            return OrderTotals.of(orders);
+        }
+        return add(new Segment(0, orders.size(), (from, to) -> OrderTotals.of(orders.subList(from, to))), pool);
+    }
+
+    // Adds up a segment, only going to the pool if it is worth splitting.
+    private static OrderTotals add(Segment all, ForkJoinPool pool) {
+        return all.to - all.from <= SEGMENT_SIZE ? all.compute() : pool.invoke(all);
+    }
+
+    // Adds up the orders from index from up to (not including) to.
+    private interface SegmentAdder {
+        OrderTotals add(int from, int to);
+    }
+
+    // A segment of the orders: added up directly if small, or else split in two. (Never serialized.)
+    @SuppressWarnings("serial")
+    private static final class Segment extends RecursiveTask<OrderTotals> {
+
+        private final int from;
+        private final int to;
+        private final SegmentAdder adder;
+
+        Segment(int from, int to, SegmentAdder adder) {
+            this.from = from;
+            this.to = to;
+            this.adder = adder;
+        }
+
+        @Override
+        protected OrderTotals compute() {
+            if (to - from <= SEGMENT_SIZE) {
+                return adder.add(from, to);
+            }
+
+            int middle = (from + to) >>> 1;
+            Segment left = new Segment(from, middle, adder);
+            left.fork();
+            OrderTotals right = new Segment(middle, to, adder).compute();
+            return left.join().plus(right);
+        }
+    }
+}
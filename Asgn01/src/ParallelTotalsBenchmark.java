@@ -0,0 +1,68 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how adding up a very large order scales with cores: the orders in an
+ * OrderRepository's columns, and in a List of Products, each added up one after another and
+ * then by ParallelTotals on 1, 2, 4... threads. Every parallel result is checked to be exactly
+ * the same as the sequential one.
+ * <p>
+ * Usage: java -Xmx4g ParallelTotalsBenchmark [orders] (default 20,000,000)
+ */
+public class ParallelTotalsBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+
+        OrderRepository repository = new OrderRepository();
+        List<Product> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product p = new Product("Product-" + (i % 1000), 0.01 + (i % 1000) * 1.37, 0.01 + (i % 1000) * 0.71);
+            repository.addOrder(p);
+            list.add(p);
+        }
+
+        System.out.printf("Orders: %,d  Cores: %d%n", count, Runtime.getRuntime().availableProcessors());
+
+        OrderTotals expected = repository.sumTotals(0, count);
+        long start = System.nanoTime();
+        for (int round = 0; round < 5; round++) {
+            repository.sumTotals(0, count);
+        }
+        System.out.printf("Repository, sequential:  %,8.1f ms%n", (System.nanoTime() - start) / 5 / 1e6);
+
+        OrderTotals expectedList = OrderTotals.of(list);
+        start = System.nanoTime();
+        for (int round = 0; round < 5; round++) {
+            OrderTotals.of(list);
+        }
+        System.out.printf("List, sequential:        %,8.1f ms%n", (System.nanoTime() - start) / 5 / 1e6);
+
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors() * 2; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            start = System.nanoTime();
+            for (int round = 0; round < 5; round++) {
+                check(expected, ParallelTotals.of(repository, pool));
+            }
+            double repositoryMillis = (System.nanoTime() - start) / 5 / 1e6;
+
+            start = System.nanoTime();
+            for (int round = 0; round < 5; round++) {
+                check(expectedList, ParallelTotals.of(list, pool));
+            }
+            double listMillis = (System.nanoTime() - start) / 5 / 1e6;
+
+            System.out.printf("Fork/join, %2d threads:   repository %,8.1f ms   list %,8.1f ms%n",
+                    threads, repositoryMillis, listMillis);
+            pool.shutdown();
+        }
+    }
+
+    private static void check(OrderTotals expected, OrderTotals actual) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError("Parallel totals " + actual + " differ from sequential " + expected);
+        }
+    }
+}
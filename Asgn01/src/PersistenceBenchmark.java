@@ -0,0 +1,55 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how fast orders are saved: the old way (one printf-formatted INSERT per product)
+ * against batched INSERTs into the local FileOrderStore, at a few batch sizes.
+ * <p>
+ * Usage: java PersistenceBenchmark [orders] (default 500,000)
+ */
+public class PersistenceBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        List<Product> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new Product("Product-" + (i % 1000), 10 + (i % 9000) / 100.0, 5 + (i % 4000) / 100.0));
+        }
+
+        Path directory = Files.createTempDirectory("orders");
+        Path file = directory.resolve("orders.sql");
+        try {
+            // The old way: one formatted statement per product (written to the file, not the console).
+            for (int round = 0; round < 3; round++) {
+                Files.deleteIfExists(file);
+                long start = System.nanoTime();
+                try (var out = Files.newBufferedWriter(file)) {
+                    for (Product p : orders) {
+                        out.write(String.format("INSERT INTO orders VALUES('%s', %.2f, %.2f);%n",
+                                p.productName(), p.retailCost(), p.wholesaleCost()));
+                    }
+                }
+                long nanos = System.nanoTime() - start;
+                System.out.printf("printf, 1 per statement:   %,12.0f rows/s%n", count / (nanos / 1e9));
+            }
+
+            for (int batchSize : new int[]{1, 100, DatabaseService.DEFAULT_BATCH_SIZE, 5000}) {
+                for (int round = 0; round < 3; round++) {
+                    Files.deleteIfExists(file);
+                    try (DatabaseService database = new DatabaseService(new FileOrderStore(file), batchSize)) {
+                        SaveReport report = database.saveOrdersToDatabase(orders);
+                        System.out.printf("batched, %,5d per statement: %,12.0f rows/s (%,d bytes)%n",
+                                batchSize, report.rowsPerSecond(), Files.size(file));
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
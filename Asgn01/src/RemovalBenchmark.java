@@ -0,0 +1,99 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Compares removing order lines from a large, busy cart: from a plain List of Products
+ * (remove(Object), which searches the list and then shifts everything after the order) against
+ * removing by line ID from the OrderRepository. The cart is kept at the same size throughout,
+ * with a random line removed and a new one added each time.
+ * <p>
+ * First checks that a repository with removed lines can be read from several threads at once
+ * (reading must not close up the gaps underneath the other readers).
+ * <p>
+ * Usage: java RemovalBenchmark [orders] [removals] (default 200,000 and 20,000)
+ */
+public class RemovalBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int removals = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        // A thousand products, ordered over and over.
+        Product[] catalog = new Product[1000];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("Product-" + i, 0.01 + i * 1.37, 0.01 + i * 0.71);
+        }
+
+        checkConcurrentReads(catalog);
+
+        System.out.printf("Orders: %,d   removals: %,d%n", count, removals);
+        for (int round = 0; round < 5; round++) {
+            // The same lines are removed from both carts.
+            SplittableRandom random = new SplittableRandom(round);
+            List<Product> list = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                list.add(new Product(catalog[i % catalog.length].productName(),
+                        catalog[i % catalog.length].retailCost(), catalog[i % catalog.length].wholesaleCost()));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < removals; i++) {
+                list.remove(list.get(random.nextInt(list.size())));
+                list.add(catalog[i % catalog.length]);
+            }
+            long listNanos = System.nanoTime() - start;
+
+            random = new SplittableRandom(round);
+            OrderRepository repository = new OrderRepository();
+            long[] lineIds = new long[count];
+            for (int i = 0; i < count; i++) {
+                lineIds[i] = repository.addOrder(catalog[i % catalog.length]);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < removals; i++) {
+                int line = random.nextInt(count);
+                repository.removeOrder(lineIds[line]);
+                lineIds[line] = repository.addOrder(catalog[i % catalog.length]);
+            }
+            long repositoryNanos = System.nanoTime() - start;
+
+            System.out.printf("List remove(Object) %,9.1f ms (%,6.0f ns each)   by line ID %,7.1f ms (%,4.0f ns each)   total %s%n",
+                    listNanos / 1e6, (double) listNanos / removals,
+                    repositoryNanos / 1e6, (double) repositoryNanos / removals,
+                    Money.appendCents(new StringBuilder(), repository.sumRetailCents()));
+        }
+    }
+
+    // Removes a third of 400,000 lines by ID, then reads the rest from 8 threads at once, 50 times over.
+    private static void checkConcurrentReads(Product[] catalog) {
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            for (int trial = 0; trial < 50; trial++) {
+                OrderRepository repository = new OrderRepository();
+                List<Long> lineIds = new ArrayList<>();
+                for (int i = 0; i < 400_000; i++) {
+                    lineIds.add(repository.addOrder(catalog[i % catalog.length]));
+                }
+                for (int i = 0; i < lineIds.size(); i += 3) {
+                    repository.removeOrder(lineIds.get(i));
+                }
+                OrderTotals expected = repository.getTotals();
+                List<Product> orders = repository.getOrders();
+
+                // Through the discount (fork/join over the view), and by position from every thread.
+                OrderTotals forked = ParallelTotals.of(orders, pool);
+                long retail = pool.submit(() -> IntStream.range(0, orders.size()).parallel()
+                        .mapToLong(i -> Money.toCents(orders.get(i).retailCost())).sum()).join();
+                if (!forked.equals(expected) || retail != expected.retailCents()
+                        || repository.size() != expected.count() || repository.sumTotals(0, expected.count()).retailCents() != retail) {
+                    throw new AssertionError("Concurrent reads went wrong: expected " + expected + " but got "
+                            + forked + ", retail " + retail + ", size " + repository.size());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
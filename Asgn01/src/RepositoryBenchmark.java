@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the columnar OrderRepository with a plain List of Products: the memory each order
+ * takes, how fast the retail total is summed, and how far the double total drifts from the
+ * exact one; and a discount computed by going through every order against one computed from
+ * the repository's running totals.
+ * <p>
+ * Usage: java -Xmx4g RepositoryBenchmark [orders] (default 10,000,000)
+ */
+public class RepositoryBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        // A thousand products, ordered over and over.
+        Product[] catalog = new Product[1000];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("Product-" + i, 0.01 + i * 1.37, 0.01 + i * 0.71);
+        }
+
+        long before = usedMemory();
+        List<Product> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product p = catalog[i % catalog.length];
+            list.add(new Product(p.productName(), p.retailCost(), p.wholesaleCost()));
+        }
+        long listBytes = usedMemory() - before;
+
+        before = usedMemory();
+        OrderRepository repository = new OrderRepository();
+        for (int i = 0; i < count; i++) {
+            repository.addOrder(catalog[i % catalog.length]);
+        }
+        long columnBytes = usedMemory() - before;
+
+        System.out.printf("Orders: %,d%n", count);
+        System.out.printf("List of Products:  %,6.1f bytes/order%n", (double) listBytes / count);
+        System.out.printf("Columnar:          %,6.1f bytes/order%n", (double) columnBytes / count);
+
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            double doubleTotal = 0;
+            for (Product p : list) {
+                doubleTotal += p.retailCost();
+            }
+            long listNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long centsTotal = repository.sumRetailCents();
+            long columnNanos = System.nanoTime() - start;
+
+            System.out.printf("Sum: list %,7.1f ms (%.2f)   columns %,7.1f ms (%s)%n",
+                    listNanos / 1e6, doubleTotal, columnNanos / 1e6,
+                    Money.appendCents(new StringBuilder(), centsTotal));
+        }
+
+        DiscountStrategy discount = new GrossDiscount();
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            double scanned = discount.computeDiscount(list);
+            long scanNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double running = new GrossDiscount().computeDiscount(repository.getTotals());
+            long runningNanos = System.nanoTime() - start;
+
+            System.out.printf("Discount: every order %,7.1f ms (%.2f)   running totals %,7.3f ms (%.2f)%n",
+                    scanNanos / 1e6, scanned, runningNanos / 1e6, running);
+        }
+    }
+
+    private static long usedMemory() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
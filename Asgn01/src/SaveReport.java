@@ -0,0 +1,22 @@
+/**
+ * What happened when orders were saved.
+ *
+ * @param rows       how many orders were saved
+ * @param statements how many statements it took
+ * @param nanos      how long it took (nanoseconds)
+ */
+public record SaveReport(int rows, int statements, long nanos) {
+
+    /**
+     * @return the orders saved per second
+     */
+    public double rowsPerSecond() {
+        return nanos == 0 ? 0 : rows / (nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Saved %,d orders in %,d statements in %.1f ms (%,.0f rows/s)",
+                rows, statements, nanos / 1e6, rowsPerSecond());
+    }
+}
@@ -0,0 +1,206 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Takes orders from many threads at once. An OrderRepository is not thread-safe, so the orders
+ * are split between several repositories (shards) by customer, each fed by a lock-free queue.
+ * <p>
+ * Adding or removing an order only queues the change on its customer's shard; the thread then
+ * applies the shard's queued changes (its own and anyone else's, up to a limit) if no other
+ * thread is already doing so, or else leaves them for the next thread to come along (or the
+ * next snapshot). Either way it never waits: threads only ever contend on one compare-and-set
+ * per shard, and customers on different shards not at all.
+ * <p>
+ * A snapshot (for an invoice, or saving) takes over every shard in turn, applies whatever is
+ * still queued, and copies the shards' columns; its orders are a merged view of the copies, shard
+ * by shard. Each customer's orders are on one shard, in the order they were added (by any one
+ * thread).
+ */
+public class ShardedOrderIngest {
+
+    // The most queued changes a thread applies before leaving the rest to the next one.
+    private static final int MAX_CHANGES_APPLIED = 256;
+
+    private final Shard[] shards;
+
+    // Also queues every change, once applied, for saving (or null).
+    private final WriteBehindQueue writeBehind;
+
+    /**
+     * Initializes the ShardedOrderIngest object
+     *
+     * @param shards how many repositories to split the orders between (a few per thread adding
+     *               orders keeps contention low)
+     */
+    public ShardedOrderIngest(int shards) {
+        this(shards, null);
+    }
+
+    /**
+     * Initializes the ShardedOrderIngest object
+     *
+     * @param shards      how many repositories to split the orders between
+     * @param writeBehind where every change is also queued for saving, once applied (or null)
+     */
+    public ShardedOrderIngest(int shards, WriteBehindQueue writeBehind) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("There must be at least 1 shard: " + shards);
+        }
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Adds an order. (Safe to call from any thread.)
+     *
+     * @param customerId the customer (whose orders are all kept on one shard), or null
+     * @param product    the product ordered
+     */
+    public void addOrder(String customerId, Product product) {
+        submit(customerId, new Change(product, true));
+    }
+
+    /**
+     * Removes one of a customer's orders for a product (once any earlier changes queued for the
+     * customer have been applied). If there is no such order, no change occurs. (Safe to call from
+     * any thread.)
+     *
+     * @param customerId the customer, or null
+     * @param product    the product to remove
+     */
+    public void removeOrder(String customerId, Product product) {
+        submit(customerId, new Change(product, false));
+    }
+
+    /**
+     * Takes a consistent snapshot of every order: all the changes queued before it is taken (and
+     * perhaps some queued while it is taken), but none after. Threads can go on adding orders while
+     * it is taken.
+     *
+     * @return the orders, and their totals
+     */
+    public Snapshot snapshot() {
+        // Take over every shard (always in the same order, so two snapshots cannot deadlock).
+        for (Shard shard : shards) {
+            while (!shard.applying.compareAndSet(false, true)) {
+                Thread.yield();
+            }
+        }
+
+        try {
+            List<List<Product>> parts = new ArrayList<>(shards.length);
+            int[] starts = new int[shards.length];
+            OrderTotals totals = new OrderTotals(0, 0, 0);
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].applyQueued(Integer.MAX_VALUE);
+                OrderRepository copy = new OrderRepository(shards[i].repository);
+                parts.add(copy.getOrders());
+                starts[i] = totals.count();
+                totals = totals.plus(copy.getTotals());
+            }
+            return new Snapshot(new MergedOrders(parts, starts, totals.count()), totals);
+        } finally {
+            for (Shard shard : shards) {
+                shard.applying.set(false);
+            }
+        }
+    }
+
+    /**
+     * Orders as they were at one moment.
+     *
+     * @param orders the orders (read-only, and unaffected by later changes)
+     * @param totals their totals
+     */
+    public record Snapshot(List<Product> orders, OrderTotals totals) {
+    }
+
+    // Queues a change on its customer's shard, then applies the shard's queue unless another thread is.
+    private void submit(String customerId, Change change) {
+        Shard shard = shards[shardFor(customerId)];
+        shard.queue.offer(change);
+        if (shard.applying.compareAndSet(false, true)) {
+            try {
+                shard.applyQueued(MAX_CHANGES_APPLIED);
+            } finally {
+                shard.applying.set(false);
+            }
+        }
+    }
+
+    // Which shard a customer's orders are kept on.
+    private int shardFor(String customerId) {
+        int h = Objects.hashCode(customerId) * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    // An order added or removed.
+    private record Change(Product product, boolean added) {
+    }
+
+    // One repository, only ever changed by the thread that has set applying.
+    private final class Shard {
+
+        private final ConcurrentLinkedQueue<Change> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean applying = new AtomicBoolean();
+        private final OrderRepository repository = new OrderRepository();
+
+        // Applies up to a number of queued changes. (Only while applying is set by the caller.)
+        private void applyQueued(int limit) {
+            Change change;
+            for (int i = 0; i < limit && (change = queue.poll()) != null; i++) {
+                if (change.added()) {
+                    repository.addOrder(change.product());
+                    if (writeBehind != null) {
+                        writeBehind.add(change.product());
+                    }
+                } else if (repository.removeOrder(change.product()) && writeBehind != null) {
+                    writeBehind.remove(change.product());
+                }
+            }
+        }
+    }
+
+    // The orders of several shards, one after another (a read-only view).
+    private static final class MergedOrders extends AbstractList<Product> implements RandomAccess {
+
+        private final List<List<Product>> parts;
+        private final int[] starts;
+        private final int size;
+
+        MergedOrders(List<List<Product>> parts, int[] starts, int size) {
+            this.parts = parts;
+            this.starts = starts;
+            this.size = size;
+        }
+
+        @Override
+        public Product get(int index) {
+            Objects.checkIndex(index, size);
+
+            // The last part starting at or before the index (skipping empty parts).
+            int part = Arrays.binarySearch(starts, index);
+            if (part < 0) {
+                part = -part - 2;
+            }
+            while (parts.get(part).size() <= index - starts[part]) {
+                part++;
+            }
+            return parts.get(part).get(index - starts[part]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
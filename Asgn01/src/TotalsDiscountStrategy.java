@@ -0,0 +1,17 @@
+import java.util.List;
+
+/**
+ * A DiscountStrategy that only depends on the order totals, so it can be computed straight from
+ * an OrderRepository's running totals, without looking at each order.
+ */
+public interface TotalsDiscountStrategy extends DiscountStrategy {
+
+    // Compute New total from the totals alone
+    double computeDiscount(OrderTotals totals);
+
+    // Compute New total (adding up the orders first, on all cores if there are many)
+    @Override
+    default double computeDiscount(List<Product> orders) {
+        return computeDiscount(ParallelTotals.of(orders));
+    }
+}
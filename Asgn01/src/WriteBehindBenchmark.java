@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how long adding and removing orders takes while the database is slow: saving each
+ * change as it is made, against queueing it for the WriteBehindQueue. A quarter of the changes
+ * remove a product added just before, which the queue cancels out without writing anything; the
+ * rest are written in batches. Finally checks that a flush() waits for a batch that is already
+ * being written.
+ * <p>
+ * Usage: java WriteBehindBenchmark [changes] [database delay in ms] (defaults: 2,000 and 2)
+ */
+public class WriteBehindBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int changes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        long delayMillis = args.length > 1 ? Long.parseLong(args[1]) : 2;
+
+        // Saving each change before carrying on.
+        SlowSink slow = new SlowSink(delayMillis);
+        DatabaseService database = new DatabaseService(slow, DatabaseService.DEFAULT_BATCH_SIZE);
+        long[] latencies = new long[changes];
+        long start = System.nanoTime();
+        for (int i = 0; i < changes; i++) {
+            long began = System.nanoTime();
+            database.saveOrdersToDatabase(List.of(product(i)));
+            latencies[i] = System.nanoTime() - began;
+        }
+        report("Save each change", latencies, System.nanoTime() - start, slow.statements.get());
+
+        // Queueing the changes for the background writer.
+        slow = new SlowSink(delayMillis);
+        OrderProcessor processor = new OrderProcessor(database);
+        try (WriteBehindQueue queue = new WriteBehindQueue(slow, DatabaseService.DEFAULT_BATCH_SIZE)) {
+            processor.enableWriteBehind(queue);
+            start = System.nanoTime();
+            for (int i = 0; i < changes; i++) {
+                long began = System.nanoTime();
+                if (i % 4 == 3) {
+                    processor.removeOrder(product(i - 1));
+                } else {
+                    processor.addOrder(product(i));
+                }
+                latencies[i] = System.nanoTime() - began;
+            }
+            processor.flushChanges().get();
+            report("Write-behind", latencies, System.nanoTime() - start, slow.statements.get());
+        }
+
+        // A flush while a batch is being written must wait for that batch.
+        slow = new SlowSink(200);
+        try (WriteBehindQueue queue = new WriteBehindQueue(slow, 1, 0, TimeUnit.MILLISECONDS)) {
+            queue.add(product(0));
+            while (slow.statements.get() == 0) {
+                Thread.onSpinWait(); // Until the writer is in the middle of the slow statement.
+            }
+            if (queue.flush().isDone()) {
+                throw new AssertionError("flush() completed before the batch being written was written.");
+            }
+            queue.flush().get();
+        }
+    }
+
+    private static Product product(int i) {
+        return new Product("Product-" + (i % 500), 10 + i % 90, 5 + i % 40);
+    }
+
+    private static void report(String name, long[] latencies, long nanos, int statements) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-17s p50 %,9.1f us  p99 %,9.1f us  max %,9.1f us  total %,8.1f ms  %,d statements%n",
+                name, sorted[sorted.length / 2] / 1e3, sorted[sorted.length * 99 / 100] / 1e3,
+                sorted[sorted.length - 1] / 1e3, nanos / 1e6, statements);
+    }
+
+    // A database that takes a while to answer each statement.
+    private static class SlowSink implements OrderSink {
+        private final long delayMillis;
+        private final AtomicInteger statements = new AtomicInteger();
+
+        SlowSink(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void execute(CharSequence statement) throws IOException {
+            statements.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
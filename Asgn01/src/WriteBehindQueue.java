@@ -0,0 +1,242 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saves order changes in the background, so adding or removing an order never waits for the
+ * database.
+ * <p>
+ * Changes are queued and written by a background thread, in batches. While a change waits, it
+ * is combined with any other changes to the same product: adding a product and then removing
+ * it again writes nothing at all, and adding it five times writes five rows in one statement.
+ * Changes wait at most a short while (the linger time) before being written, unless enough
+ * have piled up to fill a batch, or someone is waiting for them (flush()).
+ * <p>
+ * Every change is acknowledged by a future that completes once it has been written and the
+ * sink flushed (or completes exceptionally if it could not be written). All the changes
+ * written together share one future.
+ */
+public class WriteBehindQueue implements AutoCloseable {
+
+    // How long a change may wait for others to share its batch.
+    public static final long DEFAULT_LINGER_MILLIS = 20;
+
+    private final OrderSink sink;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Thread writer;
+
+    private final InsertStatementTemplate insertTemplate = new InsertStatementTemplate();
+    private final DeleteStatementTemplate deleteTemplate = new DeleteStatementTemplate();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // The net change to each product waiting to be written (+ added, - removed). (Guarded by lock.)
+    private Map<Product, Integer> pending = new LinkedHashMap<>();
+    // The number of changes queued since the last write, and the future acknowledging them. (Guarded by lock.)
+    private int pendingChanges = 0;
+    private CompletableFuture<Void> pendingWritten = new CompletableFuture<>();
+    // The future of the batch being written right now, or null. (Guarded by lock.)
+    private CompletableFuture<Void> inFlightWritten;
+    private boolean flushRequested = false;
+    private boolean closed = false;
+
+    /**
+     * Initializes the WriteBehindQueue object and starts its writer.
+     *
+     * @param sink      where to write the changes (only ever used by the writer)
+     * @param batchSize how many rows go into one INSERT statement
+     */
+    public WriteBehindQueue(OrderSink sink, int batchSize) {
+        this(sink, batchSize, DEFAULT_LINGER_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Initializes the WriteBehindQueue object and starts its writer.
+     *
+     * @param sink      where to write the changes (only ever used by the writer)
+     * @param batchSize how many rows go into one INSERT statement
+     * @param linger    how long a change may wait for others to share its batch
+     * @param unit      the unit of the linger time
+     */
+    public WriteBehindQueue(OrderSink sink, int batchSize, long linger, TimeUnit unit) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.lingerNanos = unit.toNanos(linger);
+        this.writer = Thread.ofPlatform().name("OrderWriteBehind").daemon().start(this::runWriter);
+    }
+
+    /**
+     * Queues an added order.
+     *
+     * @param product the product added
+     * @return a future completed once the change has been written
+     */
+    public CompletableFuture<Void> add(Product product) {
+        return queue(product, 1);
+    }
+
+    /**
+     * Queues a removed order.
+     *
+     * @param product the product removed
+     * @return a future completed once the change has been written
+     */
+    public CompletableFuture<Void> remove(Product product) {
+        return queue(product, -1);
+    }
+
+    /**
+     * Asks for everything queued so far to be written now, rather than after the linger time.
+     *
+     * @return a future completed once everything queued so far has been written
+     */
+    public CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            // Taken changes may still be being written, as well as (or instead of) queued ones.
+            if (pendingChanges == 0) {
+                return inFlightWritten != null ? inFlightWritten : CompletableFuture.completedFuture(null);
+            }
+            flushRequested = true;
+            changed.signal();
+            return inFlightWritten != null ? CompletableFuture.allOf(inFlightWritten, pendingWritten) : pendingWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes everything still queued, stops the writer and closes the sink.
+     *
+     * @throws IOException if the sink cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    // Adds one change to the queue.
+    private CompletableFuture<Void> queue(Product product, int delta) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The write-behind queue is closed.");
+            }
+
+            // Combine with any waiting change to the same product.
+            pending.merge(product, delta, (a, b) -> a + b == 0 ? null : a + b);
+            if (++pendingChanges == 1 || pendingChanges >= batchSize) {
+                changed.signal();
+            }
+            return pendingWritten;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The writer thread: waits for changes, then writes them as one batch.
+    private void runWriter() {
+        while (true) {
+            Map<Product, Integer> changes;
+            CompletableFuture<Void> written;
+
+            lock.lock();
+            try {
+                // Wait for something to write.
+                while (pendingChanges == 0 && !closed) {
+                    changed.awaitUninterruptibly();
+                }
+                if (pendingChanges == 0) {
+                    return; // Closed, with nothing left to write.
+                }
+
+                // Give other changes a moment to join the batch.
+                long remaining = lingerNanos;
+                while (remaining > 0 && pendingChanges < batchSize && !flushRequested && !closed) {
+                    try {
+                        remaining = changed.awaitNanos(remaining);
+                    } catch (InterruptedException ex) {
+                        remaining = 0;
+                    }
+                }
+
+                // Take the batch, leaving a fresh one for the changes still to come.
+                changes = pending;
+                written = pendingWritten;
+                pending = new LinkedHashMap<>();
+                pendingWritten = new CompletableFuture<>();
+                pendingChanges = 0;
+                flushRequested = false;
+                inFlightWritten = written;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                write(changes);
+                written.complete(null);
+            } catch (IOException | RuntimeException ex) {
+                written.completeExceptionally(ex);
+            }
+
+            lock.lock();
+            try {
+                inFlightWritten = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Writes one batch of net changes: the removals first, then the additions in full batches.
+    private void write(Map<Product, Integer> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return; // Everything cancelled out.
+        }
+
+        sink.connect();
+
+        List<Product> rows = new ArrayList<>();
+        for (Map.Entry<Product, Integer> change : changes.entrySet()) {
+            int count = change.getValue();
+            if (count < 0) {
+                sink.execute(deleteTemplate.render(change.getKey(), -count));
+            } else {
+                for (int i = 0; i < count; i++) {
+                    rows.add(change.getKey());
+                }
+            }
+        }
+
+        Iterator<Product> next = rows.iterator();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            sink.execute(insertTemplate.render(next, Math.min(rows.size() - from, batchSize)));
+        }
+        sink.flush();
+    }
+}
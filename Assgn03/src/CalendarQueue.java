@@ -0,0 +1,98 @@
+
+import java.util.ArrayDeque;
+
+// A priority queue for things due at whole-number times, after Brown's calendar queue: a
+// ring of buckets, one per time ("day"), covering a "year" from the current time onwards.
+// Adding goes straight to the bucket for its time and taking comes from the current bucket,
+// so both are O(1); moving on to the next time skips empty buckets, which costs O(1) per
+// unit of time that passes. The year doubles when something is added beyond its end.
+//
+// Things due at the same time come out in the order they were added.
+public class CalendarQueue<T> {
+
+    private ArrayDeque<T>[] buckets;
+    private int mask;
+    // The time of the current bucket; nothing in the queue is due before it
+    private long now = 0;
+    private int size = 0;
+
+    public CalendarQueue(){
+        this(64);
+    }
+
+    public CalendarQueue(int days){
+        buckets = newBuckets(Integer.highestOneBit(Math.max(1, days - 1)) << 1);
+        mask = buckets.length - 1;
+    }
+
+    public void add(long time, T item){
+        if (time < now) {
+            throw new IllegalArgumentException("Can't add at time " + time + ", it is already " + now);
+        }
+        if (time - now >= buckets.length) {
+            grow(time - now + 1);
+        }
+        buckets[(int) (time & mask)].add(item);
+        size++;
+    }
+
+    // Take the first thing due (null if the queue is empty)
+    public T poll(){
+        if (!advance()) {
+            return null;
+        }
+        size--;
+        return buckets[(int) (now & mask)].poll();
+    }
+
+    // The time the first thing is due (only valid if the queue isn't empty)
+    public long peekTime(){
+        advance();
+        return now;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    // Move on to the first bucket with something in it
+    private boolean advance(){
+        if (size == 0) {
+            return false;
+        }
+        while (buckets[(int) (now & mask)].isEmpty()) {
+            now++;
+        }
+        return true;
+    }
+
+    // Lengthen the year to at least the given number of days
+    private void grow(long days){
+        if (days > 1 << 30) {
+            throw new IllegalArgumentException("Can't schedule " + days + " days ahead");
+        }
+        ArrayDeque<T>[] old = buckets;
+        buckets = newBuckets(Integer.highestOneBit((int) days - 1) << 1);
+        mask = buckets.length - 1;
+
+        for (long time = now; time < now + old.length; time++) {
+            ArrayDeque<T> bucket = old[(int) (time & (old.length - 1))];
+            if (!bucket.isEmpty()) {
+                buckets[(int) (time & mask)] = bucket;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<T>[] newBuckets(int count){
+        ArrayDeque<T>[] buckets = (ArrayDeque<T>[]) new ArrayDeque<?>[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        return buckets;
+    }
+}
@@ -1,11 +1,96 @@
 
 public abstract class Character{
 
+    // How long a turn takes at speed 1; a character at speed s acts every TURN_LENGTH / s
+    // (on average: see advanceNextActTime())
+    public static final int TURN_LENGTH = 120;
+    public static final int DEFAULT_SPEED = 10;
+
     private String name;
     private int health;
+    private int speed;
+
+    // When the character next gets to act (kept by the TurnScheduler), plus the part of a
+    // time unit carried over from earlier turns, in 1/speed units
+    private long nextActTime;
+    private int carriedTime;
+
+    // The room the character is in (set by Room.addCharacter)
+    private Room room;
+
+    protected Character(String name, int health){
+        this(name, health, DEFAULT_SPEED);
+    }
+
+    protected Character(String name, int health, int speed){
+        if (speed < 1 || speed > TURN_LENGTH) {
+            throw new IllegalArgumentException("Speed must be from 1 to " + TURN_LENGTH + ": " + speed);
+        }
+        this.name = name;
+        this.health = health;
+        this.speed = speed;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public int getHealth(){
+        return health;
+    }
+
+    // Also the character's initiative: among characters due at the same time, the
+    // fastest goes first
+    public int getSpeed(){
+        return speed;
+    }
+
+    public long getNextActTime(){
+        return nextActTime;
+    }
+
+    void setNextActTime(long nextActTime){
+        this.nextActTime = nextActTime;
+        this.carriedTime = 0;
+    }
+
+    // Put the next turn off by TURN_LENGTH / speed. Turns happen at whole times, so the
+    // remainder of the division is carried over and adds a time unit whenever it makes one
+    // up (as in Bresenham's line drawing): the k-th turn after joining comes exactly at
+    // k * TURN_LENGTH / speed, rounded down, so no time is lost to rounding and twice the
+    // speed means exactly twice the turns.
+    void advanceNextActTime(){
+        nextActTime += TURN_LENGTH / speed;
+        carriedTime += TURN_LENGTH % speed;
+        if (carriedTime >= speed) {
+            carriedTime -= speed;
+            nextActTime++;
+        }
+    }
+
+    public Room getRoom(){
+        return room;
+    }
+
+    void setRoom(Room room){
+        this.room = room;
+    }
 
     public abstract void takeTurn();
 
+    // Give a character that makes random choices a seed of its own. The TurnEngine calls this
+    // before each planned turn; only the first seed counts. By default there is nothing to seed.
+    void seedRandom(long seed){
+    }
 
+    // Work out this character's turn for the TurnEngine, which may call this for many
+    // characters at once on different threads. Only the character's own state may change
+    // here; anything shared (rooms, other characters) is changed by the returned effect,
+    // which the engine applies later, one character at a time, in a fixed order.
+    //
+    // By default the whole turn is taken in that later, one-at-a-time phase.
+    public TurnEffect planTurn(){
+        return this::takeTurn;
+    }
 
-}
\ No newline at end of file
+}
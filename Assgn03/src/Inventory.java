@@ -13,4 +13,16 @@ public class Inventory {
 
     }
 
+    public boolean removeItem(Item i){
+        return items.remove(i);
+    }
+
+    public List<Item> getItems(){
+        return items;
+    }
+
+    public int size(){
+        return items.size();
+    }
+
 }
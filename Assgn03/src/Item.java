@@ -5,8 +5,13 @@ public class Item implements Interactable{
 
     //Implementation so this would runwith the driver
     public Item(String name){
-        
+        this.name = name;
     }
+
+    public String getName(){
+        return name;
+    }
+
     @Override
     public void interact(){
         // Implementation
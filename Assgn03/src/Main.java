@@ -1,4 +1,6 @@
 
+import java.util.List;
+
 
 public class Main {
     public static void main(String[] args) {
@@ -8,8 +10,8 @@ public class Main {
         // Create a player
         Player player = new Player("Player One", 100);
 
-        // Create an NPC
-        NPC innKeeper = new NPC("InnKeeper", 50);
+        // Create an NPC (a little quicker than the player, so first to act)
+        NPC innKeeper = new NPC("InnKeeper", 50, 12);
 
         // Add them to the room
         inn.addCharacter(player);
@@ -19,15 +21,22 @@ public class Main {
         Item mug = new Item("Mug of <favorite beverage here>");
         inn.addItem(mug);
 
+        // Everyone acts in order of initiative
+        TurnScheduler scheduler = new TurnScheduler();
+        scheduler.addAll(List.of(player, innKeeper));
+
         // Example sequence of actions
         // NPC takes a turn
-        innKeeper.takeTurn();
+        scheduler.runNext();
 
-        // Player picks up the mug (simulate interact)
-        mug.interact();
-        player.getInventory().addItem(mug);
+        // Player picks up the mug (simulate interact), unless the innkeeper took it on their turn
+        Item taken = inn.takeItem();
+        if (taken != null) {
+            taken.interact();
+            player.getInventory().addItem(taken);
+        }
 
         // Player takes a turn
-        player.takeTurn();
+        scheduler.runNext();
     }
 }
\ No newline at end of file
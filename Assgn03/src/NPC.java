@@ -1,13 +1,74 @@
 
+import java.util.List;
+import java.util.SplittableRandom;
+
 public class NPC extends Character implements Interactable {
 
+    private Inventory inventory = new Inventory();
+    // Each NPC has its own random numbers, never shared between threads. A TurnEngine seeds
+    // them from its own seed (so the same seed plays the same game, even for NPCs with the
+    // same name); until then they are seeded from the name.
+    private SplittableRandom random;
+    private boolean seeded;
+
     public NPC(String name, int health){
-        //Implementation
+        this(name, health, DEFAULT_SPEED);
+    }
+
+    public NPC(String name, int health, int speed){
+        super(name, health, speed);
+        this.random = new SplittableRandom(name.hashCode());
+    }
+
+    @Override
+    void seedRandom(long seed) {
+        if (!seeded) {
+            random = new SplittableRandom(seed);
+            seeded = true;
+        }
+    }
+
+    public Inventory getInventory() {
+        return inventory;
     }
 
     @Override
     public void takeTurn() {
-        //Implementation
+        planTurn().apply();
+    }
+
+    // Decide what to do from what the NPC can see; the room is only changed by the effect
+    @Override
+    public TurnEffect planTurn() {
+        Room room = getRoom();
+        if (room == null) {
+            return TurnEffect.NONE;
+        }
+
+        int roll = random.nextInt(10);
+        List<Room> exits = room.getExits();
+
+        if (roll < 3 && room.hasItem()) {
+            return () -> pickUpItem(room);
+        } else if (roll < 7 && !exits.isEmpty()) {
+            Room destination = exits.get(random.nextInt(exits.size()));
+            return () -> moveTo(room, destination);
+        } else {
+            return TurnEffect.NONE;
+        }
+    }
+
+    // Someone may have got to the item first
+    private void pickUpItem(Room room) {
+        if (getRoom() == room && room.hasItem()) {
+            inventory.addItem(room.takeItem());
+        }
+    }
+
+    private void moveTo(Room from, Room destination) {
+        if (getRoom() == from) {
+            destination.addCharacter(this);
+        }
     }
 
     @Override
@@ -4,7 +4,11 @@ public class Player extends Character{
     private Inventory inventory = new Inventory();
 
     public Player(String name, int health){
-        //Implementation
+        super(name, health);
+    }
+
+    public Player(String name, int health, int speed){
+        super(name, health, speed);
     }
 
     public Inventory getInventory() {
@@ -17,4 +21,4 @@ public class Player extends Character{
         //Implementation
     }
 
-}
\ No newline at end of file
+}
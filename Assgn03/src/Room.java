@@ -1,22 +1,58 @@
 
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class Room{
     private String description;
-    private List<Character> occupants;
+    // A set keeps moving in and out cheap however crowded the room gets; a linked one
+    // keeps the occupants in the order they arrived.
+    private Set<Character> occupants = new LinkedHashSet<>();
     private Item item;
+    private List<Room> exits = new ArrayList<>();
 
     //Implementation so this would run with the driver, UML does not explicitly ask for it 
     public Room(String description){
-
+        this.description = description;
     }
     public void addCharacter(Character gameChar){
-        // Implementation
+        if (gameChar.getRoom() != null) {
+            gameChar.getRoom().removeCharacter(gameChar);
+        }
+        occupants.add(gameChar);
+        gameChar.setRoom(this);
+    }
+    public void removeCharacter(Character gameChar){
+        if (occupants.remove(gameChar)) {
+            gameChar.setRoom(null);
+        }
     }
     public void addItem(Item i){
-        // Implementation
+        this.item = i;
+    }
+    // Take the room's item, if it still has one
+    public Item takeItem(){
+        Item taken = item;
+        item = null;
+        return taken;
+    }
+    public boolean hasItem(){
+        return item != null;
+    }
+    public void addExit(Room room){
+        exits.add(room);
+    }
+    public List<Room> getExits(){
+        return exits;
+    }
+    public Set<Character> getOccupants(){
+        return occupants;
+    }
+    public String getDescription(){
+        return description;
     }
 
 
-}
\ No newline at end of file
+}
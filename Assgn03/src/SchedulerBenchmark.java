@@ -0,0 +1,96 @@
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+// Times choosing and rescheduling turns for 1k to 1M characters of mixed speeds, with the
+// calendar-queue TurnScheduler and with a binary heap (PriorityQueue), and shows that turns
+// are shared out in proportion to speed.
+//
+//     java -cp bin SchedulerBenchmark [max characters] [turns per character]
+public class SchedulerBenchmark {
+
+    public static void main(String[] args) {
+        int maxCharacters = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int turnsEach = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf("%10s %14s %14s%n", "Characters", "Calendar ns", "Heap ns");
+
+        for (int count = 1_000; count <= maxCharacters; count *= 10) {
+            long turns = (long) count * turnsEach;
+            System.out.printf("%,10d %14.1f %14.1f%n", count,
+                              timeCalendar(population(count), turns),
+                              timeHeap(population(count), turns));
+        }
+
+        showFairness();
+    }
+
+    private static List<NPC> population(int count) {
+        SplittableRandom random = new SplittableRandom(436);
+        List<NPC> npcs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            npcs.add(new NPC("NPC-" + i, 50, 1 + random.nextInt(30)));
+        }
+        return npcs;
+    }
+
+    // Nanoseconds per turn with the TurnScheduler
+    private static double timeCalendar(List<NPC> npcs, long turns) {
+        TurnScheduler scheduler = new TurnScheduler();
+        scheduler.addAll(npcs);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < turns; i++) {
+            scheduler.reschedule(scheduler.next());
+        }
+        return (System.nanoTime() - start) / (double) turns;
+    }
+
+    // Nanoseconds per turn with a binary heap ordered the same way
+    private static double timeHeap(List<NPC> npcs, long turns) {
+        record Turn(long time, long order, Character character) { }
+
+        PriorityQueue<Turn> heap = new PriorityQueue<>(
+                Comparator.comparingLong(Turn::time).thenComparingLong(Turn::order));
+        long order = 0;
+        for (NPC npc : npcs) {
+            heap.add(new Turn(0, order++, npc));
+        }
+
+        long start = System.nanoTime();
+        for (long i = 0; i < turns; i++) {
+            Character character = heap.poll().character();
+            character.advanceNextActTime();
+            heap.add(new Turn(character.getNextActTime(), order++, character));
+        }
+        return (System.nanoTime() - start) / (double) turns;
+    }
+
+    // Three characters of speed 7, 14 and 28 should get turns in the ratio 1:2:4 (although
+    // none of those speeds divides TURN_LENGTH)
+    private static void showFairness() {
+        List<NPC> npcs = List.of(new NPC("Slow", 50, 7), new NPC("Steady", 50, 14), new NPC("Quick", 50, 28));
+        int[] turns = new int[npcs.size()];
+
+        TurnScheduler scheduler = new TurnScheduler();
+        scheduler.addAll(npcs);
+        int window = 100 * Character.TURN_LENGTH;
+        while (true) {
+            Character next = scheduler.next();
+            if (scheduler.getTime() >= window) {
+                break;
+            }
+            turns[npcs.indexOf(next)]++;
+            scheduler.reschedule(next);
+        }
+
+        System.out.printf("%nTurns in %,d time units:", window);
+        for (int i = 0; i < npcs.size(); i++) {
+            System.out.printf("  %s (speed %d): %d", npcs.get(i).getName(), npcs.get(i).getSpeed(), turns[i]);
+        }
+        System.out.println();
+    }
+}
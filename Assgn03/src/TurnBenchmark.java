@@ -0,0 +1,94 @@
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Times the TurnEngine with 1k to 1M NPCs, using 1 thread up to every core, and checks that
+// every thread count leaves the world in exactly the same state.
+//
+//     java -cp bin TurnBenchmark [max NPCs] [turns]
+public class TurnBenchmark {
+
+    private static final int ROOM_ROWS = 25;
+    private static final int ROOM_COLUMNS = 40;
+
+    public static void main(String[] args) {
+        int maxNpcs = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int turns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        System.out.printf("%10s %8s %12s %16s %18s%n", "NPCs", "Threads", "ms/turn", "NPC turns/s", "World checksum");
+
+        for (int npcs = 1_000; npcs <= maxNpcs; npcs *= 10) {
+            for (int threads : threadCounts) {
+                List<NPC> population = new ArrayList<>();
+                List<Room> rooms = buildWorld(npcs, population);
+
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                TurnEngine engine = new TurnEngine(pool);
+
+                // Warm up, then time
+                engine.runTurn(population);
+                long start = System.nanoTime();
+                for (int i = 0; i < turns; i++) {
+                    engine.runTurn(population);
+                }
+                double millisPerTurn = (System.nanoTime() - start) / 1e6 / turns;
+                pool.shutdown();
+
+                System.out.printf("%,10d %8d %12.2f %,16.0f %18x%n", npcs, threads, millisPerTurn,
+                                  npcs / millisPerTurn * 1000, checksum(rooms, population));
+            }
+        }
+    }
+
+    // A grid of rooms, each with an item, and the NPCs spread evenly through them
+    private static List<Room> buildWorld(int npcs, List<NPC> population) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOM_ROWS * ROOM_COLUMNS; i++) {
+            Room room = new Room("Room " + i);
+            room.addItem(new Item("Trinket " + i));
+            rooms.add(room);
+        }
+
+        for (int row = 0; row < ROOM_ROWS; row++) {
+            for (int column = 0; column < ROOM_COLUMNS; column++) {
+                Room room = rooms.get(row * ROOM_COLUMNS + column);
+                if (row > 0) room.addExit(rooms.get((row - 1) * ROOM_COLUMNS + column));
+                if (row < ROOM_ROWS - 1) room.addExit(rooms.get((row + 1) * ROOM_COLUMNS + column));
+                if (column > 0) room.addExit(rooms.get(row * ROOM_COLUMNS + column - 1));
+                if (column < ROOM_COLUMNS - 1) room.addExit(rooms.get(row * ROOM_COLUMNS + column + 1));
+            }
+        }
+
+        for (int i = 0; i < npcs; i++) {
+            NPC npc = new NPC("NPC-" + i, 50);
+            rooms.get(i % rooms.size()).addCharacter(npc);
+            population.add(npc);
+        }
+        return rooms;
+    }
+
+    // Where everyone is, in what order, and who is holding what
+    private static long checksum(List<Room> rooms, List<NPC> population) {
+        long sum = 17;
+        for (Room room : rooms) {
+            for (Character occupant : room.getOccupants()) {
+                sum = sum * 31 + occupant.getName().hashCode();
+            }
+            sum = sum * 31 + (room.hasItem() ? 1 : 0);
+        }
+        for (NPC npc : population) {
+            for (Item item : npc.getInventory().getItems()) {
+                sum = sum * 31 + item.getName().hashCode();
+            }
+        }
+        return sum;
+    }
+}
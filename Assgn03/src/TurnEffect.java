@@ -0,0 +1,12 @@
+
+// The shared-state changes from one character's turn (moving rooms, picking things up...),
+// applied by the TurnEngine after every character has planned its turn.
+@FunctionalInterface
+public interface TurnEffect{
+
+    TurnEffect NONE = () -> { };
+
+    // Apply the change. The world may have changed since the turn was planned (another
+    // character may have taken the item first), so an effect must check before it acts.
+    public void apply();
+}
@@ -0,0 +1,101 @@
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs a turn for every character at once, in two phases:
+//  1. plan: every character works out its turn (Character.planTurn), in parallel on a
+//     ForkJoinPool, touching nothing shared;
+//  2. commit: the planned effects are applied one at a time, in the order the characters
+//     were given.
+// As the commit order never depends on which thread planned what, the same world and the
+// same characters give the same result whatever the number of threads.
+//
+// Characters that make random choices are seeded from the engine's seed before their first
+// planned turn (see characterSeed), so the same seed gives the same game too.
+public class TurnEngine {
+
+    // Below this many characters a task plans them itself rather than splitting
+    private static final int PLAN_THRESHOLD = 1024;
+
+    public static final long DEFAULT_SEED = 436;
+
+    private ForkJoinPool pool;
+    private long seed;
+    private long turn = 0;
+
+    public TurnEngine(ForkJoinPool pool, long seed){
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    public TurnEngine(ForkJoinPool pool){
+        this(pool, DEFAULT_SEED);
+    }
+
+    public TurnEngine(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    public void runTurn(List<? extends Character> characters){
+        TurnEffect[] effects = new TurnEffect[characters.size()];
+
+        pool.invoke(new PlanTask(characters, effects, seed, turn, 0, effects.length));
+
+        for (TurnEffect effect : effects) {
+            effect.apply();
+        }
+        turn++;
+    }
+
+    public long getTurn(){
+        return turn;
+    }
+
+    // The seed for the character at an index of the list in a turn. A character only takes
+    // the seed it is given before its first planned turn, and no two characters are first
+    // planned in the same turn at the same index, so every character gets a seed of its own
+    // (the engine's seed and that turn and index, mixed as SplittableRandom mixes its seeds).
+    static long characterSeed(long seed, long turn, int index){
+        long z = seed + ((turn << 32) | index) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Plans the turns of characters [from, to), splitting the range in half until it is small
+    // (never serialized, like any ForkJoinTask in practice)
+    @SuppressWarnings("serial")
+    private static class PlanTask extends RecursiveAction {
+        private List<? extends Character> characters;
+        private TurnEffect[] effects;
+        private long seed;
+        private long turn;
+        private int from;
+        private int to;
+
+        PlanTask(List<? extends Character> characters, TurnEffect[] effects, long seed, long turn, int from, int to){
+            this.characters = characters;
+            this.effects = effects;
+            this.seed = seed;
+            this.turn = turn;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if (to - from <= PLAN_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Character character = characters.get(i);
+                    character.seedRandom(characterSeed(seed, turn, i));
+                    effects[i] = character.planTurn();
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PlanTask(characters, effects, seed, turn, from, middle),
+                          new PlanTask(characters, effects, seed, turn, middle, to));
+            }
+        }
+    }
+}
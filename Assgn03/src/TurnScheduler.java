@@ -0,0 +1,64 @@
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Decides who acts next: every character acts every TURN_LENGTH / speed time units (the
+// remainder carried from turn to turn, see Character.advanceNextActTime()), so a character
+// twice as fast gets twice as many turns. Characters due at the same time act fastest
+// (highest initiative) first when they join, then in the order they last acted.
+//
+// Turns are kept in a CalendarQueue, so choosing the next character and rescheduling it
+// cost the same however many characters there are.
+public class TurnScheduler {
+
+    private CalendarQueue<Character> queue = new CalendarQueue<>(Character.TURN_LENGTH + 1);
+    private long time = 0;
+
+    // Add a character, due to act now
+    public void add(Character character){
+        character.setNextActTime(time);
+        queue.add(time, character);
+    }
+
+    // Add several characters, due to act now, fastest first
+    public void addAll(List<? extends Character> characters){
+        List<Character> byInitiative = new ArrayList<>(characters);
+        byInitiative.sort(Comparator.comparingInt(Character::getSpeed).reversed());
+        byInitiative.forEach(this::add);
+    }
+
+    // Take the next character to act (null if there is nobody), moving the clock on to its
+    // turn. The character is not rescheduled; see reschedule().
+    public Character next(){
+        Character character = queue.poll();
+        if (character != null) {
+            time = character.getNextActTime();
+        }
+        return character;
+    }
+
+    // Schedule a character's next turn, one turn's length after the current one
+    public void reschedule(Character character){
+        character.advanceNextActTime();
+        queue.add(character.getNextActTime(), character);
+    }
+
+    // Let the next character take its turn, and schedule its next one
+    public Character runNext(){
+        Character character = next();
+        if (character != null) {
+            character.takeTurn();
+            reschedule(character);
+        }
+        return character;
+    }
+
+    public long getTime(){
+        return time;
+    }
+
+    public int size(){
+        return queue.size();
+    }
+}
@@ -2,10 +2,23 @@ package objectAdventure;
 
 import objectAdventure.core.command.CommandInterpreter;
 import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.InputLimits;
 import objectAdventure.core.command.UserInputLoop;
+import objectAdventure.core.map.RoomList;
+import objectAdventure.core.persist.CommandJournal.FsyncPolicy;
+import objectAdventure.core.persist.SaveGame;
 import objectAdventure.core.player.Player;
+import objectAdventure.core.replay.SessionRecorder;
+import objectAdventure.core.replay.SessionReplayer;
+import objectAdventure.core.schedule.GameRandom;
+import objectAdventure.server.GameServer;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,6 +33,9 @@ public final class Main {
     // SEE: https://docs.oracle.com/en/java/javase/21/docs/api/java.base/java/lang/System.Logger.Level.html
     private static final Level LOG_LEVEL = Level.WARNING;
 
+    // How often a saved game is saved (seconds).
+    private static final long AUTOSAVE_PERIOD = 30;
+
     // Set up logging as early as possible.
     static {
         System.setErr(System.out); // Redirect all error messages to the console.
@@ -33,17 +49,149 @@ public final class Main {
     /**
      * Main Method for game.
      *
-     * @param args Not Used
+     * @param args Optional: {@code --replay <file>} to replay a recorded console game (and
+     *             check that it plays out as recorded), or else {@code --seed <n>} to seed the
+     *             game's randomness, followed by {@code --record <file>} to record a console
+     *             game (in a new world) for replay, or
+     *             {@code --save <file> [--fsync commit|interval|none]} to restore the
+     *             game from (and save and journal it to) a file, followed by
+     *             {@code --server [port]} to run as a multi-session server, or
+     *             {@code --rate <commands per second>} to pace a console game (e.g. scripted
+     *             input). A console game waits for each command to reach the disk by default;
+     *             a server (on which every command waits its turn) forces the journal to disk
+     *             at intervals instead.
+     * @throws IOException if the server cannot be started, the saved game cannot be read, or
+     *                     the game cannot be recorded or replayed.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(List.of(args));
+
+        if (options.size() > 1 && "--replay".equals(options.getFirst())) {
+            replay(Path.of(options.get(1)));
+            return;
+        }
+
+        if (options.size() > 1 && "--seed".equals(options.getFirst())) {
+            GameRandom.setDefault(new GameRandom(Long.parseLong(options.get(1))));
+            options.subList(0, 2).clear();
+        }
+
+        Path recording = null;
+        if (options.size() > 1 && "--record".equals(options.getFirst())) {
+            recording = Path.of(options.get(1));
+            options.subList(0, 2).clear();
+
+            if (options.contains("--save") || options.contains("--server")) {
+                System.err.println("Only a console game in a new world can be recorded.");
+                return;
+            }
+        }
+
+        SaveGame saveGame = null;
+        if (options.size() > 1 && "--save".equals(options.getFirst())) {
+            final Path file = Path.of(options.get(1));
+            options.subList(0, 2).clear();
+
+            FsyncPolicy policy = options.contains("--server") ? FsyncPolicy.INTERVAL : FsyncPolicy.COMMIT;
+            if (options.size() > 1 && "--fsync".equals(options.getFirst())) {
+                policy = FsyncPolicy.valueOf(options.get(1).toUpperCase());
+                options.subList(0, 2).clear();
+            }
+
+            saveGame = openSaveGame(file, policy);
+        }
+
+        if (!options.isEmpty() && "--server".equals(options.getFirst())) {
+            startServer(options.size() > 1 ? Integer.parseInt(options.get(1)) : GameServer.DEFAULT_PORT, saveGame);
+        } else if (options.size() > 1 && "--rate".equals(options.getFirst())) {
+            startConsoleGame(InputLimits.perSecond(Double.parseDouble(options.get(1))), saveGame, recording);
+        } else {
+            startConsoleGame(InputLimits.UNLIMITED, saveGame, recording);
+        }
+    }
+
+    /**
+     * Restore the shared world from a save file and its journal (if they exist), and keep
+     * saving it: every command that changes the game, every so often in full, and once more
+     * when the game exits (however it exits).
+     *
+     * @param file   The save file.
+     * @param policy When the journal forces its writes to disk.
+     * @return The saved game.
+     * @throws IOException if the saved game cannot be read.
      */
-    public static void main(String[] args) {
+    private static SaveGame openSaveGame(Path file, FsyncPolicy policy) throws IOException {
+        var saveGame = SaveGame.open(file, RoomList.newInstance(), policy);
+        saveGame.startAutosave(AUTOSAVE_PERIOD, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                saveGame.close();
+            } catch (IOException ex) {
+                System.err.println("Could not save the game: " + ex.getMessage());
+            }
+        }, "SaveOnExit"));
+
+        return saveGame;
+    }
+
+    /**
+     * Play a single-player game on the console.
+     *
+     * @param limits    The input limits for the game.
+     * @param saveGame  The saved game, or null.
+     * @param recording The file to record the game to, or null.
+     * @throws IOException if the game cannot be recorded.
+     */
+    private static void startConsoleGame(InputLimits limits, SaveGame saveGame, Path recording) throws IOException {
         // Create the player and the game getController.
         var player = new Player("Player");
+        if (saveGame != null) {
+            saveGame.join(player);
+        }
         var controller = new GameController(player);
+        if (saveGame != null) {
+            saveGame.getJournal().ifPresent(controller::setJournal);
+        }
 
         // Create the command interpreter and start the user input loop.
         var interpreter = new CommandInterpreter(controller);
 
         // Start the user input loop with the command processor and a scanner for input.
-        UserInputLoop.startInputLoop(interpreter, new Scanner(System.in));
+        var scanner = new Scanner(System.in);
+        if (recording == null) {
+            UserInputLoop.startInputLoop(interpreter, scanner, limits);
+        } else {
+            try (var recorder = SessionRecorder.start(recording, player.getPlayerName())) {
+                UserInputLoop.startInputLoop(interpreter,
+                                             recorder.recordInput(() -> scanner.hasNextLine() ? scanner.nextLine() : null),
+                                             recorder.recordOutput(System.out), limits);
+            }
+        }
+    }
+
+    /**
+     * Replay a recorded console game, as fast as it will go, and report whether it played out
+     * exactly as recorded.
+     *
+     * @param recording The recording.
+     * @throws IOException if the recording cannot be read.
+     */
+    private static void replay(Path recording) throws IOException {
+        System.out.println(SessionReplayer.replay(recording));
+    }
+
+    /**
+     * Serve the game to many players over local TCP connections.
+     *
+     * @param port     The port to listen on.
+     * @param saveGame The saved game, or null.
+     * @throws IOException if the server cannot be started.
+     */
+    private static void startServer(int port, SaveGame saveGame) throws IOException {
+        try (var server = new GameServer(port, InputLimits.SERVER_DEFAULT, saveGame)) {
+            System.out.printf("Game server listening on localhost:%d%n", server.getPort());
+            server.run();
+        }
     }
 }
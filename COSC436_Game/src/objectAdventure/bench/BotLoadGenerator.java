@@ -0,0 +1,318 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.CommandInterpreter;
+import objectAdventure.core.command.CommandResult;
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.GameSession;
+import objectAdventure.core.item.Item;
+import objectAdventure.core.map.Direction;
+import objectAdventure.core.map.RoomList;
+import objectAdventure.core.player.Player;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * A headless load generator: N bot players, each with its own {@link GameSession}, play the
+ * game in-process with a weighted, seeded mix of commands, and the throughput and latency of
+ * the engine are reported. Bots act on each command's structured result, so no game text is
+ * ever built for them.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.BotLoadGenerator [key=value ...]}, where the
+ * keys (and defaults) are:</p>
+ * <ul>
+ *     <li>{@code bots=100}: the number of bot players;</li>
+ *     <li>{@code commands=1000}: the number of commands each bot sends;</li>
+ *     <li>{@code seed=436}: the random seed (the same seed gives the same command stream);</li>
+ *     <li>{@code threads=0}: 0 runs every bot round-robin on one thread, otherwise the bots
+ *     are spread across that many threads, all playing at once;</li>
+ *     <li>{@code worlds=shared}: {@code shared} puts every bot in one world, {@code isolated}
+ *     gives each bot a world of its own;</li>
+ *     <li>{@code mix=move:40,take:10,drop:10,look:20,interact:10,teleport:10}: the relative
+ *     weights of each kind of command.</li>
+ * </ul>
+ */
+public final class BotLoadGenerator {
+
+    /**
+     * The kinds of command a bot can send.
+     */
+    private enum CommandKind {
+        MOVE, TAKE, DROP, LOOK, INTERACT, TELEPORT
+    }
+
+    // The item interactions bots try.
+    private static final String[] INTERACTIONS = {"USE", "INSPECT", "EXAMINE", "TAUNT"};
+
+    private final int botCount;
+    private final int commandsPerBot;
+    private final long seed;
+    private final int threadCount;
+    private final boolean isolatedWorlds;
+    private final Map<CommandKind, Integer> mix = new EnumMap<>(CommandKind.class);
+
+    // Private constructor; see main().
+    private BotLoadGenerator(Map<String, String> options) {
+        this.botCount = Integer.parseInt(options.getOrDefault("bots", "100"));
+        this.commandsPerBot = Integer.parseInt(options.getOrDefault("commands", "1000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "436"));
+        this.threadCount = Integer.parseInt(options.getOrDefault("threads", "0"));
+        this.isolatedWorlds = "isolated".equalsIgnoreCase(options.getOrDefault("worlds", "shared"));
+
+        String mixOption = options.getOrDefault("mix", "move:40,take:10,drop:10,look:20,interact:10,teleport:10");
+        for (String entry : mixOption.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(CommandKind.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    /**
+     * Run the load generator.
+     *
+     * @param args Options, as {@code key=value} pairs.
+     * @throws InterruptedException if interrupted while waiting for the bots.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            options.put(parts[0].trim().toLowerCase(), parts.length > 1 ? parts[1].trim() : "");
+        }
+
+        new BotLoadGenerator(options).run();
+    }
+
+    /**
+     * Create the bots, play every command, and print the report.
+     *
+     * @throws InterruptedException if interrupted while waiting for the bots.
+     */
+    private void run() throws InterruptedException {
+        // Bots never read game text; keep warnings quiet too.
+        Logger.getGlobal().setLevel(Level.SEVERE);
+
+        RoomList template = isolatedWorlds ? RoomList.newTemplate() : RoomList.newInstance();
+        List<Bot> bots = IntStream.range(0, botCount)
+                                  .mapToObj(i -> new Bot(i, isolatedWorlds ? template.cloneWorld() : template))
+                                  .toList();
+
+        final long start = System.nanoTime();
+        if (threadCount <= 0) {
+            playRoundRobin(bots);
+        } else {
+            playConcurrently(bots);
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        report(System.out, bots, elapsed);
+    }
+
+    /**
+     * Play every bot in turn, one command at a time, on the calling thread.
+     *
+     * @param bots The bots.
+     */
+    private void playRoundRobin(List<Bot> bots) {
+        for (int i = 0; i < commandsPerBot; i++) {
+            bots.forEach(Bot::playOne);
+        }
+    }
+
+    /**
+     * Spread the bots across threads, each playing its bots round-robin, all at once.
+     *
+     * @param bots The bots.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private void playConcurrently(List<Bot> bots) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < threadCount; t++) {
+            List<Bot> share = new ArrayList<>();
+            for (int i = t; i < bots.size(); i += threadCount) {
+                share.add(bots.get(i));
+            }
+            threads.add(Thread.ofPlatform().name("Bots-" + t).start(() -> playRoundRobin(share)));
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Print the throughput and latency summary, overall and by kind of command.
+     *
+     * @param out          Where to print the report.
+     * @param bots         The bots, having played.
+     * @param elapsedNanos The total run time.
+     */
+    private void report(PrintStream out, List<Bot> bots, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long[] all = bots.stream().flatMapToLong(bot -> Arrays.stream(bot.latencies)).sorted().toArray();
+
+        out.printf("Bots: %,d  Commands: %,d  Threads: %s  Worlds: %s  Seed: %d%n",
+                          botCount, all.length, threadCount <= 0 ? "1 (round-robin)" : threadCount,
+                          isolatedWorlds ? "isolated" : "shared", seed);
+        out.printf("Elapsed: %.2fs  Throughput: %,.0f commands/s%n", seconds, all.length / seconds);
+        out.printf("Outcomes: %,d succeeded  %,d failed%n",
+                          all.length - bots.stream().mapToLong(bot -> bot.failed).sum(),
+                          bots.stream().mapToLong(bot -> bot.failed).sum());
+        out.printf("Latency (us): p50=%.1f  p90=%.1f  p99=%.1f  max=%.1f%n",
+                          percentile(all, 0.50), percentile(all, 0.90),
+                          percentile(all, 0.99), percentile(all, 1.00));
+
+        for (CommandKind kind : CommandKind.values()) {
+            long[] latencies = bots.stream()
+                                   .flatMapToLong(bot -> IntStream.range(0, bot.latencies.length)
+                                                                  .filter(i -> bot.kinds[i] == kind)
+                                                                  .mapToLong(i -> bot.latencies[i]))
+                                   .sorted()
+                                   .toArray();
+            if (latencies.length > 0) {
+                out.printf("  %-8s %,10d commands  p50=%8.1f  p99=%8.1f us%n", kind, latencies.length,
+                                  percentile(latencies, 0.50), percentile(latencies, 0.99));
+            }
+        }
+    }
+
+    /**
+     * Get a percentile (in microseconds) from sorted nanosecond samples.
+     *
+     * @param sorted   The sorted samples.
+     * @param fraction The percentile, from 0.0 to 1.0.
+     * @return The percentile in microseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+
+    /**
+     * One bot player, with its own session and random stream.
+     */
+    private final class Bot {
+
+        private final GameController controller;
+        private final GameSession session;
+        private final Random random;
+
+        // The rooms that exist in the bot's world, for teleporting.
+        private final int[] roomIds;
+
+        // What each command was, and how long it took (nanoseconds).
+        private final CommandKind[] kinds = new CommandKind[commandsPerBot];
+        private final long[] latencies = new long[commandsPerBot];
+        private int played = 0;
+        private int failed = 0;
+
+        private Bot(int id, RoomList world) {
+            this.controller = new GameController(new Player("Bot-" + id), world);
+            this.session = new GameSession(new CommandInterpreter(controller));
+            this.random = new Random(seed + id);
+            this.roomIds = IntStream.range(0, 200).filter(controller.getRoomService()::isRoomPresent).toArray();
+        }
+
+        /**
+         * Choose, send, and time one command.
+         */
+        private void playOne() {
+            CommandKind kind = chooseKind();
+            String command = chooseCommand(kind);
+
+            final long start = System.nanoTime();
+            CommandResult result = session.execute(command);
+            latencies[played] = System.nanoTime() - start;
+            kinds[played++] = kind;
+
+            if (!result.isSuccess()) {
+                failed++;
+            }
+        }
+
+        /**
+         * Pick a kind of command, according to the weights in the mix.
+         *
+         * @return The kind of command.
+         */
+        private CommandKind chooseKind() {
+            int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+            int pick = random.nextInt(total);
+
+            for (var entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    return entry.getKey();
+                }
+            }
+            return CommandKind.LOOK;
+        }
+
+        /**
+         * Build a command of the chosen kind that makes sense where the bot currently is.
+         * (When nothing fits, e.g. nothing to drop, the bot looks around instead.)
+         *
+         * @param kind The kind of command.
+         * @return The command line.
+         */
+        private String chooseCommand(CommandKind kind) {
+            final int roomId = controller.getPlayerService().getCurrentRoomId();
+            final List<Item> roomItems = controller.getRoomService().isRoomPresent(roomId)
+                    ? controller.getRoomService().getRoomFromID(roomId).getItemList()
+                    : List.of(); // On the map, but nobody has written the room yet.
+            final List<Item> inventory = controller.getPlayerService().getPlayer().getItemList();
+
+            return switch (kind) {
+                case MOVE -> {
+                    List<Direction> exits = controller.getMapService().getExitDirections(roomId);
+                    yield exits.isEmpty() ? "LOOK" : pick(exits).getLongName();
+                }
+                case TAKE -> roomItems.isEmpty() ? "LOOK" : "TAKE " + aliasOf(pick(roomItems));
+                case DROP -> inventory.isEmpty() ? "LOOK" : "DROP " + aliasOf(pick(inventory));
+                case LOOK -> random.nextBoolean() ? "LOOK" : "I";
+                case INTERACT -> {
+                    List<Item> items = new ArrayList<>(roomItems);
+                    items.addAll(inventory);
+                    yield items.isEmpty()
+                            ? "LOOK"
+                            : pick(Arrays.asList(INTERACTIONS)) + " " + aliasOf(pick(items));
+                }
+                case TELEPORT -> "T " + roomIds[random.nextInt(roomIds.length)];
+            };
+        }
+
+        /**
+         * Pick a random element of a list.
+         *
+         * @param list The list (not empty).
+         * @param <T>  The element type.
+         * @return A random element.
+         */
+        private <T> T pick(List<T> list) {
+            return list.get(random.nextInt(list.size()));
+        }
+
+        /**
+         * Get an alias the parser can handle (one without spaces, if there is one).
+         *
+         * @param item The item.
+         * @return The alias.
+         */
+        private String aliasOf(Item item) {
+            List<String> aliases = item.getItemAliases();
+            return aliases.stream().filter(alias -> !alias.contains(" ")).findFirst().orElse(aliases.getFirst());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.service.Service_Item;
+import objectAdventure.core.item.Item;
+import objectAdventure.core.item.ItemLocationIndex;
+import objectAdventure.core.player.Player;
+import objectAdventure.core.room.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures TAKE/DROP throughput as more and more players fight over the same few items in one
+ * room, and checks that no item is ever duplicated or lost along the way.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.ItemContentionBenchmark [items] [seconds]}
+ * (default: 4 items, 1 second per round).</p>
+ */
+public final class ItemContentionBenchmark {
+
+    // The numbers of players per room to test.
+    private static final int[] PLAYER_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private ItemContentionBenchmark() {
+    }
+
+    /**
+     * Run one round per player count.
+     *
+     * @param args [items] [seconds per round]
+     * @throws InterruptedException if interrupted while waiting for players.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+
+        for (int playerCount : PLAYER_COUNTS) {
+            run(playerCount, itemCount, (long) (seconds * 1e9));
+        }
+    }
+
+    /**
+     * Have each player repeatedly take a random item from the room and drop it again.
+     *
+     * @param playerCount The number of players in the room.
+     * @param itemCount   The number of items in the room.
+     * @param nanos       How long to run for.
+     * @throws InterruptedException if interrupted while waiting for players.
+     */
+    private static void run(int playerCount, int itemCount, long nanos) throws InterruptedException {
+        var index = new ItemLocationIndex();
+        var itemService = new Service_Item(index);
+
+        var room = new BenchRoom();
+        for (int i = 0; i < itemCount; i++) {
+            room.addItem(new BenchItem(i));
+        }
+        room.attachItemLocationIndex(index);
+
+        LongAdder transfers = new LongAdder();
+        LongAdder missed = new LongAdder();
+        CountDownLatch done = new CountDownLatch(playerCount);
+        List<Player> players = new ArrayList<>();
+
+        final long deadline = System.nanoTime() + nanos;
+        for (int p = 0; p < playerCount; p++) {
+            var player = new Player("Bench-" + p);
+            player.attachItemLocationIndex(index);
+            players.add(player);
+
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        List<Item> visible = room.getItemList();
+                        if (visible.isEmpty()) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+
+                        Item item = visible.get(random.nextInt(visible.size()));
+                        if (itemService.transferItem(room, player, item)) {
+                            itemService.transferItem(player, room, item);
+                            transfers.add(2);
+                        } else {
+                            missed.increment();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+
+        // Every item must be in exactly one place, and the index must agree.
+        int held = room.getItemList().size() + players.stream().mapToInt(p -> p.getItemList().size()).sum();
+        boolean consistent = held == itemCount && index.size() == itemCount
+                             && room.getItemList().stream().allMatch(item -> index.getContainer(item).orElse(null) == room);
+
+        System.out.printf("Players: %3d  Items: %d  Transfers: %,12.0f/s  Lost races: %,11.0f/s  Consistent: %s%n",
+                          playerCount, itemCount, transfers.sum() / (nanos / 1e9),
+                          missed.sum() / (nanos / 1e9), consistent);
+    }
+
+    /**
+     * The room everyone is fighting in.
+     */
+    private static final class BenchRoom extends Room {
+        private BenchRoom() {
+            super(0, "Bench Room");
+        }
+    }
+
+    /**
+     * A plain item, equal only to itself.
+     */
+    private static final class BenchItem implements Item {
+        private final int id;
+
+        private BenchItem(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getItemFullDescription() {
+            return "Benchmark item #" + id;
+        }
+
+        @Override
+        public String getItemDisplayName() {
+            return "Item-" + id;
+        }
+    }
+}
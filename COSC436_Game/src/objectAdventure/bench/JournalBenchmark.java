@@ -0,0 +1,95 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.CommandResult;
+import objectAdventure.core.persist.CommandJournal;
+import objectAdventure.core.persist.CommandJournal.FsyncPolicy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Measures how many commands a second the {@link CommandJournal} can record under each
+ * {@link FsyncPolicy}, with one and with many players sending commands at once. With
+ * {@link FsyncPolicy#COMMIT}, the more players there are, the more commands share each
+ * flush to disk (group commit).
+ *
+ * <p>Usage: {@code java objectAdventure.bench.JournalBenchmark [seconds] [threads...]}
+ * (defaults: 2 seconds, and 1, 4, 16 and 64 threads).</p>
+ */
+public final class JournalBenchmark {
+
+    private static final CommandResult TAKEN = CommandResult.text(CommandResult.Kind.ITEM_TAKEN, "Taken.");
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private JournalBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args [seconds] [threads...]
+     * @throws IOException          if the journal cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the players.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int[] threadCounts = args.length > 1
+                             ? Stream.of(args).skip(1).mapToInt(Integer::parseInt).toArray()
+                             : new int[]{1, 4, 16, 64};
+
+        System.out.printf("%-10s %8s %16s%n", "Fsync", "Threads", "Commands/s");
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            for (int threads : threadCounts) {
+                System.out.printf("%-10s %8d %,16.0f%n", policy, threads, run(policy, threads, seconds));
+            }
+        }
+    }
+
+    /**
+     * Record commands from several threads for a while.
+     *
+     * @param policy  When the journal is flushed to disk.
+     * @param threads The number of players sending commands.
+     * @param seconds How long to run for.
+     * @return The number of commands recorded a second.
+     * @throws IOException          if the journal cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the players.
+     */
+    private static double run(FsyncPolicy policy, int threads, int seconds) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("objectAdventure");
+        Path file = directory.resolve("bench.sav");
+        try {
+            LongAdder commands = new LongAdder();
+            CountDownLatch done = new CountDownLatch(threads);
+            long start;
+            try (CommandJournal journal = new CommandJournal(file, 1, policy)) {
+                start = System.nanoTime();
+                final long end = start + TimeUnit.SECONDS.toNanos(seconds);
+                for (int i = 0; i < threads; i++) {
+                    final String name = "Bench-" + i;
+                    Thread.ofPlatform().start(() -> {
+                        while (System.nanoTime() < end) {
+                            journal.record(name, "TAKE MAP", () -> TAKEN);
+                            commands.increment();
+                        }
+                        done.countDown();
+                    });
+                }
+                done.await();
+            }
+            return commands.sum() / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : files.toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.map.RoomList;
+import objectAdventure.core.persist.GameSnapshot;
+import objectAdventure.core.persist.SaveGame;
+import objectAdventure.core.persist.SnapshotCodec;
+import objectAdventure.core.player.Player;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures saving and restoring a game ({@link SaveGame}): how long a snapshot takes (the item
+ * locks are only held for part of it), how long it takes to encode and how big it is, and how
+ * long restoring it takes compared with building the world from the room classes.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.SaveGameBenchmark [players] [rounds]}
+ * (defaults: 10,000 and 20).</p>
+ */
+public final class SaveGameBenchmark {
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private SaveGameBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args [players] [rounds]
+     * @throws IOException if the save file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // Room construction logs every room added; that is not what is being measured.
+        Logger.getGlobal().setLevel(Level.WARNING);
+
+        Path directory = Files.createTempDirectory("objectAdventure");
+        Path file = directory.resolve("bench.sav");
+        try {
+            // A world full of players, to save.
+            RoomList world = RoomList.newTemplate();
+            SaveGame saveGame = SaveGame.open(file, world);
+            for (int i = 0; i < playerCount; i++) {
+                Player player = new Player("Bench-" + i);
+                saveGame.join(player);
+                new GameController(player, world);
+            }
+
+            double captureMicros = 0;
+            double encodeMicros = 0;
+            int size = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                GameSnapshot snapshot = saveGame.capture();
+                captureMicros += (System.nanoTime() - start) / 1e3 / rounds;
+
+                var bytes = new ByteArrayOutputStream();
+                start = System.nanoTime();
+                SnapshotCodec.write(snapshot, bytes);
+                encodeMicros += (System.nanoTime() - start) / 1e3 / rounds;
+                size = bytes.size();
+            }
+            saveGame.save();
+
+            // Building the world, compared with restoring the save into a built world.
+            double buildMicros = 0;
+            double restoreMicros = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                RoomList fresh = RoomList.newTemplate();
+                buildMicros += (System.nanoTime() - start) / 1e3 / rounds;
+
+                start = System.nanoTime();
+                SaveGame.open(file, fresh);
+                restoreMicros += (System.nanoTime() - start) / 1e3 / rounds;
+            }
+
+            System.out.printf("Players: %,d  Rounds: %,d%n", playerCount, rounds);
+            System.out.printf("Snapshot:              %,10.1f us%n", captureMicros);
+            System.out.printf("Encode:                %,10.1f us  (%,d bytes, %.1f bytes/player)%n",
+                              encodeMicros, size, (double) size / Math.max(1, playerCount));
+            System.out.printf("Build world:           %,10.1f us%n", buildMicros);
+            System.out.printf("Read + restore:        %,10.1f us%n", restoreMicros);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+}
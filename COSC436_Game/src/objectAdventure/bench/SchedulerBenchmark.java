@@ -0,0 +1,115 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.schedule.GameScheduler;
+import objectAdventure.core.schedule.ScheduledEvent;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link GameScheduler}: the cost of scheduling and cancelling millions of
+ * pending events, the heap they occupy, and how late short events actually run.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.SchedulerBenchmark [events] [fired events]}
+ * (default: 2,000,000 pending events, 100,000 fired events).</p>
+ */
+public final class SchedulerBenchmark {
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private SchedulerBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args [events] [fired events]
+     * @throws InterruptedException if interrupted while waiting for events to fire.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int firedCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        try (var scheduler = new GameScheduler(GameScheduler.DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                                               GameScheduler.DEFAULT_WHEEL_SIZE)) {
+            measurePending(scheduler, eventCount);
+            measureLateness(scheduler, firedCount);
+        }
+    }
+
+    /**
+     * Schedule many far-off events, then cancel them all.
+     *
+     * @param scheduler  The scheduler.
+     * @param eventCount The number of events.
+     */
+    private static void measurePending(GameScheduler scheduler, int eventCount) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(436);
+        ScheduledEvent[] events = new ScheduledEvent[eventCount];
+        Runnable task = () -> { };
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < eventCount; i++) {
+            // Between one minute and one hour away, so none fire during the test.
+            events[i] = scheduler.schedule(task, random.nextLong(60_000, 3_600_000), TimeUnit.MILLISECONDS);
+        }
+        double scheduleNanos = (double) (System.nanoTime() - start) / eventCount;
+
+        // Give the scheduler thread a couple of ticks to move them all into the wheel.
+        Thread.sleep(3 * GameScheduler.DEFAULT_TICK_MILLIS);
+        long heapPerEvent = (usedHeap() - heapBefore) / eventCount;
+
+        start = System.nanoTime();
+        for (ScheduledEvent event : events) {
+            event.cancel();
+        }
+        double cancelNanos = (double) (System.nanoTime() - start) / eventCount;
+
+        System.out.printf("Pending events: %,d  Schedule: %.0f ns/event  Cancel: %.0f ns/event  "
+                          + "Heap: %,d bytes/event  Still pending after cancel: %,d%n",
+                          eventCount, scheduleNanos, cancelNanos, heapPerEvent, scheduler.getPendingCount());
+    }
+
+    /**
+     * Schedule many events a short time away, and record how late each one runs.
+     *
+     * @param scheduler  The scheduler.
+     * @param firedCount The number of events.
+     * @throws InterruptedException if interrupted while waiting for the events.
+     */
+    private static void measureLateness(GameScheduler scheduler, int firedCount) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(716);
+        long[] lateness = new long[firedCount];
+        CountDownLatch fired = new CountDownLatch(firedCount);
+
+        for (int i = 0; i < firedCount; i++) {
+            final int index = i;
+            final long delayMillis = random.nextLong(200, 2_000);
+            final long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+
+            scheduler.schedule(() -> {
+                lateness[index] = System.nanoTime() - due;
+                fired.countDown();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+        fired.await();
+
+        Arrays.sort(lateness);
+        System.out.printf("Fired events: %,d  Lateness (ms): min=%.1f p50=%.1f p99=%.1f max=%.1f%n",
+                          firedCount, lateness[0] / 1e6, lateness[firedCount / 2] / 1e6,
+                          lateness[(int) (firedCount * 0.99)] / 1e6, lateness[firedCount - 1] / 1e6);
+    }
+
+    /**
+     * Get the heap in use after a full collection.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,159 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.CommandInterpreter;
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.LineSource;
+import objectAdventure.core.command.UserInputLoop;
+import objectAdventure.core.player.Player;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how many blocking-style sessions (one virtual thread each) a single JVM can hold,
+ * how much heap each one costs while parked waiting for input, and how quickly they respond.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.VirtualSessionBenchmark [sessions...]}
+ * (default: 1,000 10,000 50,000).</p>
+ */
+public final class VirtualSessionBenchmark {
+
+    // The session prompt; a response is complete once this has been written.
+    private static final String PROMPT = "[Enter Command]: ";
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private VirtualSessionBenchmark() {
+    }
+
+    /**
+     * Run the benchmark for each requested session count.
+     *
+     * @param args The session counts to test.
+     * @throws InterruptedException if interrupted while waiting for sessions.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int[] sessionCounts = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 10_000, 50_000};
+
+        for (int sessionCount : sessionCounts) {
+            run(sessionCount);
+        }
+    }
+
+    /**
+     * Start the sessions, measure the parked heap cost, then time one command per session.
+     *
+     * @param sessionCount The number of sessions to run.
+     * @throws InterruptedException if interrupted while waiting for sessions.
+     */
+    private static void run(int sessionCount) throws InterruptedException {
+        final long heapBefore = usedHeap();
+
+        List<BenchSession> sessions = new ArrayList<>(sessionCount);
+        CountDownLatch prompted = new CountDownLatch(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new BenchSession(i, prompted));
+        }
+        prompted.await(); // Every session is now parked waiting for its first line.
+
+        final long heapPerSession = (usedHeap() - heapBefore) / sessionCount;
+
+        // Send one command to every session and wait for all of the responses.
+        CountDownLatch responded = new CountDownLatch(sessionCount);
+        final long start = System.nanoTime();
+        sessions.forEach(session -> session.send("look", responded));
+        responded.await();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = sessions.stream().mapToLong(session -> session.latency).sorted().toArray();
+        System.out.printf("Sessions: %,7d  Heap/session: %,6d bytes  Throughput: %,9.0f commands/s  "
+                          + "Latency (ms): p50=%.2f p99=%.2f max=%.2f%n",
+                          sessionCount, heapPerSession, sessionCount / seconds,
+                          latencies[latencies.length / 2] / 1e6,
+                          latencies[(int) (latencies.length * 0.99)] / 1e6,
+                          latencies[latencies.length - 1] / 1e6);
+
+        // Tell every session to quit, and wait for the threads to finish.
+        sessions.forEach(BenchSession::quit);
+        for (BenchSession session : sessions) {
+            session.thread.join();
+        }
+    }
+
+    /**
+     * Get the heap in use after a full collection.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * One scripted session: input comes from a queue, and output is only inspected for the prompt.
+     */
+    private static final class BenchSession implements LineSource, Appendable {
+
+        private final BlockingQueue<String> input = new ArrayBlockingQueue<>(2);
+        private final Thread thread;
+
+        private volatile CountDownLatch waiting;
+        private volatile long sentAt;
+        private volatile long latency;
+
+        private BenchSession(int id, CountDownLatch prompted) {
+            this.waiting = prompted;
+            var controller = new GameController(new Player("Bench-" + id));
+            this.thread = UserInputLoop.startVirtualSession(String.valueOf(id),
+                                                            new CommandInterpreter(controller),
+                                                            this, this);
+        }
+
+        private void send(String line, CountDownLatch responded) {
+            waiting = responded;
+            sentAt = System.nanoTime();
+            input.add(line);
+        }
+
+        private void quit() {
+            input.add("QUIT");
+        }
+
+        @Override
+        public String readLine() throws InterruptedIOException {
+            try {
+                return input.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ex.getMessage());
+            }
+        }
+
+        @Override
+        public Appendable append(CharSequence text) {
+            if (text.toString().endsWith(PROMPT)) {
+                latency = System.nanoTime() - sentAt;
+                waiting.countDown();
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence text, int start, int end) {
+            return append(text.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return this;
+        }
+    }
+}
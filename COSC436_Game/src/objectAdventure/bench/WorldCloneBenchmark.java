@@ -0,0 +1,97 @@
+package objectAdventure.bench;
+
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.item.Item;
+import objectAdventure.core.map.RoomList;
+import objectAdventure.core.player.Player;
+import objectAdventure.core.room.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compares the cost of building a world from scratch ({@link RoomList#newTemplate()}) with
+ * cloning one from a template ({@link RoomList#cloneWorld()}), and checks that clones are
+ * isolated from each other.
+ *
+ * <p>Usage: {@code java objectAdventure.bench.WorldCloneBenchmark [worlds]}
+ * (default: 10,000).</p>
+ */
+public final class WorldCloneBenchmark {
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private WorldCloneBenchmark() {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args [worlds]
+     */
+    public static void main(String[] args) {
+        int worldCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        // Room construction logs every room added; that is not what is being measured.
+        Logger.getGlobal().setLevel(Level.WARNING);
+
+        RoomList template = RoomList.newTemplate();
+
+        // Build from scratch (fewer of these, as they are much slower).
+        int buildCount = Math.max(1, worldCount / 10);
+        long start = System.nanoTime();
+        for (int i = 0; i < buildCount; i++) {
+            RoomList.newTemplate();
+        }
+        double buildMicros = (System.nanoTime() - start) / 1e3 / buildCount;
+
+        // Clone only.
+        start = System.nanoTime();
+        for (int i = 0; i < worldCount; i++) {
+            template.cloneWorld();
+        }
+        double cloneOnlyMicros = (System.nanoTime() - start) / 1e3 / worldCount;
+
+        // Clone, and start a game in each clone (which visits the starting room).
+        List<RoomList> worlds = new ArrayList<>(worldCount);
+        start = System.nanoTime();
+        for (int i = 0; i < worldCount; i++) {
+            RoomList world = template.cloneWorld();
+            new GameController(new Player("Bench-" + i), world);
+            worlds.add(world);
+        }
+        double cloneMicros = (System.nanoTime() - start) / 1e3 / worldCount;
+
+        System.out.printf("Build from scratch: %,10.2f us/world (%,d worlds)%n", buildMicros, buildCount);
+        System.out.printf("Clone only:         %,10.2f us/world (%,d worlds)%n", cloneOnlyMicros, worldCount);
+        System.out.printf("Clone + new game:   %,10.2f us/world (%,d worlds)%n", cloneMicros, worldCount);
+        System.out.printf("Worlds isolated:    %s%n", checkIsolation(template));
+    }
+
+    /**
+     * Take every item out of the starting room in one clone, and make sure neither the
+     * template nor a sibling clone notices.
+     *
+     * @param template The template world.
+     * @return true if the worlds are isolated, false otherwise.
+     */
+    private static boolean checkIsolation(RoomList template) {
+        RoomList first = template.cloneWorld();
+        RoomList second = template.cloneWorld();
+
+        Room firstLobby = first.getRoomFromID(0).orElseThrow();
+        int itemCount = template.getRoomFromID(0).orElseThrow().getItemList().size();
+
+        Player player = new Player("Isolation");
+        for (Item item : firstLobby.getItemList()) {
+            firstLobby.removeItem(item);
+            player.addItem(item);
+        }
+
+        return firstLobby.getItemList().isEmpty()
+               && template.getRoomFromID(0).orElseThrow().getItemList().size() == itemCount
+               && second.getRoomFromID(0).orElseThrow().getItemList().size() == itemCount
+               && second.getItemLocationIndex().size() == template.getItemLocationIndex().size();
+    }
+}
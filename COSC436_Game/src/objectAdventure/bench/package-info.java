@@ -0,0 +1,8 @@
+/**
+ * Stand-alone benchmarks and load generators for the game engine.
+ *
+ * <p>Nothing in the game depends on this package. Each class has a {@code main} method and
+ * prints its own report; run them from the build output, e.g.
+ * {@code java -cp Game.jar objectAdventure.bench.VirtualSessionBenchmark}.</p>
+ */
+package objectAdventure.bench;
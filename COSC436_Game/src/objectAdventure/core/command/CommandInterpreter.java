@@ -17,12 +17,26 @@ import java.util.Optional;
 public record CommandInterpreter(GameController getController) {
 
     /**
-     * Parse player input.
+     * Parse player input, and render the result as text for the player.
      *
      * @param inputLine The line typed by the user
      * @return An {@link Optional} containing the response string resulting from the command execution.
+     * @see #executeCommand(String)
      */
     public Optional<String> processCommand(final String inputLine) {
+        return executeCommand(inputLine).map(CommandResult::render)
+                                        .filter(response -> !response.isEmpty());
+    }
+
+    /**
+     * Parse and execute player input, without building any text. (For players that read the
+     * structured result rather than the text, such as bots.)
+     *
+     * @param inputLine The line typed by the user
+     * @return An {@link Optional} containing the result of the command execution, or empty if
+     * the line held no command.
+     */
+    public Optional<CommandResult> executeCommand(final String inputLine) {
         // Bail out if null
         if (inputLine == null) {
             return Optional.empty();
@@ -42,11 +56,12 @@ public record CommandInterpreter(GameController getController) {
         // Process command
         if (tokenizedInput.isPresent()) {
             PlayerCommand playerCommand = tokenizedInput.get();
-            return processCommand(playerCommand);
+            return executeCommand(playerCommand);
         } else {
             return Optional.empty();
         }
     }
+
     /**
      * Processes a command issued by the player using the Chain of Responsibility pattern.
      * The method delegates to the GameController's command chain to handleNext the command
@@ -55,12 +70,9 @@ public record CommandInterpreter(GameController getController) {
      *
      * @param playerCommand The command issued by the player. Contains the verb and noun extracted
      *                      from the player's input.
-     * @return An {@link Optional} containing the response string resulting from the command execution.
-     * If the command does not produce a text response (e.g., movement commands), the Optional
-     * will be empty.
+     * @return An {@link Optional} containing the result of the command execution.
      */
-    private Optional<String> processCommand(final PlayerCommand playerCommand) {
-        return getController.processCommand(playerCommand)
-                            .filter(response -> !response.isEmpty());
+    private Optional<CommandResult> executeCommand(final PlayerCommand playerCommand) {
+        return getController.processCommand(playerCommand);
     }
 }
@@ -0,0 +1,271 @@
+package objectAdventure.core.command;
+
+import objectAdventure.core.item.Item;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a command: what kind of thing happened, the item and room involved (if any),
+ * and a message for the player.
+ *
+ * <p>The message is kept as a template and its arguments (or a function producing the text) and
+ * is only formatted when {@link #render()} is called, i.e. when there is a person to show it to.
+ * A bot or a test can act on the kind, item, and room alone, and never pays for building the
+ * text. Rendering uses the state of the game at the time of rendering, so a session that shows
+ * the text renders it straight away.</p>
+ */
+public final class CommandResult {
+
+    /**
+     * What kind of thing a command did.
+     */
+    public enum Kind {
+        /** Nothing to report. */
+        NONE(true, false),
+        /** The player moved to another room. */
+        MOVED(true, true),
+        /** The player tried to move, but there was no way through. */
+        BLOCKED(false, false),
+        /** The player looked at the room or at items. */
+        LOOKED(true, false),
+        /** The player picked something up. */
+        ITEM_TAKEN(true, true),
+        /** The player put something down. */
+        ITEM_DROPPED(true, true),
+        /** The player interacted with an item (use, examine, etc.). */
+        ITEM_USED(true, true),
+        /** The player checked their inventory. */
+        INVENTORY(true, false),
+        /** The player teleported. */
+        TELEPORTED(true, true),
+        /** The player located items in the world. */
+        LOCATED(true, false),
+        /** The player said something to the others in the room. */
+        SPOKE(true, false),
+        /** The player asked for help. */
+        HELP(true, false),
+        /** The player asked for debugging information. */
+        DEBUG(true, false),
+        /** The player changed a game setting. */
+        SETTING_CHANGED(true, false),
+        /** The item (or place) the command named is not there. */
+        NOT_FOUND(false, false),
+        /** The command was understood, but could not be carried out. (Items may still remember being tried.) */
+        REFUSED(false, true),
+        /** The command was missing something (e.g. "take" without an item). */
+        INCOMPLETE(false, false),
+        /** The command was not understood. */
+        UNKNOWN(false, false),
+        /** The game itself is in a bad state (e.g. the player is in a room that does not exist). */
+        ERROR(false, false);
+
+        private final boolean success;
+        private final boolean changesWorld;
+
+        Kind(boolean success, boolean changesWorld) {
+            this.success = success;
+            this.changesWorld = changesWorld;
+        }
+
+        /**
+         * Does this kind of result mean the command did what the player asked?
+         *
+         * @return true for a success, false for a failure.
+         */
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * Can a command with this kind of result have changed the game (where the player is, where
+         * items are, or an item's state)? Only such commands need to be saved.
+         *
+         * @return true if the game may have changed, false if it certainly has not.
+         */
+        public boolean changesWorld() {
+            return changesWorld;
+        }
+    }
+
+    /**
+     * An empty result (no effect, no text).
+     */
+    public static final CommandResult NONE = text(Kind.NONE, "");
+
+    private final Kind kind;
+    private final Item item;
+    private final Integer roomId;
+    private final String template;
+    private final Object[] args; // null for fixed text
+    private final Supplier<String> renderer;
+    private final List<CommandResult> parts;
+
+    // The rendered text, once someone has asked for it.
+    private String text;
+
+    /**
+     * Private constructor; see the factory methods.
+     */
+    private CommandResult(Kind kind, Item item, Integer roomId, String template, Object[] args,
+                          Supplier<String> renderer, List<CommandResult> parts) {
+        this.kind = kind;
+        this.item = item;
+        this.roomId = roomId;
+        this.template = template;
+        this.args = args;
+        this.renderer = renderer;
+        this.parts = parts;
+    }
+
+    /**
+     * A result whose message is a format string and its arguments
+     * (see {@link String#format(String, Object...)}).
+     *
+     * @param kind     The kind of result.
+     * @param template The message template.
+     * @param args     The template arguments.
+     * @return The result.
+     */
+    public static CommandResult message(Kind kind, String template, Object... args) {
+        return new CommandResult(kind, null, null, template, args, null, List.of());
+    }
+
+    /**
+     * A result whose message is fixed text (never formatted, so it may contain '%').
+     *
+     * @param kind The kind of result.
+     * @param text The message.
+     * @return The result.
+     */
+    public static CommandResult text(Kind kind, String text) {
+        return new CommandResult(kind, null, null, text, null, null, List.of());
+    }
+
+    /**
+     * A result whose message is produced by a function, for text too involved for a template
+     * (room descriptions, inventories, etc.).
+     *
+     * @param kind     The kind of result.
+     * @param renderer Produces the message.
+     * @return The result.
+     */
+    public static CommandResult lazy(Kind kind, Supplier<String> renderer) {
+        return new CommandResult(kind, null, null, null, null, renderer, List.of());
+    }
+
+    /**
+     * A result made of several others (e.g. one per item for "take all"), whose messages are
+     * shown one per line.
+     *
+     * @param kind  The kind of the overall result.
+     * @param parts The individual results.
+     * @return The result.
+     */
+    public static CommandResult joined(Kind kind, List<CommandResult> parts) {
+        final List<CommandResult> copy = List.copyOf(parts);
+        return new CommandResult(kind, null, null, null, null,
+                                 () -> copy.stream().map(CommandResult::render).collect(Collectors.joining("\n")),
+                                 copy);
+    }
+
+    /**
+     * Get a copy of this result naming the item involved.
+     *
+     * @param item The item.
+     * @return The new result.
+     */
+    public CommandResult withItem(Item item) {
+        return new CommandResult(kind, item, roomId, template, args, renderer, parts);
+    }
+
+    /**
+     * Get a copy of this result naming the room involved.
+     *
+     * @param roomId The room ID.
+     * @return The new result.
+     */
+    public CommandResult withRoom(int roomId) {
+        return new CommandResult(kind, item, roomId, template, args, renderer, parts);
+    }
+
+    /**
+     * Get the kind of result.
+     *
+     * @return The kind of result.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Did the command do what the player asked?
+     *
+     * @return true for a success, false for a failure.
+     */
+    public boolean isSuccess() {
+        return kind.isSuccess();
+    }
+
+    /**
+     * Can the command have changed the game (see {@link Kind#changesWorld()})? A result made
+     * of several others has if any of them has.
+     *
+     * @return true if the game may have changed, false if it certainly has not.
+     */
+    public boolean changesWorld() {
+        return kind.changesWorld() || parts.stream().anyMatch(CommandResult::changesWorld);
+    }
+
+    /**
+     * Get the item involved, if any.
+     *
+     * @return The item, or an empty Optional.
+     */
+    public Optional<Item> getItem() {
+        return Optional.ofNullable(item);
+    }
+
+    /**
+     * Get the room involved (where the player went, or what they looked at), if any.
+     *
+     * @return The room ID, or an empty Optional.
+     */
+    public Optional<Integer> getRoomId() {
+        return Optional.ofNullable(roomId);
+    }
+
+    /**
+     * Get the individual results making up this one (see {@link #joined(Kind, List)}).
+     *
+     * @return The parts (empty for a simple result).
+     */
+    public List<CommandResult> getParts() {
+        return parts;
+    }
+
+    /**
+     * Build the message for the player. The text is built on the first call only.
+     *
+     * @return The message (possibly empty).
+     */
+    public String render() {
+        if (text == null) {
+            if (renderer != null) {
+                text = renderer.get();
+            } else if (args == null) {
+                text = template;
+            } else {
+                text = template.formatted(args);
+            }
+        }
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandResult{" + "kind=" + kind + ", item=" + item + ", roomId=" + roomId + "}";
+    }
+}
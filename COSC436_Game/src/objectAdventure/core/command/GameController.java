@@ -8,8 +8,8 @@ import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
 import objectAdventure.core.map.GameMap;
 import objectAdventure.core.map.RoomList;
+import objectAdventure.core.persist.CommandJournal;
 import objectAdventure.core.player.Player;
-import objectAdventure.core.room.SecretTestingRoom.SecretTestingRoom;
 
 import java.util.Optional;
 
@@ -29,21 +29,34 @@ public class GameController  {
     private final Service_Item itemService;
     private final Service_Map mapService;
 
+    // Where the player's commands that change the game are recorded (null if they are not).
+    private volatile CommandJournal journal;
+
     /**
-     * Constructor for the GameController.
+     * Constructor for the GameController, playing in the default (shared) world.
      *
      * @param player The player object.
      */
     public GameController(Player player) {
+        this(player, RoomList.newInstance());
+    }
+
+    /**
+     * Constructor for the GameController, playing in a specific world (see
+     * {@link RoomList#cloneWorld()}).
+     *
+     * @param player The player object.
+     * @param rooms  The world to play in.
+     */
+    public GameController(Player player, RoomList rooms) {
         // Initialize the GameController
         // Game state and interactions.
         GameMap gameMap = new GameMap();
-        RoomList rooms = RoomList.newInstance();
 
         // Initialize service classes
         this.playerService = new Service_Player(player);
         this.roomService = new Service_Room(rooms);
-        this.itemService = new Service_Item();
+        this.itemService = new Service_Item(rooms.getItemLocationIndex());
         this.mapService = new Service_Map(gameMap);
 
         // Initialize the Chain of Responsibility using Builder pattern
@@ -54,10 +67,13 @@ public class GameController  {
                                                  .addMapService(mapService)
                                                  .build();
 
-        player.setCurrentRoomId(0);
-
-        // Add the secret testing room to the room list
-        rooms.addRoom(SecretTestingRoom.newInstance(99, "Secret Testing Room"));
+        // Start in the lobby, unless the player already has a place in this world (e.g. one
+        // restored from a saved game).
+        if (!roomService.isRoomPresent(player.getCurrentRoomId())) {
+            player.setCurrentRoomId(0);
+        }
+        player.attachItemLocationIndex(rooms.getItemLocationIndex());
+        roomService.playerJoined(player);
     }
 
     /**
@@ -96,13 +112,32 @@ public class GameController  {
         return mapService;
     }
 
+    /**
+     * Gets the journal the player's commands are recorded in, if any.
+     *
+     * @return the journal, or an empty Optional
+     */
+    public Optional<CommandJournal> getJournal() {
+        return Optional.ofNullable(journal);
+    }
+
+    /**
+     * Sets the journal the player's commands that change the game are recorded in (see
+     * {@link objectAdventure.core.persist.SaveGame#getJournal()}).
+     *
+     * @param journal the journal
+     */
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
+    }
+
     /**
      * Processes a command using the Chain of Responsibility pattern.
      *
      * @param playerCommand The command to process
-     * @return An Optional containing the response string if handled, empty otherwise
+     * @return An Optional containing the result if handled, empty otherwise
      */
-    Optional<String> processCommand(PlayerCommand playerCommand) {
+    Optional<CommandResult> processCommand(PlayerCommand playerCommand) {
         if (playerCommand == null) {
             return Optional.empty();
         }
@@ -118,6 +153,6 @@ public class GameController  {
      * @return The manipulated input line.
      */
     String preProcessInput(String inputLine) {
-        return roomService.preProcessInput(inputLine, playerService.getCurrentRoomId());
+        return roomService.preProcessInput(inputLine, playerService.getPlayer());
     }
 }
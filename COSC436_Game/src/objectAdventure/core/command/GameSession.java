@@ -0,0 +1,272 @@
+package objectAdventure.core.command;
+
+import objectAdventure.core.item.Item;
+import objectAdventure.core.map.Direction;
+import objectAdventure.core.output.BufferedGameOutput;
+import objectAdventure.core.player.Player;
+import objectAdventure.core.room.NoSuchRoomException;
+import objectAdventure.core.room.Room;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static java.util.stream.Collectors.joining;
+import static objectAdventure.core.command.CommandResult.Kind.ERROR;
+import static objectAdventure.core.command.CommandResult.Kind.INCOMPLETE;
+
+/**
+ * A single player's conversation with the game, one line at a time.
+ *
+ * <p>A session does no I/O of its own: it produces the text to show before reading a line
+ * ({@link #getPrompt()}) and the text produced by a line ({@link #processLine(String)}), or just
+ * the structured result of a line ({@link #execute(String)}), for players nobody is reading. This
+ * lets the same session logic be driven by a blocking console loop ({@link UserInputLoop}) or
+ * by a non-blocking network server, where many sessions share one thread.</p>
+ *
+ * <p>The session gives its player a {@link BufferedGameOutput}, so anything written to the
+ * player while a command runs (by rooms, items, handlers) is returned along with the command's
+ * result, in one piece. Anything written between commands (by timed events) is announced
+ * through {@link #setAsyncOutputListener(Runnable)} and collected with
+ * {@link #drainOutput()}.</p>
+ */
+public final class GameSession {
+
+    private final CommandInterpreter commandInterpreter;
+    private final GameController controller;
+    private final BufferedGameOutput output = new BufferedGameOutput();
+
+    // The room the player was in when the last prompt was shown.
+    private int currentRoomId = Integer.MIN_VALUE;
+
+    // Set once the player has quit.
+    private boolean finished = false;
+
+    /**
+     * Constructor for the GameSession.
+     *
+     * @param commandInterpreter The command interpreter for this session's player.
+     */
+    public GameSession(CommandInterpreter commandInterpreter) {
+        this.commandInterpreter = commandInterpreter;
+        this.controller = commandInterpreter.getController();
+        this.controller.getPlayerService().getPlayer().setOutput(output);
+    }
+
+    /**
+     * Gets the controller for this session.
+     *
+     * @return The game controller.
+     */
+    public GameController getController() {
+        return controller;
+    }
+
+    /**
+     * Set the listener told when output for the player arrives between commands (e.g. from a
+     * timed event). The listener should arrange for {@link #drainOutput()} to be called.
+     *
+     * @param listener The listener (run on the writing thread, so it must be quick).
+     */
+    public void setAsyncOutputListener(Runnable listener) {
+        output.setAsyncOutputListener(listener);
+    }
+
+    /**
+     * Take any output for the player that arrived between commands.
+     *
+     * @return The pending output (possibly empty).
+     */
+    public String drainOutput() {
+        return output.drain();
+    }
+
+    /**
+     * Has the player quit the session?
+     *
+     * @return true if the session is over, false otherwise.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * End the session: the player leaves the game (and is no longer seen by other players), and
+     * the items they carry stop anything they were doing for them (see {@link Item#playerLeft}).
+     * Calling this more than once has no further effect.
+     */
+    public void leave() {
+        if (!finished) {
+            finished = true;
+            final Player player = controller.getPlayerService().getPlayer();
+            controller.getRoomService().playerLeft(player);
+            for (Item item : List.copyOf(player.getItemList())) {
+                item.playerLeft(player);
+            }
+        }
+    }
+
+    /**
+     * Build the text shown before reading the next line: the room description (only on room
+     * changes), followed by the room/exit banner and the command prompt.
+     *
+     * @return The prompt text.
+     */
+    public String getPrompt() {
+        StringBuilder sb = new StringBuilder();
+
+        // AJC_TODO: Keep a list of rooms visited to avoid long descriptions once seen.
+        // Show the room description only on room changes.
+        final int roomId = controller.getPlayerService().getCurrentRoomId();
+        if (roomId != currentRoomId) {
+            try {
+                sb.append(controller.getRoomService().getRoomFromID(roomId).getRoomDescription());
+            } catch (NoSuchRoomException ex) {
+                sb.append(ex.getMessage());
+            }
+            sb.append(System.lineSeparator());
+            currentRoomId = roomId;
+        }
+
+        // Build a string of the available exit directions.
+        List<Direction> exitDirections = controller.getMapService().getExitDirections(roomId);
+
+        sb.append(System.lineSeparator());
+
+        // Display/Prompt
+        try {
+            Room room = controller.getRoomService().getRoomFromID(roomId);
+            sb.append("=====> In Room %d: %s <=====%n".formatted(room.getRoomId(), room.getRoomName()));
+        } catch (NoSuchRoomException ex) {
+            sb.append("=====> In Room %d <=====%n".formatted(roomId));
+        }
+
+        sb.append("Exits: %s%n".formatted(
+                exitDirections
+                        .stream()
+                        .map(Direction::getLongName)
+                        .map(String::valueOf)
+                        .collect(joining(", "))));
+
+        sb.append("[Enter Command]: ");
+
+        return sb.toString();
+    }
+
+    /**
+     * Process one line of player input.
+     *
+     * @param line The raw line typed by the player.
+     * @return The text produced by the line (possibly empty).
+     */
+    public String processLine(String line) {
+        // Process the command, collecting anything written to the player along the way.
+        String result;
+        String sideOutput;
+        output.beginCommand();
+        try {
+            result = executeLine(line).render();
+        } finally {
+            sideOutput = output.endCommand();
+        }
+
+        return result.isBlank() ? sideOutput : sideOutput + result + System.lineSeparator();
+    }
+
+    /**
+     * Process one line of player input without building any text: the command's effects all
+     * happen, but its message is never rendered, and anything written to the player along the
+     * way is thrown away. (For players with nobody reading the text, such as bots.)
+     *
+     * @param line The raw line typed by the player.
+     * @return The result of the line.
+     */
+    public CommandResult execute(String line) {
+        output.beginCommand();
+        try {
+            return executeLine(line);
+        } finally {
+            output.endCommand();
+        }
+    }
+
+    /**
+     * Carry out one line of player input.
+     *
+     * @param line The raw line typed by the player.
+     * @return The result of the line.
+     */
+    private CommandResult executeLine(String line) {
+        final String inputLine = line.trim();
+
+        if (inputLine.isBlank()) {
+            return CommandResult.text(INCOMPLETE, "Type a command or direction, or 'help' ('?') for a list of commands.");
+        }
+
+        // Break out of the loop if the user is a quitter.
+        if ("q".equals(inputLine)) {
+            return CommandResult.text(INCOMPLETE, "Use an uppercase Q (or type \"quit\") to quit.");
+        }
+
+        // Break out of the loop if the user is a quitter.
+        if ("Q".equals(inputLine) || "QUIT".equalsIgnoreCase(inputLine)) {
+            // Quit without any further processing!
+            leave();
+            return CommandResult.NONE;
+        }
+
+        // Journal the command, if it changes the game (and the game is journaled).
+        final CommandResult result = controller.getJournal()
+                                               .map(journal -> journal.record(getPlayerName(), inputLine,
+                                                                              () -> interpret(inputLine)))
+                                               .orElseGet(() -> interpret(inputLine));
+
+        Logger.getGlobal().fine(this::getGameDebugInfo);
+
+        return result;
+    }
+
+    /**
+     * Run a (non-blank) line through the command interpreter.
+     *
+     * @param inputLine The trimmed line.
+     * @return The result of the line.
+     */
+    private CommandResult interpret(String inputLine) {
+        try {
+            return commandInterpreter.executeCommand(inputLine.toUpperCase())
+                                     .orElse(CommandResult.NONE);
+        } catch (NoSuchRoomException ex) {
+            return CommandResult.message(ERROR, "Invalid Room: %s", ex.getMessage());
+        }
+    }
+
+    /**
+     * Get the name of the session's player.
+     *
+     * @return The player's name.
+     */
+    private String getPlayerName() {
+        return controller.getPlayerService().getPlayer().getPlayerName();
+    }
+
+    /**
+     * Display the current info for the room and player.
+     *
+     * @return The debugging information for the current room and player.
+     */
+    private String getGameDebugInfo() {
+        final String roomInfo = controller.getRoomService()
+                                          .getRoomInfo(controller
+                                                               .getPlayerService()
+                                                               .getCurrentRoomId());
+
+        final Player player = controller.getPlayerService().getPlayer();
+
+        return """
+        Room Information:
+        %s
+        Player Information:
+        %s
+        """.formatted(roomInfo, player);
+    }
+}
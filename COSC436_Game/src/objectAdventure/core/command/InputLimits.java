@@ -0,0 +1,69 @@
+package objectAdventure.core.command;
+
+/**
+ * How much input a session may send: the command rate and burst allowed (see
+ * {@link TokenBucket}), how many lines may wait for their turn, and what happens to lines
+ * arriving when that many are already waiting.
+ *
+ * @param commandsPerSecond The sustained command rate ({@link Double#POSITIVE_INFINITY} for no limit).
+ * @param burst             The most commands that may be run back to back.
+ * @param queueCapacity     The most lines that may wait to be run.
+ * @param policy            What to do with a line when the queue is full.
+ */
+public record InputLimits(double commandsPerSecond, int burst, int queueCapacity, Policy policy) {
+
+    /**
+     * No limits: every line is run as soon as it arrives.
+     */
+    public static final InputLimits UNLIMITED =
+            new InputLimits(Double.POSITIVE_INFINITY, Integer.MAX_VALUE, Integer.MAX_VALUE, Policy.PARK);
+
+    /**
+     * The limits for a networked session: far more than anyone can type, far less than a script
+     * can send.
+     */
+    public static final InputLimits SERVER_DEFAULT = new InputLimits(20, 40, 32, Policy.PARK);
+
+    /**
+     * What to do with input that arrives when a session's queue is full.
+     */
+    public enum Policy {
+        /**
+         * Throw the line away (and tell the player).
+         */
+        DROP,
+
+        /**
+         * Stop reading from the player until there is room, so the backlog stays with the sender.
+         */
+        PARK
+    }
+
+    /**
+     * Limits for a session reading from a blocking source, which waits for each command's turn.
+     *
+     * @param commandsPerSecond The command rate.
+     * @return The limits.
+     */
+    public static InputLimits perSecond(double commandsPerSecond) {
+        return new InputLimits(commandsPerSecond, (int) Math.max(1, commandsPerSecond), 1, Policy.PARK);
+    }
+
+    /**
+     * Is the command rate unlimited?
+     *
+     * @return true if there is no rate limit.
+     */
+    public boolean isUnlimited() {
+        return Double.isInfinite(commandsPerSecond);
+    }
+
+    /**
+     * Create a token bucket enforcing these limits.
+     *
+     * @return A new bucket, or null if the rate is unlimited.
+     */
+    public TokenBucket newTokenBucket() {
+        return isUnlimited() ? null : new TokenBucket(commandsPerSecond, burst);
+    }
+}
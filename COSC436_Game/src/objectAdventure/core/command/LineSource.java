@@ -0,0 +1,20 @@
+package objectAdventure.core.command;
+
+import java.io.IOException;
+
+/**
+ * A source of player input lines, such as a console, a socket, or a scripted bot.
+ *
+ * <p>Any blocking line reader will do; for example {@code bufferedReader::readLine}.</p>
+ */
+@FunctionalInterface
+public interface LineSource {
+
+    /**
+     * Read the next line of input, blocking until one is available.
+     *
+     * @return The next line, or null if the input is exhausted.
+     * @throws IOException if the input cannot be read.
+     */
+    String readLine() throws IOException;
+}
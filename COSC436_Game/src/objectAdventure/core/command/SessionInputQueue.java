@@ -0,0 +1,109 @@
+package objectAdventure.core.command;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The lines a session has received but not yet run, released no faster than its rate limit.
+ *
+ * <p>For sessions driven by a non-blocking server, where a client may send far more than it
+ * should in one go. The queue is bounded: when it is full, a {@link InputLimits.Policy#DROP}
+ * queue throws new lines away, while for a {@link InputLimits.Policy#PARK} queue the caller
+ * must stop reading (see {@link #isFull()}) until there is room again.</p>
+ *
+ * <p>Not thread-safe: used only by the thread serving the session.</p>
+ */
+public final class SessionInputQueue {
+
+    private final InputLimits limits;
+    private final TokenBucket tokenBucket; // null if unlimited
+    private final Queue<String> lines = new ArrayDeque<>();
+
+    private long droppedCount = 0;
+
+    /**
+     * Constructor for the SessionInputQueue.
+     *
+     * @param limits The session's input limits.
+     */
+    public SessionInputQueue(InputLimits limits) {
+        this.limits = limits;
+        this.tokenBucket = limits.newTokenBucket();
+    }
+
+    /**
+     * Add a line to the queue.
+     *
+     * @param line The line.
+     * @return true if the line was queued, false if the queue was full (and, under
+     * {@link InputLimits.Policy#DROP}, the line was dropped).
+     */
+    public boolean offer(String line) {
+        if (isFull()) {
+            droppedCount++;
+            return false;
+        }
+        lines.add(line);
+        return true;
+    }
+
+    /**
+     * Take the next line, if there is one and the rate limit allows it to run now.
+     *
+     * @return The line, or null.
+     */
+    public String poll() {
+        if (lines.isEmpty() || (tokenBucket != null && !tokenBucket.tryAcquire())) {
+            return null;
+        }
+        return lines.poll();
+    }
+
+    /**
+     * Get how long until the next line may run.
+     *
+     * @return The wait in nanoseconds (0 if it may run now), or -1 if the queue is empty.
+     */
+    public long nanosUntilReady() {
+        if (lines.isEmpty()) {
+            return -1;
+        }
+        return tokenBucket == null ? 0 : tokenBucket.nanosUntilAvailable();
+    }
+
+    /**
+     * Is the queue full?
+     *
+     * @return true if no more lines can be queued.
+     */
+    public boolean isFull() {
+        return lines.size() >= limits.queueCapacity();
+    }
+
+    /**
+     * Is the queue empty?
+     *
+     * @return true if no lines are waiting.
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Get the policy for lines arriving when the queue is full.
+     *
+     * @return The policy.
+     */
+    public InputLimits.Policy getPolicy() {
+        return limits.policy();
+    }
+
+    /**
+     * Get the number of lines turned away because the queue was full.
+     *
+     * @return The number of lines dropped.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,66 @@
+package objectAdventure.core.command;
+
+/**
+ * A token-bucket rate limiter: tokens drip into the bucket at a steady rate, up to its
+ * capacity, and each command must take one. A session may send a burst of up to the bucket's
+ * capacity at once, but no more than the drip rate over time.
+ *
+ * <p>Not thread-safe: each session owns its own bucket and uses it from one thread.</p>
+ */
+public final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructor for the TokenBucket. The bucket starts full.
+     *
+     * @param tokensPerSecond The rate tokens are added.
+     * @param capacity        The most tokens the bucket holds (the largest burst).
+     */
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        if (!(tokensPerSecond > 0) || capacity < 1) {
+            throw new IllegalArgumentException("Invalid rate limit: %s/s, burst %d".formatted(tokensPerSecond, capacity));
+        }
+        this.tokensPerNano = tokensPerSecond / 1e9;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take a token, if there is one.
+     *
+     * @return true if a token was taken, false if the bucket is empty.
+     */
+    public boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get how long until a token will be available.
+     *
+     * @return The wait in nanoseconds (0 if a token is available now).
+     */
+    public long nanosUntilAvailable() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Add the tokens that have dripped in since the last refill.
+     */
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
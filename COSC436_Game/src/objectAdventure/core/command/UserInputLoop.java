@@ -1,17 +1,13 @@
 package objectAdventure.core.command;
 
-import objectAdventure.core.map.Direction;
-import objectAdventure.core.player.Player;
-import objectAdventure.core.room.NoSuchRoomException;
-import objectAdventure.core.room.Room;
-
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Scanner;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static java.lang.System.err;
 import static java.lang.System.out;
-import static java.util.stream.Collectors.joining;
 
 /**
  * The UserInputLoop class handles the main user input loop.
@@ -31,123 +27,139 @@ public final class UserInputLoop {
     }
 
     /**
-     * The main user input loop. This can eventually be refactored into a more universal "command
-     * processor". But for now, we are only dealing with movement, so the input is only compass
-     * directions.
+     * The main user input loop, reading from a Scanner and writing to the console.
      *
      * @param commandInterpreter The command processor used for the input loop.
      * @param scanner            The scanner used in the input loop.
+     * @see #startInputLoop(CommandInterpreter, LineSource, Appendable)
      */
     public static void startInputLoop(CommandInterpreter commandInterpreter, Scanner scanner) {
-        int currentRoomId = java.lang.Integer.MIN_VALUE;
-
-        GameController controller = commandInterpreter.getController();
-
-        do {
-            // AJC_TODO: Keep a list of rooms visited to avoid long descriptions once seen.
-            // Show the room description only on room changes.
-            if (controller.getPlayerService().getCurrentRoomId() != currentRoomId) {
-                try {
-                    out.println(controller.getRoomService().getRoomFromID(controller.getPlayerService().getCurrentRoomId()).getRoomDescription());
-                } catch (NoSuchRoomException ex) {
-                    out.println(ex.getMessage());
-                }
-                currentRoomId = controller.getPlayerService().getCurrentRoomId();
-            }
-
-            // Prompt the user.
-            String inputLine = displayUserPrompt(controller, scanner);
-
-            if (inputLine.isBlank()) {
-                out.println("Type a command or direction, or 'help' ('?') for a list of commands.");
-                continue;
-            }
-
-            // Break out of the loop if the user is a quitter.
-            if ("q".equals(inputLine)) {
-                out.println("Use an uppercase Q (or type \"quit\") to quit.");
-                continue;
-            }
-
-            // Break out of the loop if the user is a quitter.
-            if ("Q".equals(inputLine) || "QUIT".equalsIgnoreCase(inputLine)) {
-                // Quit the loop without any further processing!
-                break;
-            }
-
-            // Process the command.
-            try {
-                var result = commandInterpreter.processCommand(inputLine.toUpperCase());
-                result.ifPresent(UserInputLoop::displayCommandResult);
-            } catch (NoSuchRoomException ex) {
-                err.printf("Invalid Room: %s%n", ex.getMessage());
-            }
-
-            Logger.getGlobal().fine(getGameDebugInfo(controller));
-        } while (true);  // A debatable practice but eliminates a bunch of nested (or cascading) "if" statements!
+        startInputLoop(commandInterpreter, scanner, InputLimits.UNLIMITED);
     }
 
     /**
-     * Display the result of the command, only if there is a result.
+     * The main user input loop, reading from a Scanner and writing to the console, with the
+     * command rate limited (e.g. for scripted input).
      *
-     * @param result The text result of the command.
+     * @param commandInterpreter The command processor used for the input loop.
+     * @param scanner            The scanner used in the input loop.
+     * @param limits             The input limits for the session.
+     * @see #startInputLoop(CommandInterpreter, LineSource, Appendable, InputLimits)
      */
-    private static void displayCommandResult(String result) {
-        if (result != null && !result.isBlank()) {
-            out.println(result);
-        }
+    public static void startInputLoop(CommandInterpreter commandInterpreter, Scanner scanner, InputLimits limits) {
+        startInputLoop(commandInterpreter, () -> scanner.hasNextLine() ? scanner.nextLine() : null, out, limits);
     }
 
     /**
-     * Display the user Prompt.
+     * The main user input loop, without input limits.
      *
-     * @param controller The game getController.
-     * @param input      The Scanner source for the input.
+     * @param commandInterpreter The command processor used for the input loop.
+     * @param input              The source of input lines.
+     * @param output             The destination for all game output.
+     * @throws UncheckedIOException if the input or output fails.
+     * @see #startInputLoop(CommandInterpreter, LineSource, Appendable, InputLimits)
      */
-    private static String displayUserPrompt(GameController controller, Scanner input) {
-        // Build a string of the available exit directions.
-        List<Direction> exitDirections = controller.getMapService().getExitDirections(controller.getPlayerService().getCurrentRoomId());
+    public static void startInputLoop(CommandInterpreter commandInterpreter, LineSource input, Appendable output) {
+        startInputLoop(commandInterpreter, input, output, InputLimits.UNLIMITED);
+    }
 
-        out.println();
+    /**
+     * The main user input loop. The per-line game logic lives in {@link GameSession}; this loop
+     * simply shows the session's prompt, reads a line, and shows the result until the player
+     * quits or the input is exhausted. Each command's output (result and next prompt) is
+     * written in a single append.
+     *
+     * <p>Output arriving while the loop waits for input (e.g. from a timed event) is written
+     * immediately, just as it would have been on the console.</p>
+     *
+     * <p>Commands beyond the rate limit either wait their turn ({@link InputLimits.Policy#PARK};
+     * as the loop reads nothing meanwhile, the backlog stays in the input) or are ignored
+     * ({@link InputLimits.Policy#DROP}).</p>
+     *
+     * @param commandInterpreter The command processor used for the input loop.
+     * @param input              The source of input lines.
+     * @param output             The destination for all game output.
+     * @param limits             The input limits for the session.
+     * @throws UncheckedIOException if the input or output fails.
+     */
+    public static void startInputLoop(CommandInterpreter commandInterpreter, LineSource input, Appendable output,
+                                      InputLimits limits) {
+        final GameSession session = new GameSession(commandInterpreter);
+        final TokenBucket tokenBucket = limits.newTokenBucket();
+
+        // Output may now come from two threads; never interleave them.
+        final Object outputLock = new Object();
+        session.setAsyncOutputListener(() -> {
+            synchronized (outputLock) {
+                try {
+                    output.append(session.drainOutput());
+                } catch (IOException ex) {
+                    Logger.getGlobal().log(Level.FINE, "Lost timed output: " + ex.getMessage());
+                }
+            }
+        });
 
-        // Display/Prompt
         try {
-            Room room = controller.getRoomService().getRoomFromID(controller.getPlayerService().getCurrentRoomId());
-            out.printf("=====> In Room %d: %s <=====%n", room.getRoomId(), room.getRoomName());
-        } catch (NoSuchRoomException ex) {
-            out.printf("=====> In Room %d <=====%n", controller.getPlayerService().getCurrentRoomId());
-        }
+            // Prompt the user.
+            String text = session.getPrompt();
 
-        out.printf("Exits: %s%n".formatted(
-                exitDirections
-                        .stream()
-                        .map(Direction::getLongName)
-                        .map(String::valueOf)
-                        .collect(joining(", "))));
+            while (true) {
+                synchronized (outputLock) {
+                    output.append(text);
+                }
 
-        out.print("[Enter Command]: ");
+                // Bail out if the user has quit, or the input is exhausted.
+                String inputLine = session.isFinished() ? null : input.readLine();
+                if (inputLine == null) {
+                    break;
+                }
+
+                // Wait for the line's turn, or ignore it, if it is over the rate limit.
+                if (tokenBucket != null && !tokenBucket.tryAcquire()) {
+                    if (limits.policy() == InputLimits.Policy.DROP) {
+                        text = "Too many commands; ignored '%s'.%n%s".formatted(inputLine, session.getPrompt());
+                        continue;
+                    }
+                    while (!tokenBucket.tryAcquire()) {
+                        LockSupport.parkNanos(tokenBucket.nanosUntilAvailable());
+                    }
+                }
 
-        return input.nextLine().trim();
+                // Process the line; show the result along with the next prompt.
+                text = session.processLine(inputLine);
+                if (!session.isFinished()) {
+                    text += session.getPrompt();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            session.leave();
+        }
     }
 
     /**
-     * Display the current info for the room and player.
+     * Start a session on its own virtual thread. Because a virtual thread blocked on input is
+     * parked rather than holding an OS thread, a single JVM can run tens of thousands of these
+     * blocking-style sessions at once.
      *
-     * @param controller The game getController containing the game state information,
+     * @param sessionName        The name of the session (used to name the thread).
+     * @param commandInterpreter The command processor for the session's player.
+     * @param input              The source of input lines.
+     * @param output             The destination for all game output.
+     * @return The (started) session thread.
      */
-    private static String getGameDebugInfo(GameController controller) {
-        final String roomInfo = controller.getRoomService()
-                                          .getRoomInfo(controller
-                                                               .getPlayerService()
-                                                               .getCurrentRoomId());
-
-        final Player player = controller.getPlayerService().getPlayer();
-
-        return """
-        Room Information:
-        %s
-        Player Information:
-        %s
-        """.formatted(roomInfo, player);
+    public static Thread startVirtualSession(String sessionName, CommandInterpreter commandInterpreter,
+                                             LineSource input, Appendable output) {
+        return Thread.ofVirtual()
+                     .name("Session-" + sessionName)
+                     .start(() -> {
+                         try {
+                             startInputLoop(commandInterpreter, input, output);
+                         } catch (UncheckedIOException ex) {
+                             Logger.getGlobal().log(Level.WARNING, "Session %s ended: %s"
+                                     .formatted(sessionName, ex.getMessage()));
+                         }
+                     });
     }
 }
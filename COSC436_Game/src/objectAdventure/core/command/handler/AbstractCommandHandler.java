@@ -1,6 +1,7 @@
 package objectAdventure.core.command.handler;
 // Chain of Responsibility pattern base handler
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 
 import java.util.Collection;
@@ -68,9 +69,9 @@ public abstract class AbstractCommandHandler {
      * Handles the command if this handler can process it, otherwise passes it to the next handler.
      *
      * @param playerCommand The command to be processed
-     * @return An Optional containing the response string if the command was handled, empty otherwise
+     * @return An Optional containing the result if the command was handled, empty otherwise
      */
-    public Optional<String> handleNext(PlayerCommand playerCommand) {
+    public Optional<CommandResult> handleNext(PlayerCommand playerCommand) {
         if (canHandle(playerCommand)) {
             return Optional.of(handleAction(playerCommand));
         } else if (nextHandler != null) {
@@ -92,9 +93,11 @@ public abstract class AbstractCommandHandler {
 
     /**
      * Processes the command. This method should only be called if canHandle returns true.
+     * The command's effects happen here; the text of the response is only built if the
+     * result is rendered.
      *
      * @param playerCommand The command to process
-     * @return The response string from processing the command
+     * @return The result of processing the command
      */
-    abstract String handleAction(PlayerCommand playerCommand);
+    abstract CommandResult handleAction(PlayerCommand playerCommand);
 }
@@ -48,8 +48,10 @@ public class CommandHandlerBuilder {
                 .setNext(new Handler_Take(playerService, roomService, itemService))
                 .setNext(new Handler_Drop(playerService, roomService, itemService))
                 .setNext(new Handler_Look(playerService, roomService))
+                .setNext(new Handler_Say(playerService, roomService))
                 .setNext(new Handler_Display(roomService, playerService))
-                .setNext(new Handler_Teleport(playerService, roomService, mapService))
+                .setNext(new Handler_Teleport(playerService, roomService, mapService, itemService))
+                .setNext(new Handler_Where(itemService))
                 .setNext(new Handler_Debug(roomService, playerService))
                 .setNext(new Handler_LoggerSettings())
                 .setNext(new Handler_ItemInteraction(playerService, roomService, itemService))
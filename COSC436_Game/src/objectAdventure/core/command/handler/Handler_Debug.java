@@ -1,9 +1,15 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
 
+import static objectAdventure.core.command.CommandResult.Kind.DEBUG;
+import static objectAdventure.core.command.CommandResult.Kind.UNKNOWN;
+import static objectAdventure.core.command.CommandResult.lazy;
+import static objectAdventure.core.command.CommandResult.message;
+
 /**
  * Handles debug commands issued by the player, allowing them to
  * access debugging information about the game state.
@@ -32,16 +38,17 @@ class Handler_Debug extends AbstractCommandHandler {
      * Handles debug commands by returning the requested debug information.
      *
      * @param playerCommand The debug command issued by the player
-     * @return A response string containing the requested debug information
+     * @return A result containing the requested debug information
      */
     @Override
-    protected String handleAction(PlayerCommand playerCommand) {
+    protected CommandResult handleAction(PlayerCommand playerCommand) {
         String noun = playerCommand.noun();
+        final int roomId = playerService.getCurrentRoomId();
 
         return switch (noun) {
-            case "ROOM" -> roomService.DEBUG_getFormattedRoomInfo(playerService.getCurrentRoomId(), playerService.getFormattedInventoryItemString());
-            case "MAP" -> roomService.DEBUG_getFormattedMapContents();
-            default -> "I don't know how to DEBUG %s.".formatted(noun);
+            case "ROOM" -> lazy(DEBUG, () -> roomService.DEBUG_getFormattedRoomInfo(roomId, playerService.getFormattedInventoryItemString()));
+            case "MAP" -> lazy(DEBUG, roomService::DEBUG_getFormattedMapContents);
+            default -> message(UNKNOWN, "I don't know how to DEBUG %s.", noun);
         };
     }
 }
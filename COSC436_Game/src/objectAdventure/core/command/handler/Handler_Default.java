@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 
 /**
@@ -36,8 +37,8 @@ class Handler_Default extends AbstractCommandHandler {
      * @return A helpful message suggesting the user try the help command
      */
     @Override
-    String handleAction(PlayerCommand playerCommand) {
+    CommandResult handleAction(PlayerCommand playerCommand) {
         final String tmplt = "I don't understand the command '%s'. Try 'help' or '?' for available commands.";
-        return String.format(tmplt, playerCommand.originalInput());
+        return CommandResult.message(CommandResult.Kind.UNKNOWN, tmplt, playerCommand.originalInput());
     }
 }
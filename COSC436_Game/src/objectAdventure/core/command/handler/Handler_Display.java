@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
@@ -34,17 +35,17 @@ class Handler_Display extends AbstractCommandHandler {
      * Handles display commands by showing the requested element.
      *
      * @param playerCommand The display command issued by the player
-     * @return A response string or empty string if no text response is needed
+     * @return The result (with no text if no text response is needed)
      */
     @Override
-    public String handleAction(PlayerCommand playerCommand) {
+    public CommandResult handleAction(PlayerCommand playerCommand) {
         String noun = playerCommand.noun();
 
         if ("ROOM".equalsIgnoreCase(noun)) {
             roomService.getRoomFromID(playerService.getCurrentRoomId()).displayRoomImage();
-            return ""; // No text response needed for image display
+            return CommandResult.NONE; // No text response needed for image display
         } else {
-            return "I don't know how to DISPLAY %s.".formatted(noun);
+            return CommandResult.message(CommandResult.Kind.UNKNOWN, "I don't know how to DISPLAY %s.", noun);
         }
     }
 }
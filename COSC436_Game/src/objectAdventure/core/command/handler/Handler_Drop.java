@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Item;
 import objectAdventure.core.command.service.Service_Player;
@@ -12,9 +13,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
-import static java.lang.String.format;
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.joined;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
 import static objectAdventure.core.item.ItemInteractionEventType.DROP;
 
 /**
@@ -53,17 +56,17 @@ class Handler_Drop extends AbstractCommandHandler {
      * and if found, attempts to drop it in the current room.
      *
      * @param playerCommand The player's input containing the item to drop.
-     * @return A string result of the drop action, either success or failure messages.
+     * @return The result of the drop action, either success or failure.
      */
-    public String handleAction(PlayerCommand playerCommand) {
+    public CommandResult handleAction(PlayerCommand playerCommand) {
         if (!roomService.isRoomPresent(playerService.getCurrentRoomId())) {
             Logger.getGlobal().warning("Player is not in a room, can't drop items.");
-            return "You can't drop items here!";
+            return text(ERROR, "You can't drop items here!");
         }
 
         if (playerCommand.noun().isBlank())
             // If no noun is provided, return a message indicating the need for a specific item
-            return "What do you want to drop?";
+            return text(INCOMPLETE, "What do you want to drop?");
         else if ("ALL".equalsIgnoreCase(playerCommand.noun()))
             // If the player wants to take all items, delegate to the takeAllItems method
             return dropAllItems(playerCommand);
@@ -78,9 +81,9 @@ class Handler_Drop extends AbstractCommandHandler {
      * It checks if the item exists in the player's inventory and processes the drop action.
      *
      * @param playerCommand The user's input containing the name of the item to drop.
-     * @return A String representing the result of the drop operation, with success or failure information.
+     * @return The result of the drop operation, with success or failure information.
      */
-    private String dropItem(PlayerCommand playerCommand) {
+    private CommandResult dropItem(PlayerCommand playerCommand) {
         // Fetch the item to drop using its alias from the player's inventory
         Collection<Item> itemList = playerService.getPlayer().getItemList();
         String noun = playerCommand.noun();
@@ -91,7 +94,7 @@ class Handler_Drop extends AbstractCommandHandler {
         // Attempt to drop the item or return an appropriate failure message
         return itemFromAlias
                 .map(item -> dropItem(item, playerCommand)) // If the item is found, proceed to drop it
-                .orElse(format("You don't have a '%s' to drop.", noun));
+                .orElseGet(() -> message(NOT_FOUND, "You don't have a '%s' to drop.", noun));
     }
 
 
@@ -101,9 +104,9 @@ class Handler_Drop extends AbstractCommandHandler {
      *
      * @param item          The item to drop from the player's inventory.
      * @param playerCommand The command issued by the player that initiated the drop.
-     * @return A string result of the drop operation, including success or failure messages.
+     * @return The result of the drop operation, including success or failure messages.
      */
-    private String dropItem(Item item, PlayerCommand playerCommand) {
+    private CommandResult dropItem(Item item, PlayerCommand playerCommand) {
         // Get the item's display name for use in messages
         String itemDisplayName = item.getItemDisplayName();
 
@@ -112,7 +115,7 @@ class Handler_Drop extends AbstractCommandHandler {
                 new ItemInteractionEvent(DROP, playerCommand, playerService.getPlayer())
         );
 
-        String responseMessage;
+        CommandResult response;
 
         // If the interaction was successful, proceed to transfer the item to the current room
         if (result.bSuccess()) {
@@ -126,19 +129,19 @@ class Handler_Drop extends AbstractCommandHandler {
             // Construct appropriate success or failure messages
             // (While many people will from on the use of nested ternary expressions, they are perfectly intelligible
             //  with proper line breaks and indentation.)
-            responseMessage = xfered
+            response = xfered
                     ? result.message().isBlank() // Use the interaction's custom message if provided
-                    ? format("You dropped the %s.", itemDisplayName)
-                    : result.message()
-                    : "You couldn't drop the item!"; // Transfer failed
+                    ? message(ITEM_DROPPED, "You dropped the %s.", itemDisplayName)
+                    : text(ITEM_DROPPED, result.message())
+                    : text(REFUSED, "You couldn't drop the item!"); // Transfer failed
         } else {
             // Construct a failure message if the interaction itself was unsuccessful
-            responseMessage = result.message().isBlank()
-                    ? format("You can't drop the %s.", itemDisplayName)
-                    : result.message();
+            response = result.message().isBlank()
+                    ? message(REFUSED, "You can't drop the %s.", itemDisplayName)
+                    : text(REFUSED, result.message());
         }
 
-        return responseMessage; // Return the final message to the player
+        return response.withItem(item); // Return the final result to the player
     }
 
     /**
@@ -146,20 +149,20 @@ class Handler_Drop extends AbstractCommandHandler {
      * by the player into the current room.
      *
      * @param playerCommand The command issued by the player to drop all items.
-     * @return A string result of the drop-all operation, including messages for each item dropped.
+     * @return The combined result of the drop-all operation, including one for each item dropped.
      */
-    public String dropAllItems(PlayerCommand playerCommand) {
+    public CommandResult dropAllItems(PlayerCommand playerCommand) {
         // Get a copy of the player's inventory as a list (to avoid concurrent modification)
         List<Item> itemList = new ArrayList<>(playerService.getPlayer().getItemList());
 
         // If the inventory is empty, return an appropriate message
         if (itemList.isEmpty()) {
-            return "You're not holding anything to drop.";
+            return text(NOT_FOUND, "You're not holding anything to drop.");
         } else {
-            // Attempt to drop each item one by one and collect drop action messages
-            return itemList.stream()
-                           .map(item -> dropItem(item, playerCommand)) // Process each item drop
-                           .collect(Collectors.joining("\n")); // Combine all messages into a single response
+            // Attempt to drop each item one by one and collect drop action results
+            return joined(ITEM_DROPPED, itemList.stream()
+                                                .map(item -> dropItem(item, playerCommand)) // Process each item drop
+                                                .toList()); // Combine all results into a single response
         }
     }
 }
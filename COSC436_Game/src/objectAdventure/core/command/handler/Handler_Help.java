@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.item.ItemInteractionEventType;
 
@@ -29,13 +30,16 @@ class Handler_Help extends AbstractCommandHandler {
                 Debugging:
                   Show Game Elements:
                     DEBUG ( ROOM | MAP )
+                  Locate an item anywhere in the world:
+                    WHERE <item>
                   Change the logging level: [See Main.java]
                     LOG ( <Java Logging Level> ALL..OFF )
             
                  Other:
                     I                # ("Inventory": Show Player Inventory)
                     L {item}         # ("Look": Show Room Description & Room Items)
-                    T [room id]      # ("Teleport": Jump to RoomID)
+                    T [room id|item] # ("Teleport": Jump to RoomID, or to an item)
+                    SAY <words>      # (Speak to the other players in the room)
                     ?                # (This List)""";
 
     /**
@@ -71,7 +75,8 @@ class Handler_Help extends AbstractCommandHandler {
      * @return The help text for the game.
      */
     @Override
-    String handleAction(PlayerCommand playerCommand) {
-        return String.format(COMMAND_HELP_TEMPLATE, getItemInteractionHelp(ItemInteractionEventType::name));
+    CommandResult handleAction(PlayerCommand playerCommand) {
+        return CommandResult.lazy(CommandResult.Kind.HELP, () -> String.format(
+                COMMAND_HELP_TEMPLATE, getItemInteractionHelp(ItemInteractionEventType::name)));
     }
 }
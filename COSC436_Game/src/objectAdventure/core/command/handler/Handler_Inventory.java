@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Player;
 
@@ -29,10 +30,11 @@ class Handler_Inventory extends AbstractCommandHandler {
      * Handles inventory commands by returning the player's current inventory.
      *
      * @param playerCommand The inventory command issued by the player
-     * @return A formatted string showing the player's inventory contents
+     * @return A result showing the player's inventory contents
      */
     @Override
-    protected String handleAction(PlayerCommand playerCommand) {
-        return "Inventory:%n%s".formatted(playerService.getFormattedInventoryItemString());
+    protected CommandResult handleAction(PlayerCommand playerCommand) {
+        return CommandResult.lazy(CommandResult.Kind.INVENTORY,
+                                  () -> "Inventory:%n%s".formatted(playerService.getFormattedInventoryItemString()));
     }
 }
@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Item;
 import objectAdventure.core.command.service.Service_Player;
@@ -58,10 +59,10 @@ class Handler_ItemInteraction extends AbstractCommandHandler {
      * that the verb is a valid item interaction.
      *
      * @param playerCommand The item interaction command issued by the player
-     * @return A response string indicating the result of the item interaction
+     * @return The result of the item interaction
      */
     @Override
-    protected String handleAction(PlayerCommand playerCommand) {
+    protected CommandResult handleAction(PlayerCommand playerCommand) {
         // Since canHandle already verified this is a valid interaction, this should not fail
         final ItemInteractionEventType eventType = ItemInteractionEventType.actionFromLexeme(playerCommand.verb());
 
@@ -77,9 +78,9 @@ class Handler_ItemInteraction extends AbstractCommandHandler {
      *
      * @param event         The type of event triggering the interaction (e.g., use, examine).
      * @param playerCommand The command issued by the player, containing the target item's alias.
-     * @return The result of the interaction as a string, or a message indicating that the item is not found.
+     * @return The result of the interaction, or a result indicating that the item is not found.
      */
-    public String interactWithItem(ItemInteractionEventType event, PlayerCommand playerCommand) {
+    public CommandResult interactWithItem(ItemInteractionEventType event, PlayerCommand playerCommand) {
         final Player player = playerService.getPlayer();
         final Room currentRoom = roomService.getRoomFromID(playerService.getCurrentRoomId());
 
@@ -90,6 +91,7 @@ class Handler_ItemInteraction extends AbstractCommandHandler {
         var item = itemService.getItemFromAlias(playerCommand.noun(), playerItemList, roomItems);
 
         return item.map(target -> itemService.interactWithItem(player, playerCommand, event, target))
-                   .orElse("I don't see any %s here.".formatted(playerCommand.noun()));
+                   .orElseGet(() -> CommandResult.message(CommandResult.Kind.NOT_FOUND,
+                                                          "I don't see any %s here.", playerCommand.noun()));
     }
 }
@@ -1,11 +1,14 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static java.lang.String.format;
+import static objectAdventure.core.command.CommandResult.Kind.REFUSED;
+import static objectAdventure.core.command.CommandResult.Kind.SETTING_CHANGED;
+import static objectAdventure.core.command.CommandResult.message;
 
 /**
  * Handles log level commands issued by the player, allowing them to
@@ -28,17 +31,17 @@ class Handler_LoggerSettings extends AbstractCommandHandler {
      * Handles log commands by setting the global logger level.
      *
      * @param playerCommand The log command issued by the player
-     * @return A response string indicating the result of the log level change
+     * @return A result indicating the outcome of the log level change
      */
     @Override
-    protected String handleAction(PlayerCommand playerCommand) {
+    protected CommandResult handleAction(PlayerCommand playerCommand) {
         String noun = playerCommand.noun();
 
         try {
             Logger.getGlobal().setLevel(Level.parse(noun));
-            return format("Log level set to: %s", noun);
+            return message(SETTING_CHANGED, "Log level set to: %s", noun);
         } catch (IllegalArgumentException _ex) {
-            return format("Invalid log level: %s", noun);
+            return message(REFUSED, "Invalid log level: %s", noun);
         }
     }
 }
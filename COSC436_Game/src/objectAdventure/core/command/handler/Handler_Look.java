@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
@@ -13,8 +14,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static java.lang.String.format;
 import static objectAdventure.core.DescriptionType.SHORT;
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.lazy;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
 
 /**
  * Handles "look" commands issued by the player, allowing them to observe their surroundings
@@ -45,17 +49,17 @@ class Handler_Look extends AbstractCommandHandler {
      *
      * @param command The player command containing the "handleLook" action and the
      *                optional target noun.
-     * @return A string describing either the current room and its contents (if no
+     * @return A result describing either the current room and its contents (if no
      * noun is provided) * or the detailed description of the specified
      * item. If the specified item is not found, * a message indicating its
      * absence is returned.
      */
     @Override
-    public String handleAction(PlayerCommand command) {
+    public CommandResult handleAction(PlayerCommand command) {
         // If no specific noun is given (i.e., user just typed "LOOK")
         // Handle the look command using the Handler_Look.
         if (!roomService.isRoomPresent(playerService.getCurrentRoomId()))
-            return "You peer deeply into nothingness!\n(The room you are in does not exist!)";
+            return text(ERROR, "You peer deeply into nothingness!\n(The room you are in does not exist!)");
 
 
         String noun = command.noun();
@@ -78,10 +82,10 @@ class Handler_Look extends AbstractCommandHandler {
      * @param command The player command specifying the action to look at an item,
      *                including the noun representing the item to be looked at.
      * @param noun    The name of the item to be looked at.
-     * @return A string containing the detailed description(s) of the matching item(s), or
+     * @return A result containing the detailed description(s) of the matching item(s), or
      * a message indicating that the specified item was not found.
      */
-    private String lookAtItem(PlayerCommand command, String noun) {
+    private CommandResult lookAtItem(PlayerCommand command, String noun) {
         var playerItemList = playerService.getPlayer().getItemList();
         var roomItemList = roomService.getRoomFromID(playerService.getCurrentRoomId()).getItemList();
         var allItemsFromItemAlias = getAllItemsFromItemAlias(noun, playerItemList, roomItemList);
@@ -91,20 +95,19 @@ class Handler_Look extends AbstractCommandHandler {
                 new ItemInteractionEvent(ItemInteractionEventType.LOOK, command, playerService.getPlayer())
         ));
 
-        // Return the item descriptions or a message indicating that the item was not found.
-        return allItemsFromItemAlias.stream()
-                                    // Transform each item into its detailed description
-                                    .map(Item::getItemFullDescription)
-
-                                    // Joins all item descriptions, separated by newlines.
-                                    .collect(Collectors.collectingAndThen(Collectors.joining("\n"),
-                                                                          str -> str.isBlank()
-                                                                                  // If no items match the noun.
-                                                                                  ? format("You don't see %s here.",
-                                                                                           noun)
-                                                                                  // Otherwise, return the joined descriptions
-                                                                                  : str
-                                    ));
+        // If no items match the noun.
+        if (allItemsFromItemAlias.isEmpty()) {
+            return message(NOT_FOUND, "You don't see %s here.", noun);
+        }
+
+        // Otherwise, return the item descriptions (built only if shown).
+        return lazy(LOOKED, () -> allItemsFromItemAlias.stream()
+                                                       // Transform each item into its detailed description
+                                                       .map(Item::getItemFullDescription)
+
+                                                       // Joins all item descriptions, separated by newlines.
+                                                       .collect(Collectors.joining("\n")))
+                .withItem(allItemsFromItemAlias.getFirst());
     }
 
 
@@ -114,20 +117,23 @@ class Handler_Look extends AbstractCommandHandler {
      * If the current room implements the RoomEventListener, it also notifies the
      * room that the player is observing it.
      *
-     * @return A string containing the current room's description followed by
+     * @return A result containing the current room's description followed by
      * the list of items visible in the room.
      */
-    private String lookAtRoom() {
+    private CommandResult lookAtRoom() {
+        final int roomId = playerService.getCurrentRoomId();
+
         // Invoke the playerLookingAtRoom method on the current room
-        if (roomService.getRoomFromID(playerService.getCurrentRoomId()) instanceof RoomEventListener listener) {
+        if (roomService.getRoomFromID(roomId) instanceof RoomEventListener listener) {
             listener.playerLookingAtRoom(playerService.getPlayer());
         }
 
-        return "%s%n%nYou See:%n%s".formatted(
+        return lazy(LOOKED, () -> "%s%n%nYou See:%n%s".formatted(
                 // Gets the description of the current room the player is in
-                roomService.getRoomFromID(playerService.getCurrentRoomId()).getRoomDescription(),
+                roomService.getRoomFromID(roomId).getRoomDescription(),
                 // Gets the display names of all items in the room (in SHORT format)
-                roomService.getRoomItemDisplayNames(playerService.getCurrentRoomId(), SHORT));
+                roomService.getRoomItemDisplayNames(roomId, SHORT)))
+                .withRoom(roomId);
     }
 
 
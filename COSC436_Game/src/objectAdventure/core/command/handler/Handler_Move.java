@@ -1,12 +1,15 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Map;
 import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
 import objectAdventure.core.map.Direction;
 
-import static java.lang.System.out;
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
 
 /**
  * Handles movement commands issued by the player, allowing them to move
@@ -43,39 +46,43 @@ class Handler_Move extends AbstractCommandHandler {
      * Handles movement commands by moving the player in the specified direction.
      *
      * @param playerCommand The movement command issued by the player
-     * @return An empty string since movement commands don't produce text responses
+     * @return The result of the move (a successful move has no text; the next prompt shows the new room)
      */
     @Override
-    String handleAction(PlayerCommand playerCommand) {
+    CommandResult handleAction(PlayerCommand playerCommand) {
         final boolean withVerb = playerCommand.verb().equalsIgnoreCase("GO");
 
         if (withVerb && playerCommand.noun().isBlank()) {
-            return "Go where?";
+            return text(INCOMPLETE, "Go where?");
         }
 
         String direction = withVerb ? playerCommand.noun() : playerCommand.verb();
-        Direction.directionFromLexeme(direction).ifPresent(this::movePlayer);
 
         // Movement commands don't produce text responses, they just change the player's location
-        return "";
+        return Direction.directionFromLexeme(direction)
+                        .map(this::movePlayer)
+                        .orElse(CommandResult.NONE);
     }
 
     /**
      * Moves the player in the specified direction.
      *
      * @param dir The direction to move the player.
+     * @return The result of the move.
      */
-    private void movePlayer(final Direction dir) {
+    private CommandResult movePlayer(final Direction dir) {
         final var currentRoomId = playerService.getCurrentRoomId();
         final var exits = mapService.getExitConnections(currentRoomId);
 
         assert (mapService.doesRoomExist(currentRoomId)) : "The current Room does not exist! How did you get here!?";
 
         // Check if the exit exists, and if so, teleport the player.
-        if (exits.containsKey(dir)) {
-            moveToNewRoom(exits.get(dir));
+        if (exits.containsKey(dir) && moveToNewRoom(exits.get(dir))) {
+            return text(MOVED, "").withRoom(exits.get(dir));
+        } else if (exits.containsKey(dir)) {
+            return CommandResult.NONE; // The exit leads nowhere (yet).
         } else {
-            out.printf("Ouch! (There is no exit: %s)%n", dir.toString());
+            return message(BLOCKED, "Ouch! (There is no exit: %s)", dir).withRoom(currentRoomId);
         }
     }
 
@@ -83,13 +90,14 @@ class Handler_Move extends AbstractCommandHandler {
      * Sets the player's new room number.
      *
      * @param newRoomId The destination room number for the player.
+     * @return true if the change was successful, false otherwise.
      */
-    public void moveToNewRoom(final int newRoomId) {
+    public boolean moveToNewRoom(final int newRoomId) {
         final int currentRoomId = playerService.getCurrentRoomId();
 
         // Validate the room movement using map service
         if (!mapService.doesRoomExist(newRoomId)) {
-            return;
+            return false;
         }
 
         // Update the player's current room using player service
@@ -97,5 +105,7 @@ class Handler_Move extends AbstractCommandHandler {
 
         // Notify rooms of the transition using room service
         roomService.notifyRoomTransition(playerService.getPlayer(), currentRoomId, newRoomId);
+
+        return true;
     }
 }
@@ -0,0 +1,57 @@
+package objectAdventure.core.command.handler;
+
+import objectAdventure.core.command.CommandResult;
+import objectAdventure.core.command.PlayerCommand;
+import objectAdventure.core.command.service.Service_Player;
+import objectAdventure.core.command.service.Service_Room;
+import objectAdventure.core.player.Player;
+
+import static objectAdventure.core.command.CommandResult.Kind.INCOMPLETE;
+import static objectAdventure.core.command.CommandResult.Kind.SPOKE;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
+
+/**
+ * Handles "say" commands issued by the player, passing what they say on to every other
+ * player in the same room.
+ *
+ * <p>The other players are found through the room presence index, so speaking costs the
+ * same however many players there are elsewhere in the world.</p>
+ */
+class Handler_Say extends AbstractCommandHandler {
+
+    private final Service_Player playerService;
+    private final Service_Room roomService;
+
+    /**
+     * Constructs a new Handler_Say instance.
+     *
+     * @param playerService The player service.
+     * @param roomService   The room service.
+     */
+    Handler_Say(Service_Player playerService, Service_Room roomService) {
+        super("SAY");
+        this.playerService = playerService;
+        this.roomService = roomService;
+    }
+
+    /**
+     * Handles say commands by telling everyone else in the room what the player said.
+     *
+     * @param playerCommand The say command issued by the player
+     * @return A result echoing what the player said
+     */
+    @Override
+    CommandResult handleAction(PlayerCommand playerCommand) {
+        final String words = playerCommand.noun();
+
+        if (words.isBlank()) {
+            return text(INCOMPLETE, "Say what?");
+        }
+
+        final Player player = playerService.getPlayer();
+        roomService.broadcastToOthers(player, () -> "%s says, \"%s\"".formatted(player.getPlayerName(), words));
+
+        return message(SPOKE, "You say, \"%s\"", words).withRoom(player.getCurrentRoomId());
+    }
+}
@@ -1,5 +1,6 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.command.service.Service_Item;
 import objectAdventure.core.command.service.Service_Player;
@@ -13,9 +14,11 @@ import objectAdventure.core.room.Room;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
-import static java.lang.String.format;
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.joined;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
 import static objectAdventure.core.item.ItemInteractionEventType.GET;
 
 
@@ -55,16 +58,16 @@ class Handler_Take extends AbstractCommandHandler {
      * it's suitable for transfer to the player's inventory.
      *
      * @param playerCommand The user's input containing the name of the item to take.
-     * @return A String representing the result of the take operation, with success or failure information.
+     * @return The result of the take operation, with success or failure information.
      */
     @Override
-    public String handleAction(PlayerCommand playerCommand) {
+    public CommandResult handleAction(PlayerCommand playerCommand) {
         if (!roomService.isRoomPresent(playerService.getCurrentRoomId())) {
             Logger.getGlobal().warning("Player is not in a room, can't take items.");
-            return "Taking nonexistent item from nonexistent location mysteriously fails!";
+            return text(ERROR, "Taking nonexistent item from nonexistent location mysteriously fails!");
         } else if (playerCommand.noun().isBlank())
             // If no noun is provided, return a message indicating the need for a specific item
-            return "What do you want to take?";
+            return text(INCOMPLETE, "What do you want to take?");
         else if ("ALL".equalsIgnoreCase(playerCommand.noun()))
             // If the player wants to take all items, delegate to the takeAllItems method
             return takeAllItems(playerCommand);
@@ -79,9 +82,9 @@ class Handler_Take extends AbstractCommandHandler {
      * It checks if the item exists in the current room and processes the take action.
      *
      * @param playerCommand The command issued by the player containing the item alias.
-     * @return A String result of the take operation, indicating success or failure messages.
+     * @return The result of the take operation, indicating success or failure.
      */
-    private String takeItem(PlayerCommand playerCommand) {
+    private CommandResult takeItem(PlayerCommand playerCommand) {
         // Attempt to locate the item from the player's input alias in the current room
         var itemList = roomService.getRoomFromID(playerService.getCurrentRoomId()).getItemList();
         var itemFromAlias = itemService.getItemFromAlias(playerCommand.noun(), itemList);
@@ -89,7 +92,7 @@ class Handler_Take extends AbstractCommandHandler {
         // Attempt to take the item if it exists, otherwise return a failure message
         return itemFromAlias
                 .map(item -> takeItem(item, playerCommand)) // Item found, process the take action
-                .orElse(format("I see no '%s' here!!!", playerCommand.noun()));
+                .orElseGet(() -> message(NOT_FOUND, "I see no '%s' here!!!", playerCommand.noun()));
     }
 
     /**
@@ -98,18 +101,19 @@ class Handler_Take extends AbstractCommandHandler {
      *
      * @param item          The item to be taken.
      * @param playerCommand The command issued by the player.
-     * @return A String result of the take operation, indicating success or failure messages.
+     * @return The result of the take operation, indicating success or failure.
      */
-    private String takeItem(Item item, PlayerCommand playerCommand) {
-        // Declare the response message variable for the take operation
-        String responseMessage;
+    private CommandResult takeItem(Item item, PlayerCommand playerCommand) {
+        // Declare the result variable for the take operation
+        CommandResult response;
 
         // Get the item's display name for building messages
         String itemDisplayName = item.getItemDisplayName();
 
         if (item.isAnchored()) {
             // If item is immovable, inform the player.
-            return format("Despite your valiant attempts, the %s is unmovable.", itemDisplayName);
+            return message(REFUSED, "Despite your valiant attempts, the %s is unmovable.", itemDisplayName)
+                    .withItem(item);
         }
 
         // Check if the item is movable (not anchored)
@@ -127,20 +131,23 @@ class Handler_Take extends AbstractCommandHandler {
             boolean xfered = itemService.transferItem(currentRoom, player, item);
 
             // Determine the appropriate response based on transfer and interaction success
-            responseMessage = xfered
+            response = xfered
                     ? result.message().isBlank()
                     // If the interaction provides no custom message, use default
-                    ? format("You picked up the %s.", item.getItemDisplayName())
-                    : result.message()
-                    : "You can't take a non-transferable item!";
+                    ? message(ITEM_TAKEN, "You picked up the %s.", itemDisplayName)
+                    : text(ITEM_TAKEN, result.message())
+                    // The transfer fails if another player took the item in the meantime.
+                    : currentRoom.hasItem(item)
+                    ? text(REFUSED, "You can't take a non-transferable item!")
+                    : message(NOT_FOUND, "Someone else got to the %s first.", itemDisplayName);
         } else {
             // Handle interaction failure for picking up the item
-            responseMessage = result.message().isBlank()
-                    ? format("You can't take the %s.", item.getItemDisplayName())
-                    : result.message();
+            response = result.message().isBlank()
+                    ? message(REFUSED, "You can't take the %s.", itemDisplayName)
+                    : text(REFUSED, result.message());
         }
 
-        return responseMessage; // Return the final take result message
+        return response.withItem(item); // Return the final take result
     }
 
     /**
@@ -148,28 +155,28 @@ class Handler_Take extends AbstractCommandHandler {
      * Iterates through items in the room and performs the necessary logic for each.
      *
      * @param playerCommand The "take all" command issued by the player.
-     * @return A String containing the result of the operation, detailing what was taken or failed.
+     * @return The combined result of the operation, detailing what was taken or failed.
      */
-    String takeAllItems(PlayerCommand playerCommand) {
+    CommandResult takeAllItems(PlayerCommand playerCommand) {
         // Get the list of items from the current room
         List<Item> itemList = roomService.getRoomFromID(playerService.getCurrentRoomId()).getItemList();
 
         // If no items are present in the room, return an appropriate message
         if (itemList.isEmpty()) {
-            return "No items to take.";
+            return text(NOT_FOUND, "No items to take.");
         } else {
 
             // Create a stream from the item list for processing (duplicate to avoid concurrent modification).
             var itemStream = new ArrayList<>(itemList).stream();
 
             // Attempt to take each item and combine the results
-            return itemStream
+            return joined(ITEM_TAKEN, itemStream
                     .map(item -> item.getItemAliases().isEmpty()
                             // Check if the item lacks aliases for identification
-                            ? item.getClass().getCanonicalName() + " has no aliases."
+                            ? message(ERROR, "%s has no aliases.", item.getClass().getCanonicalName())
                             // Provide fallback information
                             : this.takeItem(item, playerCommand))
-                    .collect(Collectors.joining("\n")); // Combine all results into one message
+                    .toList()); // Combine all results into one
         }
     }
 
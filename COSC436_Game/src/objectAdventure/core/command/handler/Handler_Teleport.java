@@ -1,17 +1,23 @@
 package objectAdventure.core.command.handler;
 
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
+import objectAdventure.core.command.service.Service_Item;
 import objectAdventure.core.command.service.Service_Map;
 import objectAdventure.core.command.service.Service_Player;
 import objectAdventure.core.command.service.Service_Room;
 
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import static java.lang.Integer.parseInt;
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
 
 /**
  * Handles teleport commands issued by the player, allowing them to
- * teleport directly to a room by its ID.
+ * teleport directly to a room by its ID, or to wherever an item currently is.
  *
  * <p>This handler processes teleport commands and delegates to the
  * GameController for the actual teleportation logic.</p>
@@ -21,6 +27,7 @@ class Handler_Teleport extends AbstractCommandHandler {
     private final Service_Player playerService;
     private final Service_Room roomService;
     private final Service_Map mapService;
+    private final Service_Item itemService;
 
 
     /**
@@ -29,12 +36,15 @@ class Handler_Teleport extends AbstractCommandHandler {
      * @param playerService The player service.
      * @param roomService   The room service.
      * @param mapService    The map service.
+     * @param itemService   The item service.
      */
-    Handler_Teleport(Service_Player playerService, Service_Room roomService, Service_Map mapService) {
+    Handler_Teleport(Service_Player playerService, Service_Room roomService, Service_Map mapService,
+                     Service_Item itemService) {
         super("T", "TELEPORT");
         this.playerService = playerService;
         this.roomService = roomService;
         this.mapService = mapService;
+        this.itemService = itemService;
     }
 
 
@@ -42,22 +52,44 @@ class Handler_Teleport extends AbstractCommandHandler {
      * Handles teleport commands by attempting to teleport the player to the specified room.
      *
      * @param playerCommand The teleport command issued by the player
-     * @return A response string indicating the result of the teleportation attempt
+     * @return The result of the teleportation attempt
      */
     @Override
-    protected String handleAction(PlayerCommand playerCommand) {
+    protected CommandResult handleAction(PlayerCommand playerCommand) {
         String noun = playerCommand.noun();
 
         try {
             var roomId = parseInt(noun);
             if (moveToNewRoom(roomId)) {
-                return "Teleported to room: " + noun;
+                return message(TELEPORTED, "Teleported to room: %s", noun).withRoom(roomId);
             } else {
-                return "Teleportation to non-existent locations is not yet supported.";
+                return text(NOT_FOUND, "Teleportation to non-existent locations is not yet supported.");
             }
         } catch (NumberFormatException nfe) {
+            return teleportToItem(noun);
+        }
+    }
+
+    /**
+     * Teleports the player to the room containing the first item matching the alias.
+     * (The lookup uses the item location index, so no rooms are searched.)
+     *
+     * @param noun The alias of the item to teleport to.
+     * @return The result of the teleportation attempt
+     */
+    private CommandResult teleportToItem(final String noun) {
+        final Optional<Integer> roomId = itemService.findItemsFromAlias(noun)
+                                                    .stream()
+                                                    .findFirst()
+                                                    .flatMap(itemService::getItemRoomId);
+
+        if (roomId.isEmpty()) {
             Logger.getGlobal().warning("Invalid room ID: " + noun);
-            return "You can only teleport to a room by its ID.";
+            return text(NOT_FOUND, "You can only teleport to a room by its ID, or to an item by its name.");
+        } else if (moveToNewRoom(roomId.get())) {
+            return message(TELEPORTED, "Teleported to the %s in room: %d", noun, roomId.get()).withRoom(roomId.get());
+        } else {
+            return text(NOT_FOUND, "Teleportation to non-existent locations is not yet supported.");
         }
     }
 
@@ -0,0 +1,63 @@
+package objectAdventure.core.command.handler;
+
+import objectAdventure.core.command.CommandResult;
+import objectAdventure.core.command.PlayerCommand;
+import objectAdventure.core.command.service.Service_Item;
+import objectAdventure.core.item.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static objectAdventure.core.command.CommandResult.Kind.*;
+import static objectAdventure.core.command.CommandResult.lazy;
+import static objectAdventure.core.command.CommandResult.message;
+import static objectAdventure.core.command.CommandResult.text;
+
+/**
+ * Handles "where" commands issued by the player, reporting where in the world
+ * every item matching an alias currently is.
+ *
+ * <p>This handler is a debugging aid. Locations come from the world-wide item
+ * location index, so no rooms or inventories are searched.</p>
+ */
+class Handler_Where extends AbstractCommandHandler {
+
+    private final Service_Item itemService;
+
+    /**
+     * Constructs a new Handler_Where instance.
+     *
+     * @param itemService The item service.
+     */
+    Handler_Where(Service_Item itemService) {
+        super("WHERE");
+        this.itemService = itemService;
+    }
+
+    /**
+     * Handles where commands by listing the location of every matching item.
+     *
+     * @param playerCommand The where command issued by the player
+     * @return A result listing the location of each matching item
+     */
+    @Override
+    CommandResult handleAction(PlayerCommand playerCommand) {
+        String noun = playerCommand.noun();
+
+        if (noun.isBlank()) {
+            return text(INCOMPLETE, "Where is what?");
+        }
+
+        List<Item> items = itemService.findItemsFromAlias(noun);
+
+        if (items.isEmpty()) {
+            return message(NOT_FOUND, "I don't know of any %s.", noun);
+        }
+
+        return lazy(LOCATED, () -> items.stream()
+                                        .map(item -> "%s: %s.".formatted(item.getItemDisplayName(),
+                                                                         itemService.getFormattedItemLocation(item)))
+                                        .collect(Collectors.joining("\n")))
+                .withItem(items.getFirst());
+    }
+}
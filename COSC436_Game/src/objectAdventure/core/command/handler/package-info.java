@@ -11,8 +11,10 @@
  *   <li>{@link objectAdventure.core.command.handler.Handler_Take} - Handles item pickup commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_Drop} - Handles item dropping commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_Look} - Handles look/examine commands</li>
+ *   <li>{@link objectAdventure.core.command.handler.Handler_Say} - Handles speaking to the other players in the room</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_Display} - Handles display/show commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_Teleport} - Handles teleport commands</li>
+ *   <li>{@link objectAdventure.core.command.handler.Handler_Where} - Handles item location commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_Debug} - Handles debug information commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_LoggerSettings} - Handles logging level commands</li>
  *   <li>{@link objectAdventure.core.command.handler.Handler_ItemInteraction} - Handles generic item interactions</li>
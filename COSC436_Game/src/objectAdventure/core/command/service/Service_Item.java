@@ -2,12 +2,15 @@ package objectAdventure.core.command.service;
 
 import objectAdventure.common.Utils;
 import objectAdventure.core.DescriptionType;
+import objectAdventure.core.command.CommandResult;
 import objectAdventure.core.command.PlayerCommand;
 import objectAdventure.core.item.*;
 import objectAdventure.core.player.Player;
+import objectAdventure.core.room.Room;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,11 +22,18 @@ import java.util.stream.Collectors;
  */
 public class Service_Item {
 
+    // Shared by every player, so transfers by different players exclude one another.
+    private static final ItemContainerLocks CONTAINER_LOCKS = ItemContainerLocks.getDefault();
+
+    private final ItemLocationIndex itemLocationIndex;
+
     /**
      * Constructor for Service_Item.
-     * No dependencies to inject.
+     *
+     * @param itemLocationIndex The world-wide index of item locations.
      */
-    public Service_Item() {
+    public Service_Item(ItemLocationIndex itemLocationIndex) {
+        this.itemLocationIndex = itemLocationIndex;
     }
 
     /**
@@ -48,6 +58,13 @@ public class Service_Item {
 
     /**
      * Transfers an item from one container to another.
+     * <p>
+     * The transfer is atomic: both containers are locked for its duration, and the item
+     * only moves if it is still in the source container. When two players grab the same
+     * item at once, exactly one of them gets it and the other's transfer fails.
+     * <p>
+     * The item location index is updated by the containers themselves as the item is
+     * removed from one and added to the other.
      *
      * @param from The Item possessor to take the item from.
      * @param to   The Item possessor to give the item to.
@@ -55,28 +72,32 @@ public class Service_Item {
      * @return true if the transfer was successful, false otherwise
      */
     public boolean transferItem(final ItemContainer from, final ItemContainer to, final Item item) {
-        if (!item.isAnchored()) {
-            from.removeItem(item);
-            to.addItem(item);
-            return true;
-        } else {
+        if (item.isAnchored()) {
             return false;
         }
+
+        return CONTAINER_LOCKS.withLocks(from, to, () -> {
+            if (!from.removeItem(item)) {
+                return false; // Someone else got there first.
+            }
+            to.addItem(item);
+            return true;
+        });
     }
 
     /**
      * Handles the interaction of a player with a specified item based on the provided action and command.
-     * This method attempts to execute the interaction with the item and returns the result message.
+     * This method attempts to execute the interaction with the item and returns the result.
      *
      * @param player        The player who is performing the interaction.
      * @param playerCommand The command issued by the player, containing details of the action and target.
      * @param action        The type of interaction the player wants to perform with the item.
      * @param item          The item on which the interaction is performed.
-     * @return A string containing the result of the interaction. If the interaction is successful, the custom
-     *         interaction result message is returned. If the interaction fails or the result message is blank,
-     *         a default message is returned.
+     * @return The result of the interaction. If the interaction is successful, its message is the custom
+     *         interaction result message. If the interaction fails and the result message is blank,
+     *         a default message is used.
      */
-    public String interactWithItem(Player player, PlayerCommand playerCommand,
+    public CommandResult interactWithItem(Player player, PlayerCommand playerCommand,
                                    ItemInteractionEventType action,
                                    Item item) {
 
@@ -86,13 +107,13 @@ public class Service_Item {
 
         // Return the interactionResult message if the interaction was successful.
         if (interactionResult.bSuccess()) {
-            return interactionResult.message();
+            return CommandResult.text(CommandResult.Kind.ITEM_USED, interactionResult.message()).withItem(item);
         } else {
             // Return a default message if the interactionResult message is blank.
-            return interactionResult.message().isBlank()
+            return (interactionResult.message().isBlank()
                     // default message if no custom message is provided.
-                    ? "You can't %s the %s.".formatted(action.getAliases(), playerCommand)
-                    : interactionResult.message();
+                    ? CommandResult.message(CommandResult.Kind.REFUSED, "You can't %s the %s.", action.getAliases(), playerCommand)
+                    : CommandResult.text(CommandResult.Kind.REFUSED, interactionResult.message())).withItem(item);
         }
     }
 
@@ -112,4 +133,44 @@ public class Service_Item {
                      .filter(item -> item.getItemAliases().stream().anyMatch(lexeme::equalsIgnoreCase))
                      .findFirst();
     }
+
+    /**
+     * Find every item in the world answering to an alias, wherever it currently is.
+     *
+     * @param alias The item alias (case-insensitive).
+     * @return The matching items, or an empty list if there are none.
+     */
+    public List<Item> findItemsFromAlias(final String alias) {
+        return itemLocationIndex.getItemsFromAlias(alias);
+    }
+
+    /**
+     * Get the ID of the room an item is currently in. An item carried by a player is
+     * considered to be in the player's current room.
+     *
+     * @param item The item to locate.
+     * @return An Optional containing the room ID, or empty if the item's location is unknown.
+     */
+    public Optional<Integer> getItemRoomId(final Item item) {
+        return itemLocationIndex.getContainer(item).map(container -> switch (container) {
+            case Room room -> room.getRoomId();
+            case Player player -> player.getCurrentRoomId();
+            default -> null;
+        });
+    }
+
+    /**
+     * Get a human-readable description of where an item currently is.
+     *
+     * @param item The item to locate.
+     * @return A description of the item's container.
+     */
+    public String getFormattedItemLocation(final Item item) {
+        return itemLocationIndex.getContainer(item).map(container -> switch (container) {
+            case Room room -> "in Room %d (%s)".formatted(room.getRoomId(), room.getRoomName());
+            case Player player -> "carried by %s (Room %d)".formatted(player.getPlayerName(),
+                                                                      player.getCurrentRoomId());
+            default -> "in %s".formatted(container);
+        }).orElse("nowhere to be found");
+    }
 }
@@ -8,6 +8,10 @@ import objectAdventure.core.room.InputInterceptor;
 import objectAdventure.core.room.NoSuchRoomException;
 import objectAdventure.core.room.Room;
 import objectAdventure.core.room.RoomEventListener;
+import objectAdventure.core.room.RoomPresenceIndex;
+
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static objectAdventure.core.DescriptionType.LONG;
 
@@ -20,6 +24,7 @@ import static objectAdventure.core.DescriptionType.LONG;
 public class Service_Room {
 
     private final RoomList rooms;
+    private final RoomPresenceIndex presenceIndex;
 
     /**
      * Constructor for Service_Room.
@@ -28,6 +33,7 @@ public class Service_Room {
      */
     public Service_Room(RoomList rooms) {
         this.rooms = rooms;
+        this.presenceIndex = rooms.getPresenceIndex();
     }
 
     /**
@@ -109,6 +115,11 @@ public class Service_Room {
         final var fromRoom = this.rooms.getRoomFromID(fromRoomId);
         final var toRoom = this.rooms.getRoomFromID(toRoomId);
 
+        // Keep track of who is where, and let the other players in both rooms know.
+        presenceIndex.playerMoved(player, fromRoomId, toRoomId);
+        presenceIndex.broadcast(fromRoomId, player, () -> "%s leaves.".formatted(player.getPlayerName()));
+        presenceIndex.broadcast(toRoomId, player, () -> "%s arrives.".formatted(player.getPlayerName()));
+
         // Notify the rooms of the player's movement.
         fromRoom.ifPresent(room -> {
             if (room instanceof RoomEventListener listener) listener.playerLeavingRoom(player);
@@ -120,18 +131,59 @@ public class Service_Room {
         });
     }
 
+    /**
+     * Puts a player who has just joined the game into the presence index, in their current room.
+     * (Joining is not announced.)
+     *
+     * @param player the player joining the game
+     */
+    public void playerJoined(Player player) {
+        presenceIndex.playerEntered(player, player.getCurrentRoomId());
+    }
+
+    /**
+     * Takes a player who has left the game out of the presence index.
+     *
+     * @param player the player leaving the game
+     */
+    public void playerLeft(Player player) {
+        presenceIndex.playerLeft(player, player.getCurrentRoomId());
+    }
+
+    /**
+     * Gets the players in a room.
+     *
+     * @param roomId the room ID
+     * @return a live, read-only view of the players in the room.
+     */
+    public Set<Player> getOccupants(int roomId) {
+        return presenceIndex.getOccupants(roomId);
+    }
+
+    /**
+     * Tells everyone in a player's room, except the player, something the player has done.
+     *
+     * @param player  the player
+     * @param message builds the message (only if someone is there to hear it)
+     */
+    public void broadcastToOthers(Player player, Supplier<String> message) {
+        presenceIndex.broadcast(player.getCurrentRoomId(), player, message);
+    }
+
     /**
      * Processes input through room-specific interceptors if available.
      *
-     * @param inputLine     The raw input line.
-     * @param currentRoomId The current room ID
-     * @return The manipulated input line.
+     * @param inputLine The raw input line.
+     * @param player    The player who typed the line.
+     * @return The manipulated input line (blank if the room swallowed it).
      */
-    public String preProcessInput(String inputLine, int currentRoomId) {
+    public String preProcessInput(String inputLine, Player player) {
+        final int currentRoomId = player.getCurrentRoomId();
         if (this.isRoomPresent(currentRoomId)) {
             Room currentRoom = this.getRoomFromID(currentRoomId);
             if (currentRoom instanceof InputInterceptor room) {
-                return room.interceptInput(inputLine).trim();
+                String intercepted = room.interceptInput(inputLine, player);
+                return intercepted == null ? "" : intercepted.trim();
             }
         }
         return inputLine;
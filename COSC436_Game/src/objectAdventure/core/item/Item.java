@@ -1,5 +1,10 @@
 package objectAdventure.core.item;
 
+import objectAdventure.core.player.Player;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -59,6 +64,56 @@ public interface Item {
         return List.of(this.getClass().getSimpleName());
     }
 
+    /**
+     * Get the copy of this item to place in a newly cloned world (see
+     * {@link objectAdventure.core.map.RoomList#cloneWorld()}).
+     * <p>
+     * Items without mutable state can safely be shared by every world, so by default the item
+     * itself is returned. Items whose state changes during play must return a fresh copy, so
+     * that playing with the item in one world does not affect it in another.
+     *
+     * @return The item to use in the new world.
+     */
+    default Item copyForWorld() {
+        return this;
+    }
+
+    /**
+     * Write the item's changeable state to a saved game (see
+     * {@link objectAdventure.core.persist.SaveGame}).
+     * <p>
+     * Items without mutable state have nothing to save, so by default nothing is written. Items
+     * whose state changes during play should write it here, and read it back, in the same
+     * order, in {@link #readState(DataInput)}.
+     *
+     * @param out Where to write the state.
+     * @throws IOException if the state cannot be written.
+     */
+    default void writeState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Restore the item's changeable state from a saved game, as written by
+     * {@link #writeState(DataOutput)}. (Not called if the item saved nothing.)
+     *
+     * @param in Where to read the state from.
+     * @throws IOException if the state cannot be read.
+     */
+    default void readState(DataInput in) throws IOException {
+    }
+
+    /**
+     * Tell the item that the player carrying it has left the game (e.g. disconnected from the
+     * server), so it can stop anything it was doing for them, such as a timed event writing to
+     * their output.
+     * <p>
+     * Most items do nothing for the player carrying them, so by default nothing happens.
+     *
+     * @param player The player who left.
+     */
+    default void playerLeft(Player player) {
+    }
+
     /**
      * Notify the game core the item has been interacted with.
      *
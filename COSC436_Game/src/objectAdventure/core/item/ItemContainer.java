@@ -1,8 +1,8 @@
 package objectAdventure.core.item;
 
-import java.util.List;
+import objectAdventure.core.output.GameOutput;
 
-import static java.lang.System.out;
+import java.util.List;
 
 /**
  * Interface for any object that can possess items.
@@ -39,18 +39,26 @@ public interface ItemContainer {
      * This method is intended for debugging purposes, as indicated by the "DEBUG_" prefix.
      * It iterates through all items in the container and prints each item's aliases.
      * <p>
-     * This method does not take any parameters as it uses the container's own item list.
-     * <p>
-     * The output is printed to the standard output stream (System.out).
+     * The output is printed to the console (see {@link #DEBUG_showAllItemAliases(GameOutput)}).
      * Each line of output shows an alias and the item it represents.
      * <p>
      * Note: This method assumes that the container has a getItemList() method
      * and that each Item has a getItemAliases() method.
      */
     default void DEBUG_showAllItemAliases() {
+        DEBUG_showAllItemAliases(GameOutput.CONSOLE);
+    }
+
+    /**
+     * Displays all items within the container and their associated aliases, as above, on the
+     * given output (e.g. a player's).
+     *
+     * @param output Where to print the aliases.
+     */
+    default void DEBUG_showAllItemAliases(GameOutput output) {
         for (var item : this.getItemList()) {
             for (var alias : item.getItemAliases()) {
-                out.printf("\"%s\" is an alias for object: %s%n", alias, item);
+                output.printf("\"%s\" is an alias for object: %s%n", alias, item);
             }
         }
     }
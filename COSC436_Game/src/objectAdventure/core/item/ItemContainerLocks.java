@@ -0,0 +1,123 @@
+package objectAdventure.core.item;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of striped locks guarding item transfers between containers.
+ *
+ * <p>Each container maps (by identity) onto one of a fixed number of lock stripes. A transfer
+ * holds the stripes of both its source and destination, always acquired in ascending stripe
+ * order, so two transfers running in opposite directions (a TAKE and a DROP in the same room)
+ * can never deadlock. Transfers touching unrelated rooms almost always land on different
+ * stripes and proceed in parallel.</p>
+ */
+public final class ItemContainerLocks {
+
+    /**
+     * The default number of lock stripes.
+     */
+    public static final int DEFAULT_STRIPE_COUNT = 64;
+
+    private static ItemContainerLocks instance;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * Constructor for ItemContainerLocks.
+     *
+     * @param stripeCount The number of lock stripes (rounded up to a power of two).
+     */
+    public ItemContainerLocks(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Get the engine-wide locks, shared by every player (so that transfers by different players
+     * exclude one another), creating them on first use.
+     *
+     * @return The default locks.
+     */
+    public static synchronized ItemContainerLocks getDefault() {
+        if (instance == null) {
+            instance = new ItemContainerLocks(DEFAULT_STRIPE_COUNT);
+        }
+        return instance;
+    }
+
+    /**
+     * Run an action while holding the locks for both containers.
+     *
+     * @param first  One container taking part in the action.
+     * @param second The other container taking part in the action.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    public boolean withLocks(ItemContainer first, ItemContainer second, BooleanSupplier action) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+
+        // Always lock the lower stripe first; lock only once if both share a stripe.
+        ReentrantLock outer = stripes[Math.min(a, b)];
+        ReentrantLock inner = stripes[Math.max(a, b)];
+
+        outer.lock();
+        try {
+            if (inner == outer) {
+                return action.getAsBoolean();
+            }
+
+            inner.lock();
+            try {
+                return action.getAsBoolean();
+            } finally {
+                inner.unlock();
+            }
+        } finally {
+            outer.unlock();
+        }
+    }
+
+    /**
+     * Run an action while holding every stripe, so that no transfer is part-way through (e.g.
+     * to take a consistent snapshot of where every item is). Transfers wait until the action is
+     * done, so it must be short.
+     *
+     * @param action The action to run.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public <T> T withAllLocks(Supplier<T> action) {
+        int locked = 0;
+        try {
+            // Ascending order, like every transfer.
+            for (; locked < stripes.length; locked++) {
+                stripes[locked].lock();
+            }
+            return action.get();
+        } finally {
+            while (locked > 0) {
+                stripes[--locked].unlock();
+            }
+        }
+    }
+
+    /**
+     * Get the stripe index for a container.
+     *
+     * @param container The container.
+     * @return The stripe index.
+     */
+    private int stripeOf(ItemContainer container) {
+        int h = System.identityHashCode(container);
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
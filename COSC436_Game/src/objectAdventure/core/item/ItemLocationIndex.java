@@ -0,0 +1,148 @@
+package objectAdventure.core.item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A world-wide index of where every item currently is.
+ *
+ * <p>Items are indexed both by identity (item -&gt; container) and by their normalized
+ * (uppercase) aliases (alias -&gt; items), so "where is the sword?" can be answered without
+ * walking every room and every inventory. The index is kept current by the containers
+ * themselves (see {@link objectAdventure.core.room.Room#addItem(Item)} and
+ * {@link objectAdventure.core.player.Player#addItem(Item)}), so any transfer between
+ * containers is reflected automatically.</p>
+ *
+ * <p>The index is shared by every player in the world, so all access is synchronized.</p>
+ *
+ * <p>A world whose rooms are created lazily (see
+ * {@link objectAdventure.core.map.RoomList#cloneWorld()}) supplies a loader, which is run before
+ * the first lookup so that lookups see every item in the world, not just those in rooms
+ * visited so far.</p>
+ */
+public final class ItemLocationIndex {
+
+    // Item (by identity) to the container currently holding it.
+    private final Map<Item, ItemContainer> containers = new IdentityHashMap<>();
+
+    // Normalized alias to all items answering to that alias (insertion ordered).
+    private final Map<String, Set<Item>> aliases = new HashMap<>();
+
+    // Run (outside the lock, as it adds items) before the first lookup; null once run.
+    private volatile Runnable loader;
+
+    /**
+     * Constructor for an index of a world whose items are all added up front.
+     */
+    public ItemLocationIndex() {
+        this(null);
+    }
+
+    /**
+     * Constructor for an index of a world whose items are added lazily.
+     *
+     * @param loader Adds the rest of the world's items; run once, before the first lookup.
+     */
+    public ItemLocationIndex(Runnable loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Record that an item has been placed into a container.
+     *
+     * @param item      The item that was added.
+     * @param container The container now holding the item.
+     */
+    public synchronized void itemAdded(Item item, ItemContainer container) {
+        ItemContainer previous = containers.put(item, container);
+
+        // Only index the aliases the first time we see the item.
+        if (previous == null) {
+            for (String alias : Item.getUpperCaseAliases(item)) {
+                aliases.computeIfAbsent(alias, key -> new LinkedHashSet<>()).add(item);
+            }
+        }
+    }
+
+    /**
+     * Record that an item has been removed from a container. If the item has since been
+     * recorded in a different container, the newer location is kept.
+     *
+     * @param item      The item that was removed.
+     * @param container The container the item was removed from.
+     */
+    public synchronized void itemRemoved(Item item, ItemContainer container) {
+        if (containers.get(item) != container) {
+            return;
+        }
+
+        containers.remove(item);
+
+        for (String alias : Item.getUpperCaseAliases(item)) {
+            Set<Item> items = aliases.get(alias);
+            if (items != null) {
+                items.remove(item);
+                if (items.isEmpty()) {
+                    aliases.remove(alias);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the container currently holding an item.
+     *
+     * @param item The item to locate.
+     * @return An Optional containing the container, or empty if the item is not indexed.
+     */
+    public Optional<ItemContainer> getContainer(Item item) {
+        load();
+        synchronized (this) {
+            return Optional.ofNullable(containers.get(item));
+        }
+    }
+
+    /**
+     * Get all items answering to an alias (case-insensitive).
+     *
+     * @param alias The alias to look up.
+     * @return The matching items, in the order they were first indexed.
+     */
+    public List<Item> getItemsFromAlias(String alias) {
+        load();
+        synchronized (this) {
+            Set<Item> items = aliases.get(alias.trim().toUpperCase());
+            return items == null ? List.of() : new ArrayList<>(items);
+        }
+    }
+
+    /**
+     * Get the number of items currently indexed.
+     *
+     * @return The number of indexed items.
+     */
+    public int size() {
+        load();
+        synchronized (this) {
+            return containers.size();
+        }
+    }
+
+    /**
+     * Run the loader, if it has not already run. (The loader must be safe to run more than
+     * once, as two threads may race to run it.)
+     */
+    private void load() {
+        Runnable pending = loader;
+        if (pending != null) {
+            pending.run();
+            loader = null;
+        }
+    }
+}
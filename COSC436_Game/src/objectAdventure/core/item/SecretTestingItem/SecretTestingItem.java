@@ -3,7 +3,11 @@ package objectAdventure.core.item.SecretTestingItem;
 import objectAdventure.core.item.Item;
 import objectAdventure.core.item.ItemInteractionEvent;
 import objectAdventure.core.item.ItemInteractionResult;
+import objectAdventure.core.player.Player;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -53,6 +57,59 @@ public class SecretTestingItem implements Item {
         return List.of("Map", "Game-Map");
     }
 
+    /**
+     * The map keeps track of how it has been handled, so each world needs its own.
+     *
+     * @return A copy of the map, in its current state (but not talking).
+     */
+    @Override
+    public Item copyForWorld() {
+        var copy = new SecretTestingItem();
+        copy.displayName = this.displayName;
+        copy.description = this.description;
+        copy.pickupAttempts = this.pickupAttempts;
+        return copy;
+    }
+
+    /**
+     * The map remembers how it has been handled (and what it now looks like).
+     *
+     * @param out Where to write the state.
+     * @throws IOException if the state cannot be written.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeUTF(this.displayName);
+        out.writeUTF(this.description);
+        out.writeBoolean(this.isPlayerHoldingMap);
+        out.writeInt(this.pickupAttempts);
+    }
+
+    /**
+     * Restore how the map has been handled. (A restored map held by a player does not start
+     * talking again until it is next picked up.)
+     *
+     * @param in Where to read the state from.
+     * @throws IOException if the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        this.displayName = in.readUTF();
+        this.description = in.readUTF();
+        this.isPlayerHoldingMap = in.readBoolean();
+        this.pickupAttempts = in.readInt();
+    }
+
+    /**
+     * The map's jokes would go on for ever to a player who has left, so it stops talking.
+     *
+     * @param player The player who left.
+     */
+    @Override
+    public void playerLeft(Player player) {
+        talkingMap.stopTalking();
+    }
+
     /* ----------------------------- Item Interaction Handler --------------------------------
      * The game core has notified the item it has been interacted with.
      *
@@ -101,7 +158,7 @@ public class SecretTestingItem implements Item {
                     this.displayName = "Game Map";
 
                     // Start the map talking.
-                    talkingMap.startTalking();
+                    talkingMap.startTalking(itemInteractionEvent.player().getOutput());
 
                     yield ItemInteractionResult.success("The map has been taken!");
                 }
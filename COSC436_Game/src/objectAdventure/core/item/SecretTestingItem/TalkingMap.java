@@ -1,11 +1,14 @@
 package objectAdventure.core.item.SecretTestingItem;
 
 import objectAdventure.common.Utils;
+import objectAdventure.core.output.GameOutput;
+import objectAdventure.core.schedule.GameRandom;
+import objectAdventure.core.schedule.GameScheduler;
+import objectAdventure.core.schedule.ScheduledEvent;
 
 import java.util.LinkedList;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * The TalkingMap class is responsible for periodically displaying random jokes from a predefined list.
@@ -28,13 +31,10 @@ public class TalkingMap {
             "Lbh guvax anivtngvat vf uneq? Gel orvat n znc!",
             "Vs lbh frr n fvta gung fnlf 'Lbh ner urer', qba'g oryvrir vg."
     };
-    // Random object to select jokes randomly
-    private final Random rnd = new Random();
-
     // LinkedList to keep track of the last 5 jokes displayed
     private final LinkedList<String> recentJokes = new LinkedList<>();
-    // Timer to schedule the joke display task
-    private Timer timer;
+    // The scheduled joke display event (null when the map is quiet)
+    private ScheduledEvent talking;
 
     /**
      * Selects a unique joke that has not been displayed in the last 5 iterations.
@@ -46,7 +46,7 @@ public class TalkingMap {
 
         // Loop until a unique joke is found
         do {
-            joke = JOKES[rnd.nextInt(JOKES.length)];
+            joke = JOKES[GameRandom.getDefault().nextInt(JOKES.length)]; // Engine-wide, so a game can be replayed.
         } while (recentJokes.contains(joke));
 
         // Add the joke to the list of last jokes
@@ -62,33 +62,31 @@ public class TalkingMap {
 
 
     /**
-     * Creates a TimerTask that prints a unique joke to the console.
+     * Tells a unique joke.
      *
-     * @return A TimerTask that prints a unique joke.
+     * @param listener Where to tell the joke.
      */
-    TimerTask getTask() {
-        return new TimerTask() {
-            @Override
-            public void run() {
-                System.out.println("\nYour Map Says: " + getUniqueJoke());
-            }
-        };
+    private void talk(GameOutput listener) {
+        listener.println("\nYour Map Says: " + getUniqueJoke());
     }
 
     /**
-     * Starts the timer to display jokes at fixed intervals.
+     * Starts telling jokes at fixed intervals (on the engine-wide scheduler).
+     *
+     * @param listener Where to tell the jokes (the output of the player holding the map).
      */
-    void startTalking() {
-        if (timer != null) timer.cancel();
-        timer = new Timer("GameMap_Talker");
-        timer.schedule(getTask(), 1_000, 30_000);
+    void startTalking(GameOutput listener) {
+        stopTalking();
+        talking = GameScheduler.getDefault().scheduleAtFixedRate(() -> talk(listener), 1, 30, SECONDS);
     }
 
     /**
-     * Stops the timer and cancels the joke display task.
+     * Stops telling jokes.
      */
     void stopTalking() {
-        if (timer != null)
-            timer.cancel();
+        if (talking != null) {
+            talking.cancel();
+            talking = null;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package objectAdventure.core.map;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -101,7 +102,7 @@ public class GameMap {
         var roomList = this.map.get(roomId);
 
         // Room Connections
-        var connections = new HashMap<Direction, Integer>();
+        var connections = new LinkedHashMap<Direction, Integer>(); // In connection order, on every run.
 
         // Build a list of connections by iterating over the list of room exits.
         java.util.stream.IntStream.range(0, values().length)
@@ -1,17 +1,25 @@
 package objectAdventure.core.map;
 
+import objectAdventure.core.item.ItemLocationIndex;
 import objectAdventure.core.room.NoSuchRoomException;
 import objectAdventure.core.room.Room;
 import objectAdventure.core.room.RoomInitializer;
+import objectAdventure.core.room.RoomPresenceIndex;
+import objectAdventure.core.room.SecretTestingRoom.SecretTestingRoom;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * The RoomList class is a singleton class that contains all the rooms in the game.
+ * The RoomList class contains all the rooms in a game world.
+ * <p>
+ * {@link #newInstance()} returns the default world, shared by every game that doesn't ask for
+ * one of its own. Independent worlds (e.g. one per party of players) are made by cloning a
+ * template world built with {@link #newTemplate()}: see {@link #cloneWorld()}.
  *
  * @author Adam J. Conover, COSC436/COSC716
  */
@@ -20,13 +28,24 @@ public final class RoomList {
     private static final Logger LOGGER = Logger.getGlobal();
     private static final int SECRET_ROOM = 99;
     private static RoomList instance;
-    private final Map<Integer, Room> roomMap = new TreeMap<>();
+    private final Map<Integer, Room> roomMap = new ConcurrentSkipListMap<>();
+    private final ItemLocationIndex itemLocationIndex;
+    private final RoomPresenceIndex presenceIndex = new RoomPresenceIndex();
+
+    // The world this one was cloned from (null if not a clone). Rooms not yet in roomMap are
+    // copied from the template on first use.
+    private final RoomList template;
 
     /**
-     * Prevent instantiation, this is a singleton class.
+     * Prevent instantiation; use one of the factory methods.
+     *
+     * @param template The world to clone rooms from, or null.
      */
-    private RoomList() {
-        // Force usage of factory method.
+    private RoomList(RoomList template) {
+        this.template = template;
+        this.itemLocationIndex = template == null
+                ? new ItemLocationIndex()
+                : new ItemLocationIndex(this::copyAllRoomsFromTemplate);
     }
 
     /**
@@ -38,18 +57,46 @@ public final class RoomList {
      */
     public static synchronized RoomList newInstance() {
             if (instance == null) {
-                // Create a new instance of the RoomList.
-                var roomList = new RoomList();
-                
-                // Initialize the rooms in the game.
-                RoomInitializer.initRooms(roomList);
-                
-                instance = roomList;
+                instance = newTemplate();
             }
 
             return instance;
     }
 
+    /**
+     * Build a new, fully initialized world, independent of every other. Building a world runs
+     * every room's constructor, so use {@link #cloneWorld()} to make further copies of it.
+     *
+     * @return a fully constructed room list object
+     */
+    public static RoomList newTemplate() {
+        // Create a new instance of the RoomList.
+        var roomList = new RoomList(null);
+
+        // Initialize the rooms in the game.
+        RoomInitializer.initRooms(roomList);
+
+        // Add the secret testing room (always part of the world, so that saved games can
+        // restore what is in it).
+        roomList.addRoom(SecretTestingRoom.newInstance(SECRET_ROOM, "Secret Testing Room"));
+
+        return roomList;
+    }
+
+    /**
+     * Create an independent copy of this world. Cloning takes constant time: each room is
+     * copied (see {@link Room#copyForWorld()}) only when it is first looked up in the clone,
+     * so a world costs only as much as the parts of it that are actually visited.
+     * <p>
+     * Rooms are copied as they are at the time of that first lookup, so the world being cloned
+     * should be a template that is never played in.
+     *
+     * @return The new world.
+     */
+    public RoomList cloneWorld() {
+        return new RoomList(this);
+    }
+
     /**
      * Get the room object from the ID.
      *
@@ -58,11 +105,13 @@ public final class RoomList {
      * @throws NoSuchRoomException thrown if the room does not exist.
      */
     public Optional<Room> getRoomFromID(int roomId) {
-        if (this.exists(roomId)) {
-            return Optional.of(roomMap.get(roomId));
-        } else {
-            return Optional.empty();
+        Room room = roomMap.get(roomId);
+
+        if (room == null && template != null) {
+            room = copyRoomFromTemplate(roomId);
         }
+
+        return Optional.ofNullable(room);
     }
 
     /**
@@ -72,7 +121,35 @@ public final class RoomList {
      * @return true if exists, false otherwise.
      */
     private boolean exists(int roomId) {
-        return roomMap.containsKey(roomId);
+        return roomMap.containsKey(roomId) || (template != null && template.exists(roomId));
+    }
+
+    /**
+     * Copy a room from the template into this world, unless another thread beat us to it.
+     *
+     * @param roomId The ID of the room to copy.
+     * @return The room, or null if there is no such room.
+     */
+    private synchronized Room copyRoomFromTemplate(int roomId) {
+        Room room = roomMap.get(roomId);
+
+        if (room == null) {
+            room = template.getRoomFromID(roomId).map(Room::copyForWorld).orElse(null);
+            if (room != null) {
+                roomMap.put(roomId, room);
+                room.attachItemLocationIndex(itemLocationIndex);
+            }
+        }
+
+        return room;
+    }
+
+    /**
+     * Copy every room not yet copied from the template. (Used when the whole world is needed,
+     * e.g. to find an item wherever it is.)
+     */
+    private void copyAllRoomsFromTemplate() {
+        template.roomMap.keySet().forEach(this::getRoomFromID);
     }
 
 
@@ -81,7 +158,7 @@ public final class RoomList {
      *
      * @param room The room object being added to the map.
      */
-    public void addRoom(Room room) {
+    public synchronized void addRoom(Room room) {
         Integer roomId = room.getRoomId();
 
         if (roomId == null) {
@@ -91,12 +168,18 @@ public final class RoomList {
         }
 
         // Check if the room already exists in the room list and if it is of a different class
-        if (roomId != SECRET_ROOM && roomMap.containsKey(roomId)) {
+        if (roomId != SECRET_ROOM && exists(roomId)) {
             final String msgTmpl = "Room '%d' already exists in the RoomList. Not adding '%s' (Class: %s) to Room List.";
             LOGGER.log(Level.SEVERE, msgTmpl.formatted(roomId, room.getRoomName(), room.getClass().getSimpleName()));
         } else {
-            // Add the room to the room list
-            roomMap.put(roomId, room);
+            // Add the room to the room list, un-indexing the items of any room it replaces.
+            Room previous = roomMap.put(roomId, room);
+            if (previous != null) {
+                previous.detachItemLocationIndex();
+            }
+
+            // Keep the world-wide item index up to date with the room's items.
+            room.attachItemLocationIndex(itemLocationIndex);
 
             // Log the addition of the room.
             LOGGER.log(Level.CONFIG, "Added room {0}: {1}", new Object[]{roomId, room});
@@ -104,6 +187,37 @@ public final class RoomList {
     }
 
 
+    /**
+     * Get every room in the world, in room ID order.
+     *
+     * @return The rooms.
+     */
+    public List<Room> getRooms() {
+        if (template != null) {
+            copyAllRoomsFromTemplate();
+        }
+        return List.copyOf(roomMap.values());
+    }
+
+    /**
+     * Get the world-wide index of item locations.
+     *
+     * @return The item location index for all rooms in this list.
+     */
+    public ItemLocationIndex getItemLocationIndex() {
+        return itemLocationIndex;
+    }
+
+    /**
+     * Get the world-wide index of which players are in which room. (A cloned world starts
+     * with nobody in it.)
+     *
+     * @return The presence index for all rooms in this list.
+     */
+    public RoomPresenceIndex getPresenceIndex() {
+        return presenceIndex;
+    }
+
     /**
      * Show the contents of all rooms in the game.
      *
@@ -116,6 +230,9 @@ public final class RoomList {
         sb.append("Game Contents:\n");
 
         // Iterate through each room in the room list and build room and item details
+        if (template != null) {
+            copyAllRoomsFromTemplate();
+        }
         for (var room : roomMap.values()) {
             String className = room.getClass().getSimpleName();
             sb.append("\tRoom %02d (%s): %s\n"
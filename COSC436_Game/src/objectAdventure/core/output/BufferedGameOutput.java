@@ -0,0 +1,83 @@
+package objectAdventure.core.output;
+
+/**
+ * A player's output, collected in memory until the session collects it.
+ *
+ * <p>Text written while a command is being processed is simply held, and the session takes it
+ * (along with the command's result) when the command is done. Text written at any other time
+ * comes from something happening in the background, such as a timed event. The session is
+ * then told (see {@link #setAsyncOutputListener(Runnable)}) so that it can pass it on straight
+ * away, rather than leaving it until the player's next command.</p>
+ *
+ * <p>Writes may come from any thread, so the buffer is synchronized.</p>
+ */
+public final class BufferedGameOutput implements GameOutput {
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    // Set while the session is processing a command.
+    private boolean commandInProgress = false;
+
+    // Told when text arrives between commands.
+    private volatile Runnable asyncOutputListener = () -> { };
+
+    /**
+     * Write some text.
+     *
+     * @param text The text to write.
+     */
+    @Override
+    public void print(String text) {
+        final boolean async;
+        synchronized (this) {
+            buffer.append(text);
+            async = !commandInProgress;
+        }
+
+        // Notify outside the lock; the listener will usually come straight back for the text.
+        if (async) {
+            asyncOutputListener.run();
+        }
+    }
+
+    /**
+     * Set the listener told when text arrives between commands.
+     *
+     * @param listener The listener (run on the writing thread, so it must be quick).
+     */
+    public void setAsyncOutputListener(Runnable listener) {
+        this.asyncOutputListener = listener;
+    }
+
+    /**
+     * Mark the start of a command. Text is held until {@link #endCommand()}.
+     */
+    public synchronized void beginCommand() {
+        commandInProgress = true;
+    }
+
+    /**
+     * Mark the end of a command, and take everything written during it.
+     *
+     * @return The text written since the buffer was last drained.
+     */
+    public synchronized String endCommand() {
+        commandInProgress = false;
+        return drain();
+    }
+
+    /**
+     * Take everything written so far, leaving the buffer empty.
+     *
+     * @return The text written since the buffer was last drained.
+     */
+    public synchronized String drain() {
+        if (buffer.isEmpty()) {
+            return "";
+        }
+
+        final String text = buffer.toString();
+        buffer.setLength(0);
+        return text;
+    }
+}
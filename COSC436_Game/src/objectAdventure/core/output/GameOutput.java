@@ -0,0 +1,44 @@
+package objectAdventure.core.output;
+
+/**
+ * A destination for game text meant for one player.
+ */
+@FunctionalInterface
+public interface GameOutput {
+
+    /**
+     * Writes straight to the console. (The default for a player not in a session.)
+     */
+    GameOutput CONSOLE = System.out::print;
+
+    /**
+     * Throws everything away.
+     */
+    GameOutput DISCARD = text -> { };
+
+    /**
+     * Write some text.
+     *
+     * @param text The text to write.
+     */
+    void print(String text);
+
+    /**
+     * Write a line of text.
+     *
+     * @param text The text to write.
+     */
+    default void println(String text) {
+        print(text + System.lineSeparator());
+    }
+
+    /**
+     * Write formatted text.
+     *
+     * @param format The format string (see {@link String#format(String, Object...)}).
+     * @param args   The format arguments.
+     */
+    default void printf(String format, Object... args) {
+        print(format.formatted(args));
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Where game text goes.
+ *
+ * <p>Game code never writes to {@code System.out} directly. Text meant for a player (from
+ * rooms, items, handlers, or timed events) goes to that player's
+ * {@link objectAdventure.core.output.GameOutput}. A session gives each of its players a
+ * {@link objectAdventure.core.output.BufferedGameOutput}, which it drains once per command, so
+ * each player sees exactly their own messages, in order, in one write.</p>
+ */
+package objectAdventure.core.output;
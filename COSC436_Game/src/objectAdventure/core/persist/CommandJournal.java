@@ -0,0 +1,563 @@
+package objectAdventure.core.persist;
+
+import objectAdventure.core.command.CommandResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A write-ahead journal of the commands that changed the game since the last snapshot, so that
+ * a crash between snapshots loses (almost) nothing.
+ *
+ * <p>Every command that may have changed the game (see {@link CommandResult#changesWorld()}) is
+ * appended, as the player's name and the line they typed, to the current journal segment. A
+ * single writer thread writes whatever has been appended since its last write in one go, and
+ * (depending on the {@link FsyncPolicy}) forces it to disk: while one batch is being forced,
+ * the next builds up, so however many players are waiting, there is at most one fsync in
+ * flight ("group commit").</p>
+ *
+ * <p>Replaying the records must repeat the game exactly, so they must be in the order the
+ * commands ran in: if one player drops the sword and another then takes it, the take must not
+ * come first. So the journal runs the commands it records one at a time, each appended before
+ * the next starts ({@link #record}); sessions on other threads (virtual-thread sessions, bots)
+ * wait their turn. Only the wait for the disk happens outside, so commands still share
+ * fsyncs.</p>
+ *
+ * <p>Each snapshot starts a new segment ({@link #checkpoint(LongFunction)}), at a moment when no
+ * command is running, and records its number. On startup, the segments from that number on
+ * are replayed on top of the snapshot ({@link #replay(Path, long, BiConsumer)}); once a
+ * snapshot is safely on disk, the segments before it are deleted ({@link #compact(long)}).</p>
+ *
+ * <p>Each record is its length, a CRC-32 of its contents, and the contents, so a record torn
+ * by a crash (or otherwise damaged) is recognized, and replay stops there.</p>
+ */
+public final class CommandJournal implements AutoCloseable {
+
+    /**
+     * When the journal forces what it has written to disk.
+     */
+    public enum FsyncPolicy {
+        /** After every batch; a command does not finish until its record is on disk. */
+        COMMIT,
+        /** At most every {@link #FSYNC_INTERVAL_MILLIS}; commands never wait for the disk. */
+        INTERVAL,
+        /** Never; the operating system writes the journal out when it sees fit. */
+        NONE
+    }
+
+    /**
+     * The longest the journal goes without forcing its writes to disk (milliseconds), under
+     * {@link FsyncPolicy#INTERVAL}.
+     */
+    public static final long FSYNC_INTERVAL_MILLIS = 100;
+
+    private static final Logger LOGGER = Logger.getGlobal();
+
+    // Length and CRC.
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    // Anything bigger is damage, not a record.
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+
+    // The most records that may wait for the writer; commands wait for room beyond that.
+    private static final int MAX_QUEUED_RECORDS = 64 * 1024;
+
+    private final Path baseFile;
+    private final FsyncPolicy policy;
+
+    // Held while a command runs and is appended (so commands are journaled in the order they ran),
+    // and while a checkpoint starts a new segment.
+    private final ReentrantLock commandLock = new ReentrantLock();
+
+    // Guards the queue and the sequence numbers below, shared with the writer thread.
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition workArrived = queueLock.newCondition();
+    private final Condition progressMade = queueLock.newCondition();
+    private final Condition spaceFreed = queueLock.newCondition();
+    private final Queue<byte[]> queue = new ArrayDeque<>();
+    private long appendedCount = 0;
+    private long writtenCount = 0;
+    private long syncedCount = 0;
+    private IOException failure;
+    private boolean running = true;
+
+    // The open segment. (Replaced by checkpoints, under channelLock.)
+    private final ReentrantLock channelLock = new ReentrantLock();
+    private FileChannel channel;
+    private long segment;
+
+    private final Thread writer;
+
+    /**
+     * Constructor for the CommandJournal.
+     *
+     * @param baseFile     The save file the journal belongs to (segments are written beside it).
+     * @param firstSegment The number of the first segment to write.
+     * @param policy       When to force writes to disk.
+     * @throws IOException if the segment cannot be opened.
+     */
+    public CommandJournal(Path baseFile, long firstSegment, FsyncPolicy policy) throws IOException {
+        this.baseFile = baseFile;
+        this.policy = policy;
+        this.segment = firstSegment;
+        this.channel = FileChannel.open(segmentFile(baseFile, firstSegment), CREATE, WRITE, APPEND);
+        this.writer = Thread.ofPlatform().daemon().name("CommandJournal").start(this::runWriter);
+    }
+
+    /**
+     * Get the highest journal segment number beside a save file.
+     *
+     * @param baseFile The save file.
+     * @return The highest segment number, or -1 if there are no segments.
+     * @throws IOException if the directory cannot be read.
+     */
+    public static long lastSegment(Path baseFile) throws IOException {
+        return segments(baseFile).stream().mapToLong(Long::longValue).max().orElse(-1);
+    }
+
+    /**
+     * Replay the journal segments beside a save file, from a given segment on, in order. Replay
+     * stops at the first damaged record (the end of what was written before a crash).
+     *
+     * @param baseFile    The save file.
+     * @param fromSegment The first segment to replay.
+     * @param command     Receives each player name and command line.
+     * @return The number of commands replayed.
+     * @throws IOException if a segment cannot be read.
+     */
+    public static long replay(Path baseFile, long fromSegment, BiConsumer<String, String> command) throws IOException {
+        long count = 0;
+
+        for (long number : segments(baseFile)) {
+            if (number < fromSegment) {
+                continue;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentFile(baseFile, number)));
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                final int length = buffer.getInt();
+                final int crc = buffer.getInt();
+                if (length < 0 || length > MAX_RECORD_SIZE || length > buffer.remaining()) {
+                    LOGGER.log(Level.WARNING, "Journal segment %d ends with an incomplete record.".formatted(number));
+                    return count;
+                }
+
+                final byte[] record = new byte[length];
+                buffer.get(record);
+                if (crc(record) != crc) {
+                    LOGGER.log(Level.WARNING, "Journal segment %d has a damaged record.".formatted(number));
+                    return count;
+                }
+
+                final ByteBuffer fields = ByteBuffer.wrap(record);
+                command.accept(readString(fields), readString(fields));
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Run a command, and record it if it may have changed the game. Commands recorded from
+     * several threads run one at a time, in the order they are journaled. Depending on the
+     * policy, this then waits until the record is on disk.
+     *
+     * @param playerName The name of the player running the command.
+     * @param line       The command line.
+     * @param command    Runs the command.
+     * @return The command's result.
+     * @throws UncheckedIOException if the journal cannot be written.
+     */
+    public CommandResult record(String playerName, String line, Supplier<CommandResult> command) {
+        final CommandResult result;
+        long sequence = 0;
+
+        commandLock.lock();
+        try {
+            result = command.get();
+            if (result.changesWorld()) {
+                sequence = append(encode(playerName, line));
+            }
+        } finally {
+            commandLock.unlock();
+        }
+
+        if (sequence > 0 && policy == FsyncPolicy.COMMIT) {
+            awaitSynced(sequence);
+        }
+        return result;
+    }
+
+    /**
+     * Start a new segment, and take a snapshot at the same moment (while no command is running),
+     * so that the snapshot and the new segment pick up exactly where the other leaves off.
+     *
+     * @param snapshot Takes the snapshot, given the number of the new segment.
+     * @param <T>      The type of the snapshot.
+     * @return The snapshot.
+     * @throws UncheckedIOException if the new segment cannot be started.
+     */
+    public <T> T checkpoint(LongFunction<T> snapshot) {
+        commandLock.lock();
+        try {
+            // Everything before the new segment must be on disk before the snapshot replaces it.
+            final long appended = appendedCount();
+            awaitWritten(appended);
+
+            channelLock.lock();
+            try {
+                channel.force(false);
+                channel.close();
+                segment++;
+                channel = FileChannel.open(segmentFile(baseFile, segment), CREATE, WRITE, APPEND);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                channelLock.unlock();
+            }
+
+            return snapshot.apply(segment);
+        } finally {
+            commandLock.unlock();
+        }
+    }
+
+    /**
+     * Delete the segments a snapshot has replaced.
+     *
+     * @param snapshotSegment The segment the snapshot was taken at: every earlier one goes.
+     * @throws IOException if a segment cannot be deleted.
+     */
+    public void compact(long snapshotSegment) throws IOException {
+        for (long number : segments(baseFile)) {
+            if (number < snapshotSegment) {
+                Files.deleteIfExists(segmentFile(baseFile, number));
+            }
+        }
+    }
+
+    /**
+     * Write (and force) everything appended so far, and stop the writer.
+     *
+     * @throws IOException if the journal cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        awaitSynced(appendedCount());
+
+        queueLock.lock();
+        try {
+            running = false;
+            workArrived.signal();
+            spaceFreed.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        channelLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    /**
+     * Queue a record for the writer, first waiting for room if the writer has fallen far behind
+     * (so that, whatever the policy, records cannot pile up in memory without limit).
+     *
+     * @param record The encoded record.
+     * @return The record's sequence number (from 1).
+     * @throws UncheckedIOException if the writer has failed.
+     */
+    private long append(byte[] record) {
+        queueLock.lock();
+        try {
+            while (queue.size() >= MAX_QUEUED_RECORDS && failure == null && running) {
+                spaceFreed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+            queue.add(record);
+            workArrived.signal();
+            return ++appendedCount;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of records appended so far.
+     *
+     * @return The number of records.
+     */
+    private long appendedCount() {
+        queueLock.lock();
+        try {
+            return appendedCount;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Wait until a record has been written (though not necessarily forced to disk).
+     *
+     * @param sequence The record's sequence number.
+     */
+    private void awaitWritten(long sequence) {
+        await(sequence, false);
+    }
+
+    /**
+     * Wait until a record has been forced to disk (or, if the policy never forces, written).
+     *
+     * @param sequence The record's sequence number.
+     */
+    private void awaitSynced(long sequence) {
+        await(sequence, policy == FsyncPolicy.COMMIT);
+    }
+
+    /**
+     * Wait for the writer to get past a record.
+     *
+     * @param sequence The record's sequence number.
+     * @param synced   true to wait for the record to be forced to disk, false to wait for it
+     *                 to be written.
+     * @throws UncheckedIOException if the writer has failed.
+     */
+    private void await(long sequence, boolean synced) {
+        queueLock.lock();
+        try {
+            while ((synced ? syncedCount : writtenCount) < sequence && failure == null) {
+                progressMade.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * The writer thread: take everything queued, write it in one go, and force it to disk if
+     * the policy says so.
+     */
+    private void runWriter() {
+        final List<byte[]> batch = new ArrayList<>();
+        long lastForce = System.nanoTime();
+        boolean unforced = false;
+
+        while (true) {
+            final long batchEnd;
+            queueLock.lock();
+            try {
+                while (queue.isEmpty() && running) {
+                    if (unforced) {
+                        // Come back to force what was written, even if nothing more arrives.
+                        workArrived.awaitNanos(TimeUnit.MILLISECONDS.toNanos(FSYNC_INTERVAL_MILLIS));
+                        break;
+                    }
+                    workArrived.awaitUninterruptibly();
+                }
+                if (queue.isEmpty() && !running) {
+                    return;
+                }
+                batch.addAll(queue);
+                queue.clear();
+                batchEnd = appendedCount;
+                spaceFreed.signalAll();
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                queueLock.unlock();
+            }
+
+            final boolean force;
+            try {
+                channelLock.lock();
+                try {
+                    write(batch);
+                    unforced |= policy == FsyncPolicy.INTERVAL && !batch.isEmpty();
+                    force = switch (policy) {
+                        case COMMIT -> true;
+                        case INTERVAL -> unforced && System.nanoTime() - lastForce
+                                >= TimeUnit.MILLISECONDS.toNanos(FSYNC_INTERVAL_MILLIS);
+                        case NONE -> false;
+                    };
+                    if (force) {
+                        channel.force(false);
+                        lastForce = System.nanoTime();
+                        unforced = false;
+                    }
+                } finally {
+                    channelLock.unlock();
+                }
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            batch.clear();
+
+            queueLock.lock();
+            try {
+                writtenCount = batchEnd;
+                if (force || policy != FsyncPolicy.COMMIT) {
+                    syncedCount = batchEnd;
+                }
+                progressMade.signalAll();
+            } finally {
+                queueLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Write a batch of records to the open segment.
+     *
+     * @param batch The records.
+     * @throws IOException if the records cannot be written.
+     */
+    private void write(List<byte[]> batch) throws IOException {
+        final ByteBuffer[] buffers = batch.stream().map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+
+        // Each write starts from the first buffer not yet written (rather than passing every
+        // buffer again, which the channel would scan from the start each time).
+        int first = 0;
+        while (first < buffers.length) {
+            channel.write(buffers, first, buffers.length - first);
+            while (first < buffers.length && !buffers[first].hasRemaining()) {
+                first++;
+            }
+        }
+    }
+
+    /**
+     * Stop taking records, and let every waiting command know why.
+     *
+     * @param ex What went wrong.
+     */
+    private void fail(IOException ex) {
+        LOGGER.log(Level.SEVERE, "The command journal cannot be written: " + ex.getMessage());
+
+        queueLock.lock();
+        try {
+            failure = ex;
+            progressMade.signalAll();
+            spaceFreed.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Encode a record: its length, its CRC, the player's name and the command line.
+     *
+     * @param playerName The player's name.
+     * @param line       The command line.
+     * @return The record.
+     */
+    private static byte[] encode(String playerName, String line) {
+        final byte[] name = playerName.getBytes(UTF_8);
+        final byte[] command = line.getBytes(UTF_8);
+
+        final ByteBuffer fields = ByteBuffer.allocate(8 + name.length + command.length);
+        fields.putInt(name.length).put(name).putInt(command.length).put(command);
+
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + fields.capacity())
+                         .putInt(fields.capacity())
+                         .putInt(crc(fields.array()))
+                         .put(fields.array())
+                         .array();
+    }
+
+    /**
+     * Read a length-prefixed string from a record.
+     *
+     * @param fields The record.
+     * @return The string.
+     */
+    private static String readString(ByteBuffer fields) {
+        final byte[] bytes = new byte[fields.getInt()];
+        fields.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Get the CRC-32 of a record's contents.
+     *
+     * @param bytes The contents.
+     * @return The CRC.
+     */
+    private static int crc(byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Get the numbers of the journal segments beside a save file, in order.
+     *
+     * @param baseFile The save file.
+     * @return The segment numbers.
+     * @throws IOException if the directory cannot be read.
+     */
+    private static List<Long> segments(Path baseFile) throws IOException {
+        final Path directory = baseFile.toAbsolutePath().getParent();
+        final String prefix = baseFile.getFileName() + ".journal.";
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.startsWith(prefix))
+                        .map(name -> name.substring(prefix.length()))
+                        .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                        .map(Long::parseLong)
+                        .sorted()
+                        .toList();
+        }
+    }
+
+    /**
+     * Get the file for a journal segment.
+     *
+     * @param baseFile The save file.
+     * @param segment  The segment number.
+     * @return The segment file.
+     */
+    private static Path segmentFile(Path baseFile, long segment) {
+        return baseFile.resolveSibling("%s.journal.%06d".formatted(baseFile.getFileName(), segment));
+    }
+}
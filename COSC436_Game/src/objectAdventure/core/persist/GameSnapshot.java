@@ -0,0 +1,94 @@
+package objectAdventure.core.persist;
+
+import objectAdventure.core.item.Item;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Everything about a game that changes during play, at one moment: the items in each room, and
+ * where each player is and what they carry. Items are recorded by class, along with whatever
+ * state they save (see {@link Item#writeState(java.io.DataOutput)}).
+ *
+ * @param savedAt        The time the snapshot was taken (milliseconds since the epoch).
+ * @param journalSegment The first {@link CommandJournal} segment written after the snapshot
+ *                       was taken (the first to replay on top of it).
+ * @param rooms          The items in each room.
+ * @param players        The players.
+ */
+public record GameSnapshot(long savedAt, long journalSegment, List<RoomState> rooms, List<PlayerState> players) {
+
+    /**
+     * Constructor for GameSnapshot.
+     */
+    public GameSnapshot {
+        rooms = List.copyOf(rooms);
+        players = List.copyOf(players);
+    }
+
+    /**
+     * One item: its class and its saved state.
+     *
+     * @param type  The item's class name.
+     * @param state The item's saved state (empty if it saves none).
+     */
+    public record ItemState(String type, byte[] state) {
+
+        private static final byte[] NO_STATE = new byte[0];
+
+        /**
+         * Record an item as it is now.
+         *
+         * @param item The item.
+         * @return The item's state.
+         */
+        public static ItemState of(Item item) {
+            try {
+                var bytes = new ByteArrayOutputStream();
+                var out = new DataOutputStream(bytes);
+                item.writeState(out);
+                out.flush();
+                return new ItemState(item.getClass().getName(), bytes.size() == 0 ? NO_STATE : bytes.toByteArray());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); // Never thrown by a byte array.
+            }
+        }
+
+        /**
+         * Put an item back into the recorded state.
+         *
+         * @param item The item (of the recorded class).
+         * @throws IOException if the item cannot read its state.
+         */
+        public void applyTo(Item item) throws IOException {
+            if (state.length > 0) {
+                item.readState(new DataInputStream(new ByteArrayInputStream(state)));
+            }
+        }
+    }
+
+    /**
+     * The items in one room.
+     *
+     * @param roomId The room ID.
+     * @param items  The items in the room.
+     */
+    public record RoomState(int roomId, List<ItemState> items) {
+    }
+
+    /**
+     * One player: where they are and what they carry.
+     *
+     * @param name           The player's name.
+     * @param roomId         The room the player is in.
+     * @param previousRoomId The room the player was in before that.
+     * @param items          The player's inventory.
+     */
+    public record PlayerState(String name, int roomId, int previousRoomId, List<ItemState> items) {
+    }
+}
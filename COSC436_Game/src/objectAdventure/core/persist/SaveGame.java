@@ -0,0 +1,499 @@
+package objectAdventure.core.persist;
+
+import objectAdventure.core.command.CommandInterpreter;
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.GameSession;
+import objectAdventure.core.item.Item;
+import objectAdventure.core.item.ItemContainerLocks;
+import objectAdventure.core.map.RoomList;
+import objectAdventure.core.persist.GameSnapshot.ItemState;
+import objectAdventure.core.persist.GameSnapshot.PlayerState;
+import objectAdventure.core.persist.GameSnapshot.RoomState;
+import objectAdventure.core.player.Player;
+import objectAdventure.core.room.Room;
+import objectAdventure.core.schedule.GameScheduler;
+import objectAdventure.core.schedule.ScheduledEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A game saved to (and restored from) a file.
+ *
+ * <p>{@link #open(Path, RoomList)} restores the world from the file, if there is one: every
+ * saved room is emptied and refilled with what it held when the game was saved. The items are
+ * the world's own, reused by class, so restoring only builds the world once. Players are
+ * restored by name as they {@link #join(Player)}; until then, their items are held aside (and
+ * still saved).</p>
+ *
+ * <p>Saving takes a snapshot while briefly holding every item-transfer lock (so no item is
+ * part-way between a room and a player), then encodes and writes it with the locks released.
+ * Autosaves take their snapshot on the {@link GameScheduler} thread and write it on a thread
+ * of their own, so play never waits for the disk. Files are replaced atomically, so a crash
+ * mid-save leaves the previous save intact.</p>
+ *
+ * <p>Opened with a {@link CommandJournal} ({@link #open(Path, RoomList, CommandJournal.FsyncPolicy)}),
+ * the commands that change the game between saves are journaled too, and replayed on top of
+ * the last save when the game is next opened. Each save starts a new journal segment, and the
+ * segments it replaces are deleted once it is on disk.</p>
+ */
+public final class SaveGame implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getGlobal();
+
+    private final Path file;
+    private final RoomList world;
+
+    // Every player who has joined since the game started. (Players who leave are kept, so that
+    // what they were carrying is still saved.)
+    private final List<Player> players = new CopyOnWriteArrayList<>();
+
+    // Saved players who have not rejoined yet, by name, and the items they were carrying.
+    private final Map<String, PendingPlayer> pending = new ConcurrentHashMap<>();
+
+    // Set while an autosave is being written, so a slow disk never queues up saves.
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+
+    private ScheduledEvent autosaveEvent;
+    private ExecutorService writer;
+
+    // The journal (null if the game is not journaled), and the journal segment a save taken
+    // now would start at.
+    private CommandJournal journal;
+    private long journalSegment = 0;
+
+    /**
+     * A saved player who has not rejoined yet.
+     *
+     * @param state The player's saved state.
+     * @param items The player's (restored) items.
+     */
+    private record PendingPlayer(PlayerState state, List<Item> items) {
+    }
+
+    /**
+     * Private constructor; see {@link #open(Path, RoomList)}.
+     *
+     * @param file  The save file.
+     * @param world The world being saved.
+     */
+    private SaveGame(Path file, RoomList world) {
+        this.file = file;
+        this.world = world;
+    }
+
+    /**
+     * Open a saved game, restoring the world from the file if it exists. (Do this before any
+     * player joins the world.)
+     *
+     * @param file  The save file.
+     * @param world The world to restore (and later save).
+     * @return The saved game.
+     * @throws IOException if the file exists but cannot be read.
+     */
+    public static SaveGame open(Path file, RoomList world) throws IOException {
+        var saveGame = new SaveGame(file, world);
+        final long snapshotSegment = saveGame.restoreFromFile();
+
+        // Any journal left beside the file is older than anything saved from now on.
+        saveGame.journalSegment = Math.max(snapshotSegment, CommandJournal.lastSegment(file) + 1);
+
+        return saveGame;
+    }
+
+    /**
+     * Open a saved game with a command journal: restore the world from the file (if it exists),
+     * replay the journal on top of it, and save the result, starting a fresh journal. (Do this
+     * before any player joins the world.)
+     *
+     * @param file   The save file.
+     * @param world  The world to restore (and later save).
+     * @param policy When the journal forces its writes to disk.
+     * @return The saved game.
+     * @throws IOException if the file or the journal exists but cannot be read.
+     */
+    public static SaveGame open(Path file, RoomList world, CommandJournal.FsyncPolicy policy) throws IOException {
+        var saveGame = new SaveGame(file, world);
+        final long snapshotSegment = saveGame.restoreFromFile();
+
+        final long start = System.nanoTime();
+        final long replayed = saveGame.replayJournal(snapshotSegment);
+        if (replayed > 0) {
+            LOGGER.log(Level.INFO, "Replayed %d journaled commands in %.1f ms."
+                    .formatted(replayed, (System.nanoTime() - start) / 1e6));
+        }
+
+        saveGame.journal = new CommandJournal(file, CommandJournal.lastSegment(file) + 1, policy);
+        saveGame.save(); // Start from a clean slate: one save, one empty journal segment.
+
+        return saveGame;
+    }
+
+    /**
+     * Get the journal, if the game is journaled. Give it to each player's
+     * {@link GameController#setJournal(CommandJournal)}.
+     *
+     * @return The journal, or an empty Optional.
+     */
+    public Optional<CommandJournal> getJournal() {
+        return Optional.ofNullable(journal);
+    }
+
+    /**
+     * Add a player to the game, restoring their place and inventory if they were saved. Call
+     * this before creating the player's {@link objectAdventure.core.command.GameController}.
+     *
+     * @param player The player.
+     */
+    public void join(Player player) {
+        // Under the transfer locks, so no snapshot sees the player's items in neither place.
+        ItemContainerLocks.getDefault().withAllLocks(() -> {
+            PendingPlayer saved = pending.remove(player.getPlayerName());
+            if (saved != null) {
+                if (world.getRoomFromID(saved.state().roomId()).isPresent()) {
+                    player.setCurrentRoomId(saved.state().previousRoomId());
+                    player.setCurrentRoomId(saved.state().roomId());
+                }
+                saved.items().forEach(player::addItem);
+            }
+            return players.add(player);
+        });
+    }
+
+    /**
+     * Take a snapshot of the game as it is now.
+     *
+     * @return The snapshot.
+     */
+    public GameSnapshot capture() {
+        // With a journal, a snapshot starts a new segment, while no command is running.
+        return journal == null ? capture(journalSegment) : journal.checkpoint(this::capture);
+    }
+
+    /**
+     * Take a snapshot of the game as it is now.
+     *
+     * @param segment The journal segment the snapshot starts.
+     * @return The snapshot.
+     */
+    private GameSnapshot capture(long segment) {
+        final List<Room> rooms = world.getRooms();
+        final List<List<Item>> roomItems = new ArrayList<>(rooms.size());
+        final List<Player> joined = new ArrayList<>();
+        final List<List<Item>> playerItems = new ArrayList<>();
+        final List<PlayerState> waiting = new ArrayList<>();
+
+        // Under the locks, only note where every item is (copying references, not items), so
+        // transfers wait as little as possible. Recording the items can wait until after.
+        final long savedAt = ItemContainerLocks.getDefault().withAllLocks(() -> {
+            rooms.forEach(room -> roomItems.add(room.getItemList()));
+            joined.addAll(players);
+            joined.forEach(player -> playerItems.add(List.copyOf(player.getItemList())));
+            pending.values().forEach(saved -> waiting.add(saved.state()));
+            return System.currentTimeMillis();
+        });
+
+        List<RoomState> roomStates = new ArrayList<>(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            roomStates.add(new RoomState(rooms.get(i).getRoomId(), itemStates(roomItems.get(i))));
+        }
+
+        List<PlayerState> playerStates = new ArrayList<>(joined.size() + waiting.size());
+        for (int i = 0; i < joined.size(); i++) {
+            final Player player = joined.get(i);
+            playerStates.add(new PlayerState(player.getPlayerName(), player.getCurrentRoomId(),
+                                             player.getPreviousRoomID(), itemStates(playerItems.get(i))));
+        }
+        playerStates.addAll(waiting);
+
+        return new GameSnapshot(savedAt, segment, roomStates, playerStates);
+    }
+
+    /**
+     * Save the game now, on the calling thread.
+     *
+     * @throws IOException if the game cannot be saved.
+     */
+    public void save() throws IOException {
+        write(capture());
+    }
+
+    /**
+     * Save the game every so often, in the background, until closed.
+     *
+     * @param period The time between saves.
+     * @param unit   The unit of the period.
+     */
+    public synchronized void startAutosave(long period, TimeUnit unit) {
+        if (autosaveEvent != null) {
+            return;
+        }
+
+        writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("Autosave").factory());
+        autosaveEvent = GameScheduler.getDefault().scheduleAtFixedRate(this::autosave, period, period, unit);
+    }
+
+    /**
+     * Stop autosaving and save the game one last time (closing the journal, if any).
+     *
+     * @throws IOException if the game cannot be saved.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (autosaveEvent != null) {
+            autosaveEvent.cancel();
+            writer.shutdown();
+            try {
+                writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            autosaveEvent = null;
+        }
+
+        save();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Take a snapshot (on the scheduler thread) and hand it to the writer thread, unless the
+     * last autosave is still being written.
+     */
+    private void autosave() {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        final GameSnapshot snapshot = capture();
+        try {
+            writer.execute(() -> {
+                try {
+                    write(snapshot);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Autosave to %s failed: %s".formatted(file, ex.getMessage()));
+                } finally {
+                    writing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            writing.set(false); // Closing; the final save will cover it.
+        }
+    }
+
+    /**
+     * Write a snapshot to a temporary file, force it to disk, then move it over the save file
+     * (and delete the journal segments it replaces).
+     *
+     * @param snapshot The snapshot.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    private void write(GameSnapshot snapshot) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            SnapshotCodec.write(snapshot, out);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (journal != null) {
+            journal.compact(snapshot.journalSegment());
+        }
+
+        LOGGER.log(Level.FINE, "Saved the game to %s.".formatted(file));
+    }
+
+    /**
+     * Replay the journaled commands on top of the restored game. Each journaled player plays
+     * their commands in a session of their own (with the text thrown away), then is set aside
+     * again until they rejoin.
+     *
+     * @param fromSegment The first journal segment to replay.
+     * @return The number of commands replayed.
+     * @throws IOException if the journal cannot be read.
+     */
+    private long replayJournal(long fromSegment) throws IOException {
+        Map<String, GameSession> sessions = new HashMap<>();
+
+        final long count = CommandJournal.replay(file, fromSegment, (name, line) ->
+                sessions.computeIfAbsent(name, this::newReplaySession).execute(line));
+
+        for (GameSession session : sessions.values()) {
+            session.leave();
+            setAside(session.getController().getPlayerService().getPlayer());
+        }
+        return count;
+    }
+
+    /**
+     * Create a session for replaying a player's journaled commands.
+     *
+     * @param name The player's name.
+     * @return The session.
+     */
+    private GameSession newReplaySession(String name) {
+        Player player = new Player(name);
+        join(player);
+        return new GameSession(new CommandInterpreter(new GameController(player, world)));
+    }
+
+    /**
+     * Take a player out of the game, holding their state and items aside until they rejoin.
+     *
+     * @param player The player.
+     */
+    private void setAside(Player player) {
+        ItemContainerLocks.getDefault().withAllLocks(() -> {
+            players.remove(player);
+
+            final List<Item> items = List.copyOf(player.getItemList());
+            items.forEach(player::removeItem);
+
+            final PlayerState state = new PlayerState(player.getPlayerName(), player.getCurrentRoomId(),
+                                                      player.getPreviousRoomID(), itemStates(items));
+            return pending.put(player.getPlayerName(), new PendingPlayer(state, items));
+        });
+    }
+
+    /**
+     * Restore the game from the save file, if it exists.
+     *
+     * @return The journal segment the save was taken at (0 if there is no save).
+     * @throws IOException if the file exists but cannot be read.
+     */
+    private long restoreFromFile() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        final long start = System.nanoTime();
+        GameSnapshot snapshot;
+        try (InputStream in = Files.newInputStream(file)) {
+            snapshot = SnapshotCodec.read(in);
+        }
+        restore(snapshot);
+
+        LOGGER.log(Level.INFO, "Restored %d rooms and %d players from %s in %.1f ms."
+                .formatted(snapshot.rooms().size(), snapshot.players().size(), file,
+                           (System.nanoTime() - start) / 1e6));
+
+        return snapshot.journalSegment();
+    }
+
+    /**
+     * Put the world back the way it was saved, and set aside the saved players' items.
+     *
+     * @param snapshot The saved game.
+     * @throws IOException if an item cannot read its state.
+     */
+    private void restore(GameSnapshot snapshot) throws IOException {
+        // Empty the saved rooms, keeping their items (by class) to put back where they belong.
+        Map<String, Deque<Item>> spare = new HashMap<>();
+        for (RoomState saved : snapshot.rooms()) {
+            world.getRoomFromID(saved.roomId()).ifPresent(room -> {
+                for (Item item : room.getItemList()) {
+                    if (room.removeItem(item)) {
+                        spare.computeIfAbsent(item.getClass().getName(), type -> new ArrayDeque<>()).add(item);
+                    }
+                }
+            });
+        }
+
+        for (RoomState saved : snapshot.rooms()) {
+            Room room = world.getRoomFromID(saved.roomId()).orElse(null);
+            if (room == null) {
+                LOGGER.log(Level.WARNING, "Saved room %d is no longer in the game.".formatted(saved.roomId()));
+                continue;
+            }
+
+            // Anchored items never left the room; they only need their state back.
+            List<Item> anchored = new ArrayList<>(room.getItemList());
+            for (ItemState state : saved.items()) {
+                Item item = anchored.stream().filter(i -> i.getClass().getName().equals(state.type()))
+                                    .findFirst().orElse(null);
+                if (item != null) {
+                    anchored.remove(item);
+                    state.applyTo(item);
+                } else if ((item = restoreItem(state, spare)) != null) {
+                    room.addItem(item);
+                }
+            }
+        }
+
+        for (PlayerState saved : snapshot.players()) {
+            List<Item> items = new ArrayList<>(saved.items().size());
+            for (ItemState state : saved.items()) {
+                Item item = restoreItem(state, spare);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            pending.put(saved.name(), new PendingPlayer(saved, items));
+        }
+    }
+
+    /**
+     * Record a list of items.
+     *
+     * @param items The items.
+     * @return The items' states.
+     */
+    private static List<ItemState> itemStates(List<Item> items) {
+        return items.isEmpty() ? List.of() : items.stream().map(ItemState::of).toList();
+    }
+
+    /**
+     * Get an item of the saved class (one of the world's own, if any are spare, otherwise a new
+     * one) and put it into the saved state.
+     *
+     * @param state The saved item.
+     * @param spare The world's spare items, by class.
+     * @return The item, or null if the item's class cannot be found or created.
+     * @throws IOException if the item cannot read its state.
+     */
+    private static Item restoreItem(ItemState state, Map<String, Deque<Item>> spare) throws IOException {
+        Deque<Item> items = spare.get(state.type());
+        Item item = items == null ? null : items.poll();
+
+        if (item == null) {
+            try {
+                item = Class.forName(state.type()).asSubclass(Item.class).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException ex) {
+                LOGGER.log(Level.WARNING, "Cannot restore saved item %s: %s".formatted(state.type(), ex));
+                return null;
+            }
+        }
+
+        state.applyTo(item);
+        return item;
+    }
+}
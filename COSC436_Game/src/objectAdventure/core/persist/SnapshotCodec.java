@@ -0,0 +1,348 @@
+package objectAdventure.core.persist;
+
+import objectAdventure.core.persist.GameSnapshot.ItemState;
+import objectAdventure.core.persist.GameSnapshot.PlayerState;
+import objectAdventure.core.persist.GameSnapshot.RoomState;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads and writes {@link GameSnapshot}s in a compact binary format.
+ *
+ * <p>The format is a header (a magic number, the format version, the time of the save, and the
+ * journal segment it was taken at), followed by a table of every string in the snapshot (item
+ * class names and player names, each written once however many times it is used), the rooms,
+ * and the players. Version 2 added the journal segment to the header. All other numbers are
+ * variable-length (7 bits a byte), so the small numbers that make up most of a save take a
+ * single byte. Each item's state is preceded by its length, so a reader can skip over the state
+ * of an item it does not know.</p>
+ *
+ * <p>A save is encoded into (and decoded from) a single byte array, rather than through a
+ * chain of streams that would each be called (and locked) once per byte.</p>
+ *
+ * <p>A reader accepts every format version up to its own, so old saves keep loading as the
+ * format grows.</p>
+ */
+public final class SnapshotCodec {
+
+    /**
+     * The current format version.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    // "OASV": Object Adventure SaVe.
+    private static final int MAGIC = 0x4F415356;
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Write a snapshot.
+     *
+     * @param snapshot The snapshot.
+     * @param output   Where to write it (not closed).
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public static void write(GameSnapshot snapshot, OutputStream output) throws IOException {
+        // Number every string, in order of first use.
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        for (RoomState room : snapshot.rooms()) {
+            room.items().forEach(item -> number(item.type(), strings, table));
+        }
+        for (PlayerState player : snapshot.players()) {
+            number(player.name(), strings, table);
+            player.items().forEach(item -> number(item.type(), strings, table));
+        }
+
+        var out = new Encoder();
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(snapshot.savedAt());
+        out.writeLong(snapshot.journalSegment());
+
+        out.writeVarInt(table.size());
+        for (String string : table) {
+            out.writeString(string);
+        }
+
+        out.writeVarInt(snapshot.rooms().size());
+        for (RoomState room : snapshot.rooms()) {
+            out.writeVarInt(room.roomId());
+            writeItems(out, room.items(), strings);
+        }
+
+        out.writeVarInt(snapshot.players().size());
+        for (PlayerState player : snapshot.players()) {
+            out.writeVarInt(strings.get(player.name()));
+            out.writeVarInt(player.roomId());
+            out.writeVarInt(player.previousRoomId());
+            writeItems(out, player.items(), strings);
+        }
+
+        output.write(out.buffer, 0, out.size);
+        output.flush();
+    }
+
+    /**
+     * Read a snapshot.
+     *
+     * @param input Where to read it from (read to the end, but not closed).
+     * @return The snapshot.
+     * @throws IOException if the input is not a save this version of the game can read.
+     */
+    public static GameSnapshot read(InputStream input) throws IOException {
+        var in = new Decoder(input.readAllBytes());
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a saved game.");
+        }
+        final int version = in.readShort();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Saved game format %d is newer than this game (%d).".formatted(version, FORMAT_VERSION));
+        }
+        final long savedAt = in.readLong();
+        final long journalSegment = version >= 2 ? in.readLong() : 0; // Version 1 had no journal.
+
+        final String[] strings = new String[in.readVarInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+
+        final int roomCount = in.readVarInt();
+        List<RoomState> rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            rooms.add(new RoomState(in.readVarInt(), readItems(in, strings)));
+        }
+
+        final int playerCount = in.readVarInt();
+        List<PlayerState> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new PlayerState(in.readString(strings), in.readVarInt(), in.readVarInt(),
+                                        readItems(in, strings)));
+        }
+
+        return new GameSnapshot(savedAt, journalSegment, rooms, players);
+    }
+
+    /**
+     * Give a string the next number in the string table, unless it already has one.
+     *
+     * @param string  The string.
+     * @param strings The numbers given so far.
+     * @param table   The strings, in order of their numbers.
+     */
+    private static void number(String string, Map<String, Integer> strings, List<String> table) {
+        if (strings.putIfAbsent(string, table.size()) == null) {
+            table.add(string);
+        }
+    }
+
+    /**
+     * Write a list of items.
+     *
+     * @param out     Where to write.
+     * @param items   The items.
+     * @param strings The string table.
+     */
+    private static void writeItems(Encoder out, List<ItemState> items, Map<String, Integer> strings) {
+        out.writeVarInt(items.size());
+        for (ItemState item : items) {
+            out.writeVarInt(strings.get(item.type()));
+            out.writeVarInt(item.state().length);
+            out.writeBytes(item.state());
+        }
+    }
+
+    /**
+     * Read a list of items.
+     *
+     * @param in      Where to read from.
+     * @param strings The string table.
+     * @return The items.
+     * @throws IOException if the items cannot be read.
+     */
+    private static List<ItemState> readItems(Decoder in, String[] strings) throws IOException {
+        final int count = in.readVarInt();
+        if (count == 0) {
+            return List.of();
+        }
+
+        List<ItemState> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String type = in.readString(strings);
+            items.add(new ItemState(type, in.readBytes(in.readVarInt())));
+        }
+        return items;
+    }
+
+    /**
+     * Writes a save into a growing byte array.
+     */
+    private static final class Encoder {
+
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int size = 0;
+
+        /**
+         * Make room for more bytes.
+         *
+         * @param count The number of bytes about to be written.
+         */
+        private void ensureCapacity(int count) {
+            if (size + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + count));
+            }
+        }
+
+        private void writeShort(int value) {
+            ensureCapacity(2);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeInt(int value) {
+            writeShort(value >>> 16);
+            writeShort(value);
+        }
+
+        private void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        /**
+         * Write a non-negative int in as few bytes as it needs (7 bits a byte, low bits first).
+         *
+         * @param value The value.
+         */
+        private void writeVarInt(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Cannot save a negative number: " + value);
+            }
+            ensureCapacity(5);
+            while (value >= 0x80) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /**
+         * Write a string as its UTF-8 length and bytes.
+         *
+         * @param string The string.
+         */
+        private void writeString(String string) {
+            final byte[] bytes = string.getBytes(UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+    }
+
+    /**
+     * Reads a save from a byte array.
+     */
+    private static final class Decoder {
+
+        private final byte[] buffer;
+        private int position = 0;
+
+        private Decoder(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Make sure there are enough bytes left.
+         *
+         * @param count The number of bytes about to be read.
+         * @throws EOFException if the save ends too soon.
+         */
+        private void require(int count) throws EOFException {
+            if (count < 0 || buffer.length - position < count) {
+                throw new EOFException("Saved game is incomplete.");
+            }
+        }
+
+        private int readShort() throws IOException {
+            require(2);
+            return (buffer[position++] & 0xFF) << 8 | (buffer[position++] & 0xFF);
+        }
+
+        private int readInt() throws IOException {
+            return readShort() << 16 | readShort();
+        }
+
+        private long readLong() throws IOException {
+            return (long) readInt() << 32 | (readInt() & 0xFFFF_FFFFL);
+        }
+
+        /**
+         * Read an int written by {@link Encoder#writeVarInt(int)}.
+         *
+         * @return The value.
+         * @throws IOException if the value cannot be read, or is malformed.
+         */
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                require(1);
+                final int b = buffer[position++] & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed saved game (number too long).");
+        }
+
+        private byte[] readBytes(int count) throws IOException {
+            require(count);
+            final byte[] bytes = Arrays.copyOfRange(buffer, position, position + count);
+            position += count;
+            return bytes;
+        }
+
+        private String readString() throws IOException {
+            final int length = readVarInt();
+            require(length);
+            final String string = new String(buffer, position, length, UTF_8);
+            position += length;
+            return string;
+        }
+
+        /**
+         * Read a reference to the string table.
+         *
+         * @param strings The string table.
+         * @return The string.
+         * @throws IOException if the reference is malformed.
+         */
+        private String readString(String[] strings) throws IOException {
+            final int index = readVarInt();
+            if (index >= strings.length) {
+                throw new IOException("Malformed saved game (no string %d).".formatted(index));
+            }
+            return strings[index];
+        }
+    }
+}
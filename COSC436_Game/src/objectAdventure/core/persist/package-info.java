@@ -0,0 +1,11 @@
+/**
+ * Saving and restoring games.
+ *
+ * <p>A {@link objectAdventure.core.persist.GameSnapshot} records what changes during play (where
+ * each player is, what they carry, what is in each room, and the state of each item) but not
+ * the world itself, which is always built from the room classes. The snapshot is written in a
+ * compact, versioned binary format by {@link objectAdventure.core.persist.SnapshotCodec}, and
+ * {@link objectAdventure.core.persist.SaveGame} ties the two together: restoring a saved game
+ * at startup, and saving it again in the background as play goes on.</p>
+ */
+package objectAdventure.core.persist;
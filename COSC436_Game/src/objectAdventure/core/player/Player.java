@@ -2,9 +2,11 @@ package objectAdventure.core.player;
 
 import objectAdventure.core.item.Item;
 import objectAdventure.core.item.ItemContainer;
+import objectAdventure.core.item.ItemLocationIndex;
+import objectAdventure.core.output.GameOutput;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Player class is the base class for all players in the game. Players may
@@ -17,12 +19,18 @@ public class Player implements ItemContainer {
     // The Name of the player
     private final String playerName;
 
-    // The List of Items the player is carrying.
+    // The List of Items the player is carrying (copy-on-write, as other players may look).
     private final List<Item> inventory;
 
-    // The ID of the room the player is in.
-    private int currentRoomID;
-    private int previousRoomID;
+    // The ID of the room the player is in (volatile, as other players may look).
+    private volatile int currentRoomID;
+    private volatile int previousRoomID;
+
+    // The world-wide item index, set when the player joins a game.
+    private ItemLocationIndex itemLocationIndex;
+
+    // Where text meant for this player goes (replaced by the player's session, if any).
+    private volatile GameOutput output = GameOutput.CONSOLE;
 
     /**
      * Constructor for default player.
@@ -31,7 +39,7 @@ public class Player implements ItemContainer {
      */
     public Player(String playerName) {
         this.playerName = playerName;
-        this.inventory = new LinkedList<>();
+        this.inventory = new CopyOnWriteArrayList<>();
         this.currentRoomID = 0;
         this.previousRoomID = 0;
     }
@@ -74,6 +82,10 @@ public class Player implements ItemContainer {
     @Override
     public void addItem(Item item) {
         inventory.add(item);
+
+        if (itemLocationIndex != null) {
+            itemLocationIndex.itemAdded(item, this);
+        }
     }
 
     /**
@@ -83,12 +95,26 @@ public class Player implements ItemContainer {
      */
     @Override
     public boolean removeItem(Item item) {
-        if (!item.isAnchored()) {
-            return inventory.remove(item);
+        if (!item.isAnchored() && inventory.remove(item)) {
+            if (itemLocationIndex != null) {
+                itemLocationIndex.itemRemoved(item, this);
+            }
+            return true;
         }
         return false;
     }
 
+    /**
+     * Attach the player to the world-wide item index. Anything already in the
+     * player's inventory is registered immediately.
+     *
+     * @param itemLocationIndex The index to keep up to date with the player's inventory.
+     */
+    public void attachItemLocationIndex(ItemLocationIndex itemLocationIndex) {
+        this.itemLocationIndex = itemLocationIndex;
+        inventory.forEach(item -> itemLocationIndex.itemAdded(item, this));
+    }
+
     /**
      * Get the list of items the player is carrying.
      *
@@ -109,6 +135,24 @@ public class Player implements ItemContainer {
         return playerName;
     }
 
+    /**
+     * Get the output for text meant for this player (from rooms, items, timed events, etc.).
+     *
+     * @return the player's output
+     */
+    public GameOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * Set the output for text meant for this player.
+     *
+     * @param output the player's output
+     */
+    public void setOutput(GameOutput output) {
+        this.output = output;
+    }
+
     @Override
     public String toString() {
         return "Player{" + "currentRoom=" + currentRoomID + "}";
@@ -0,0 +1,230 @@
+package objectAdventure.core.replay;
+
+import objectAdventure.core.command.LineSource;
+import objectAdventure.core.schedule.GameRandom;
+import objectAdventure.core.schedule.GameScheduler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Records a console session as it is played, so it can be replayed exactly
+ * ({@link SessionReplayer}): every line the player types (and when), every timed event that
+ * runs (and in which tick), every random number drawn, and all the text the player is shown.
+ *
+ * <p>A recording is a header (a magic number, the format version, the player's name, the seed
+ * of the engine's {@link GameRandom}, and the scheduler's tick length), followed by one record
+ * per happening, each starting with a tag byte, in the order they happened. Timed events run on
+ * the scheduler thread, so records are written one at a time.</p>
+ *
+ * <p>A recording only makes sense from a new world: it does not record the state a saved game
+ * starts from.</p>
+ */
+public final class SessionRecorder implements AutoCloseable {
+
+    /**
+     * The current format version.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    // "OARC": Object Adventure ReCording.
+    static final int MAGIC = 0x4F415243;
+
+    // Record tags.
+    static final byte INPUT = 'I';
+    static final byte OUTPUT = 'O';
+    static final byte TIMER = 'T';
+    static final byte DRAW = 'D';
+
+    private static final Logger LOGGER = Logger.getGlobal();
+
+    private final DataOutputStream out;
+    private final GameScheduler scheduler;
+    private final GameRandom random;
+
+    // The first write that failed (after which nothing more is recorded).
+    private IOException failure;
+
+    /**
+     * Constructor for SessionRecorder.
+     *
+     * @param out       Where to write the recording.
+     * @param scheduler The engine's scheduler.
+     * @param random    The engine's source of randomness.
+     */
+    private SessionRecorder(DataOutputStream out, GameScheduler scheduler, GameRandom random) {
+        this.out = out;
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    /**
+     * Start recording a session played with the engine-wide scheduler and randomness.
+     *
+     * @param file       The recording file (replaced if it exists).
+     * @param playerName The name of the session's player.
+     * @return The recorder.
+     * @throws IOException if the recording cannot be started.
+     */
+    public static SessionRecorder start(Path file, String playerName) throws IOException {
+        final GameScheduler scheduler = GameScheduler.getDefault();
+        final GameRandom random = GameRandom.getDefault();
+
+        var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        writeString(out, playerName);
+        out.writeLong(random.getSeed());
+        out.writeLong(scheduler.getTickNanos());
+
+        var recorder = new SessionRecorder(out, scheduler, random);
+        scheduler.setFiringListener(recorder::timerFired);
+        random.setDrawListener(recorder::numberDrawn);
+        return recorder;
+    }
+
+    /**
+     * Record the lines read from a source.
+     *
+     * @param input The player's input.
+     * @return The same input, recorded.
+     */
+    public LineSource recordInput(LineSource input) {
+        return () -> {
+            final String line = input.readLine();
+            if (line != null) {
+                record(() -> {
+                    out.writeByte(INPUT);
+                    out.writeLong(scheduler.getElapsedNanos());
+                    writeString(out, line);
+                    out.flush(); // A game cut short still leaves a recording up to its last command.
+                });
+            }
+            return line;
+        };
+    }
+
+    /**
+     * Record the text written to a destination.
+     *
+     * @param output The player's output.
+     * @return The same output, recorded.
+     */
+    public Appendable recordOutput(Appendable output) {
+        return new Appendable() {
+            @Override
+            public Appendable append(CharSequence text) throws IOException {
+                output.append(text);
+                record(() -> {
+                    out.writeByte(OUTPUT);
+                    writeString(out, String.valueOf(text));
+                });
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence text, int start, int end) throws IOException {
+                return append(String.valueOf(text).subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) throws IOException {
+                return append(String.valueOf(c));
+            }
+        };
+    }
+
+    /**
+     * Stop recording.
+     *
+     * @throws IOException if any of the recording could not be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        scheduler.setFiringListener(null);
+        random.setDrawListener(null);
+        out.close();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Record a timed event about to run.
+     *
+     * @param tick The tick it runs in.
+     */
+    private void timerFired(long tick) {
+        record(() -> {
+            out.writeByte(TIMER);
+            out.writeLong(tick);
+        });
+    }
+
+    /**
+     * Record a random number.
+     *
+     * @param bound The bound it was drawn with.
+     * @param value The number.
+     */
+    private void numberDrawn(int bound, int value) {
+        record(() -> {
+            out.writeByte(DRAW);
+            out.writeInt(bound);
+            out.writeInt(value);
+        });
+    }
+
+    /**
+     * Write one record, unless recording has already failed. A failure is logged (the game goes
+     * on without being recorded) and reported again on {@link #close()}.
+     *
+     * @param write Writes the record.
+     */
+    private synchronized void record(RecordWriter write) {
+        if (failure == null) {
+            try {
+                write.write();
+            } catch (IOException ex) {
+                failure = ex;
+                LOGGER.log(Level.WARNING, "Recording stopped: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write a string as its UTF-8 length and bytes (a game's output may be longer than
+     * {@link DataOutputStream#writeUTF(String)} allows).
+     *
+     * @param out    Where to write.
+     * @param string The string.
+     * @throws IOException if the string cannot be written.
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        final byte[] bytes = string.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes one record.
+     */
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        /**
+         * Write the record.
+         *
+         * @throws IOException if it cannot be written.
+         */
+        void write() throws IOException;
+    }
+}
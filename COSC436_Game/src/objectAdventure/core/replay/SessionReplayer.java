@@ -0,0 +1,312 @@
+package objectAdventure.core.replay;
+
+import objectAdventure.core.command.CommandInterpreter;
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.InputLimits;
+import objectAdventure.core.command.LineSource;
+import objectAdventure.core.command.UserInputLoop;
+import objectAdventure.core.player.Player;
+import objectAdventure.core.schedule.GameRandom;
+import objectAdventure.core.schedule.GameScheduler;
+import objectAdventure.core.schedule.ManualClock;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Replays a session recorded by {@link SessionRecorder} through a new world, as fast as it will
+ * run, and checks that it plays out exactly as recorded.
+ *
+ * <p>The engine is given a {@link ManualClock}, a scheduler without a thread of its own, and
+ * randomness with the recorded seed. Each recorded line is typed in at the moment it was
+ * recorded (by the manual clock), and the scheduler's ticks are run just far enough for each
+ * recorded timed event to have run before the next line; nothing waits for real time. The
+ * replay is then compared with the recording: every random number drawn, and every character
+ * of text shown.</p>
+ *
+ * <p>A command is taken to run at the moment its line was read. A timed event scheduled by a
+ * command may therefore be due a tick earlier in the replay; it still runs in its recorded
+ * place, as events are matched by the order in which they ran rather than by tick.</p>
+ *
+ * <p>The replay replaces the engine-wide scheduler and randomness, so it should be the only game
+ * in its JVM.</p>
+ */
+public final class SessionReplayer {
+
+    // How much of each side of a difference to show.
+    private static final int CONTEXT_LENGTH = 60;
+
+    // Private constructor to prevent instantiation. (Utility Class)
+    private SessionReplayer() {
+    }
+
+    /**
+     * Replay a recorded session.
+     *
+     * @param file The recording.
+     * @return What happened.
+     * @throws IOException if the recording cannot be read.
+     */
+    public static Report replay(Path file) throws IOException {
+        final Recording recording = Recording.read(file);
+
+        // The engine, under the replay's control.
+        final var clock = new ManualClock();
+        final GameScheduler scheduler = GameScheduler.manual(recording.tickNanos(), TimeUnit.NANOSECONDS,
+                                                             GameScheduler.DEFAULT_WHEEL_SIZE, clock);
+        final var random = new GameRandom(recording.seed());
+        GameScheduler.setDefault(scheduler);
+        GameRandom.setDefault(random);
+
+        final var drawChecker = new DrawChecker(recording.draws());
+        random.setDrawListener(drawChecker);
+
+        final long[] timersRun = {0};
+        scheduler.setFiringListener(tick -> timersRun[0]++);
+
+        // Feed the recorded lines to the player, running the recorded timed events in between.
+        final Iterator<Step> steps = recording.steps().iterator();
+        final long[] timersExpected = {0};
+        final long[] nextTick = {0};
+        final int[] commands = {0};
+        final LineSource input = () -> {
+            while (steps.hasNext()) {
+                switch (steps.next()) {
+                    case Input(long elapsedNanos, String line) -> {
+                        clock.advanceTo(elapsedNanos);
+                        commands[0]++;
+                        return line;
+                    }
+                    case Timer(long tick) -> {
+                        // Run ticks until the event has run (but never past the tick it ran in).
+                        timersExpected[0]++;
+                        while (timersRun[0] < timersExpected[0] && nextTick[0] <= tick) {
+                            clock.advanceTo(nextTick[0] * recording.tickNanos());
+                            nextTick[0] = scheduler.runTick() + 1;
+                        }
+                    }
+                }
+            }
+            return null;
+        };
+
+        final var output = new StringBuilder();
+        final var player = new Player(recording.playerName());
+        final var interpreter = new CommandInterpreter(new GameController(player));
+
+        final long start = System.nanoTime();
+        UserInputLoop.startInputLoop(interpreter, input, output, InputLimits.UNLIMITED);
+        final long replayNanos = System.nanoTime() - start;
+
+        String difference = drawChecker.difference;
+        if (difference == null && drawChecker.checked < recording.draws().size()) {
+            difference = "Only %d of the %d recorded random draws were made."
+                    .formatted(drawChecker.checked, recording.draws().size());
+        }
+        if (difference == null) {
+            difference = describeDifference(recording.output(), output.toString());
+        }
+
+        return new Report(commands[0], clock.nanoTime(), replayNanos, drawChecker.checked, difference);
+    }
+
+    /**
+     * Describe where the replay's text first differs from the recorded text.
+     *
+     * @param expected The recorded text.
+     * @param actual   The replay's text.
+     * @return A description of the difference, or null if there is none.
+     */
+    private static String describeDifference(String expected, String actual) {
+        if (expected.equals(actual)) {
+            return null;
+        }
+
+        int at = 0;
+        while (at < expected.length() && at < actual.length() && expected.charAt(at) == actual.charAt(at)) {
+            at++;
+        }
+        final long line = expected.substring(0, at).lines().count();
+
+        return "Text differs at character %d (line %d): expected \"%s\" but was \"%s\"."
+                .formatted(at, Math.max(1, line), excerpt(expected, at), excerpt(actual, at));
+    }
+
+    /**
+     * Take a short piece of text from a given position.
+     *
+     * @param text The text.
+     * @param at   The position.
+     * @return The piece, with line breaks shown as "\n".
+     */
+    private static String excerpt(String text, int at) {
+        return text.substring(at, Math.min(text.length(), at + CONTEXT_LENGTH))
+                   .replace("\r", "\\r")
+                   .replace("\n", "\\n");
+    }
+
+    /**
+     * The outcome of a replay.
+     *
+     * @param commands      The number of lines typed in.
+     * @param recordedNanos How long the recorded session took to play (to its last line).
+     * @param replayNanos   How long the replay took.
+     * @param draws         The number of random numbers drawn.
+     * @param difference    The first way in which the replay differed from the recording, or
+     *                      null if it was identical.
+     */
+    public record Report(int commands, long recordedNanos, long replayNanos, int draws, String difference) {
+
+        /**
+         * Did the replay play out exactly as recorded?
+         *
+         * @return true if it did, false otherwise.
+         */
+        public boolean isIdentical() {
+            return difference == null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Replayed %d commands (%.1f s of play) in %.1f ms (%.0fx real time), %d random draws: %s"
+                    .formatted(commands, recordedNanos / 1e9, replayNanos / 1e6,
+                               recordedNanos / (double) Math.max(1, replayNanos), draws,
+                               isIdentical() ? "identical." : difference);
+        }
+    }
+
+    /**
+     * Checks the replay's random numbers against the recorded ones, as they are drawn.
+     */
+    private static final class DrawChecker implements GameRandom.DrawListener {
+
+        private final List<int[]> expected;
+        private int checked = 0;
+        private String difference;
+
+        private DrawChecker(List<int[]> expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public void drawn(int bound, int value) {
+            if (difference == null) {
+                if (checked >= expected.size()) {
+                    difference = "Random draw %d (of %d) was never recorded.".formatted(checked + 1, bound);
+                } else if (expected.get(checked)[0] != bound || expected.get(checked)[1] != value) {
+                    difference = "Random draw %d was %d of %d, but %d of %d was recorded."
+                            .formatted(checked + 1, value, bound, expected.get(checked)[1], expected.get(checked)[0]);
+                }
+            }
+            checked++;
+        }
+    }
+
+    /**
+     * Something that happened in the recorded session that the replay must make happen too.
+     */
+    private sealed interface Step permits Input, Timer {
+    }
+
+    /**
+     * A line typed by the player.
+     *
+     * @param elapsedNanos When it was typed (by the scheduler's clock).
+     * @param line         The line.
+     */
+    private record Input(long elapsedNanos, String line) implements Step {
+    }
+
+    /**
+     * A timed event that ran.
+     *
+     * @param tick The tick it ran in.
+     */
+    private record Timer(long tick) implements Step {
+    }
+
+    /**
+     * A recording, read into memory.
+     *
+     * @param playerName The name of the player.
+     * @param seed       The seed of the engine's randomness.
+     * @param tickNanos  The scheduler's tick length.
+     * @param steps      The lines typed, and the timed events run, in order.
+     * @param draws      The random numbers drawn (each its bound and value), in order.
+     * @param output     All the text the player was shown.
+     */
+    private record Recording(String playerName, long seed, long tickNanos, List<Step> steps, List<int[]> draws,
+                             String output) {
+
+        /**
+         * Read a recording.
+         *
+         * @param file The recording.
+         * @return The recording.
+         * @throws IOException if the file is not a recording this version of the game can read.
+         */
+        private static Recording read(Path file) throws IOException {
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != SessionRecorder.MAGIC) {
+                    throw new IOException("Not a recorded session.");
+                }
+                final int version = in.readShort();
+                if (version > SessionRecorder.FORMAT_VERSION) {
+                    throw new IOException("Recording format %d is newer than this game (%d)."
+                                                  .formatted(version, SessionRecorder.FORMAT_VERSION));
+                }
+
+                final String playerName = readString(in);
+                final long seed = in.readLong();
+                final long tickNanos = in.readLong();
+
+                List<Step> steps = new ArrayList<>();
+                List<int[]> draws = new ArrayList<>();
+                var output = new StringBuilder();
+
+                // Read records to the end (a recording cut short ends at its last whole record).
+                try {
+                    while (true) {
+                        final int tag = in.read();
+                        switch (tag) {
+                            case -1 -> {
+                                return new Recording(playerName, seed, tickNanos, steps, draws, output.toString());
+                            }
+                            case SessionRecorder.INPUT -> steps.add(new Input(in.readLong(), readString(in)));
+                            case SessionRecorder.TIMER -> steps.add(new Timer(in.readLong()));
+                            case SessionRecorder.DRAW -> draws.add(new int[]{in.readInt(), in.readInt()});
+                            case SessionRecorder.OUTPUT -> output.append(readString(in));
+                            default -> throw new IOException("Malformed recording (record type %d).".formatted(tag));
+                        }
+                    }
+                } catch (EOFException ex) {
+                    return new Recording(playerName, seed, tickNanos, steps, draws, output.toString());
+                }
+            }
+        }
+
+        /**
+         * Read a string written by the recorder.
+         *
+         * @param in Where to read from.
+         * @return The string.
+         * @throws IOException if the string cannot be read.
+         */
+        private static String readString(DataInputStream in) throws IOException {
+            return new String(in.readNBytes(in.readInt()), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Recording and replaying games.
+ *
+ * <p>{@link objectAdventure.core.replay.SessionRecorder} records a console session as it is
+ * played: the lines typed, the timed events run, the random numbers drawn, and the text shown.
+ * {@link objectAdventure.core.replay.SessionReplayer} plays the recording back through a new
+ * world on a manual clock (so as fast as the commands run, rather than as fast as they were
+ * typed) and reports the first way, if any, in which the replay differs from the recording.
+ * A recording is a reproducible test case for a regression, or a workload for measuring
+ * one.</p>
+ */
+package objectAdventure.core.replay;
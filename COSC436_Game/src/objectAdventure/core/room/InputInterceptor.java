@@ -1,5 +1,7 @@
 package objectAdventure.core.room;
 
+import objectAdventure.core.player.Player;
+
 /**
  * Interface for rooms that can intercept input.
  *
@@ -19,10 +21,8 @@ public interface InputInterceptor {
      * <pre>{@code
      *      public String interceptInput(String inputLine) {
      *          if ("info".equalsIgnoreCase(inputLine)) {
-     *             out.println("This is not an information kiosk!");
      *             return null;  // Don't process the command any further
      *          } else if ("jump".equalsIgnoreCase(inputLine)) {
-     *             out.println("You jump right though the ceiling into another room.");
      *             return "up"; // Process the command as if the user typed "up"
      *          } else {
      *             return inputLine; // Process the command as normal
@@ -34,4 +34,17 @@ public interface InputInterceptor {
      * @return The modified input line.
      */
     String interceptInput(String inputLine);
+
+    /**
+     * Intercept the input line, with access to the player who typed it (e.g. to tell them
+     * something with {@code player.getOutput().println(...)}). By default, this simply calls
+     * {@link #interceptInput(String)}.
+     *
+     * @param inputLine The input line to be intercepted.
+     * @param player    The player who typed the line.
+     * @return The modified input line.
+     */
+    default String interceptInput(String inputLine, Player player) {
+        return interceptInput(inputLine);
+    }
 }
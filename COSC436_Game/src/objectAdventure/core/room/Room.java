@@ -3,27 +3,32 @@ package objectAdventure.core.room;
 import objectAdventure.common.Utils;
 import objectAdventure.core.item.Item;
 import objectAdventure.core.item.ItemContainer;
+import objectAdventure.core.item.ItemLocationIndex;
 
-import java.util.LinkedList;
 import java.util.List;
-
-import static java.util.Collections.unmodifiableList;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Room class is the base class for all rooms in the game.
  *
  * @author Adam J. Conover, COSC436/COSC716
  */
-public abstract class Room implements ItemContainer {
+public abstract class Room implements ItemContainer, Cloneable {
 
     private final Integer roomId;
     private final String roomName;
-    private final List<Item> itemList;
+
+    // Copy-on-write, so players can look around while others take and drop items.
+    // (Not final, only so that copyForWorld() can give the copy its own list.)
+    private List<Item> itemList;
 
     private String roomAuthor = "The author wishes to remain anonymous.";
     private String roomDescription = "This room does not yet have a description";
     private String roomImageResourcePath = null;
 
+    // The world-wide item index, set once the room has been added to a RoomList.
+    private ItemLocationIndex itemLocationIndex = null;
+
     /**
      * Constructor for the abstract room.
      *
@@ -33,7 +38,7 @@ public abstract class Room implements ItemContainer {
     protected Room(int roomId, String roomName) {
         this.roomId = roomId;
         this.roomName = roomName == null ? "Unnamed Room" : roomName;
-        this.itemList = new LinkedList<>();
+        this.itemList = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -92,6 +97,10 @@ public abstract class Room implements ItemContainer {
     @Override
     public void addItem(final Item item) {
         this.itemList.add(item);
+
+        if (this.itemLocationIndex != null) {
+            this.itemLocationIndex.itemAdded(item, this);
+        }
     }
 
     /**
@@ -101,21 +110,67 @@ public abstract class Room implements ItemContainer {
      */
     @Override
     public boolean removeItem(final Item item) {
-        if (!item.isAnchored()) {
-            return this.itemList.remove(item);
+        if (!item.isAnchored() && this.itemList.remove(item)) {
+            if (this.itemLocationIndex != null) {
+                this.itemLocationIndex.itemRemoved(item, this);
+            }
+            return true;
         }
 
         return false;
     }
 
     /**
-     * Returns a copy of the item List.
+     * Copy the room for use in another world (see
+     * {@link objectAdventure.core.map.RoomList#cloneWorld()}).
+     * <p>
+     * The copy is a shallow clone with its own item list, holding each item's
+     * {@link Item#copyForWorld()}. It is not attached to any item index. Subclasses that keep
+     * mutable state of their own should override this method to copy it as well.
+     *
+     * @return A copy of the room.
+     */
+    public Room copyForWorld() {
+        try {
+            Room copy = (Room) super.clone();
+            copy.itemList = new CopyOnWriteArrayList<>(itemList.stream().map(Item::copyForWorld).toList());
+            copy.itemLocationIndex = null;
+            return copy;
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("Room is Cloneable", ex);
+        }
+    }
+
+    /**
+     * Attach the room to the world-wide item index. Any items already in the room
+     * (typically added by the room's constructor) are registered immediately.
+     *
+     * @param itemLocationIndex The index to keep up to date with this room's items.
+     */
+    public void attachItemLocationIndex(final ItemLocationIndex itemLocationIndex) {
+        this.itemLocationIndex = itemLocationIndex;
+        this.itemList.forEach(item -> itemLocationIndex.itemAdded(item, this));
+    }
+
+    /**
+     * Detach the room from its item index, removing any of its items from the index.
+     * (Used when a room is replaced in the RoomList.)
+     */
+    public void detachItemLocationIndex() {
+        if (this.itemLocationIndex != null) {
+            this.itemList.forEach(item -> this.itemLocationIndex.itemRemoved(item, this));
+            this.itemLocationIndex = null;
+        }
+    }
+
+    /**
+     * Returns a copy of the item List. (A snapshot, unaffected by later takes and drops.)
      *
      * @return The items in the room.
      */
     @Override
     public List<Item> getItemList() {
-        return unmodifiableList(itemList);
+        return List.copyOf(itemList);
     }
 
     /**
@@ -0,0 +1,98 @@
+package objectAdventure.core.room;
+
+import objectAdventure.core.player.Player;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A world-wide index of which players are in which room.
+ *
+ * <p>Players only know their own room, so without the index "who else is here?" would mean
+ * asking every player in the world. The index maps each room ID to the set of players in it,
+ * and is kept current by {@link objectAdventure.core.command.service.Service_Room} as players
+ * join, move, and leave. Finding a room's occupants, and telling them something, only ever
+ * touches that room's players.</p>
+ *
+ * <p>The index is shared by every player in the world, so it is built on concurrent maps and
+ * sets. (A player part-way through a move may briefly be in neither room.)</p>
+ */
+public final class RoomPresenceIndex {
+
+    // Room ID to the players in the room.
+    private final Map<Integer, Set<Player>> occupants = new ConcurrentHashMap<>();
+
+    /**
+     * Record that a player is now in a room.
+     *
+     * @param player The player.
+     * @param roomId The room the player is in.
+     */
+    public void playerEntered(Player player, int roomId) {
+        occupants.computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet()).add(player);
+    }
+
+    /**
+     * Record that a player is no longer in a room.
+     *
+     * @param player The player.
+     * @param roomId The room the player has left.
+     */
+    public void playerLeft(Player player, int roomId) {
+        final Set<Player> players = occupants.get(roomId);
+        if (players != null) {
+            players.remove(player);
+        }
+    }
+
+    /**
+     * Record that a player has moved from one room to another.
+     *
+     * @param player     The player.
+     * @param fromRoomId The room the player has left.
+     * @param toRoomId   The room the player is now in.
+     */
+    public void playerMoved(Player player, int fromRoomId, int toRoomId) {
+        playerLeft(player, fromRoomId);
+        playerEntered(player, toRoomId);
+    }
+
+    /**
+     * Get the players in a room.
+     *
+     * @param roomId The room.
+     * @return A live, read-only view of the players in the room.
+     */
+    public Set<Player> getOccupants(int roomId) {
+        final Set<Player> players = occupants.get(roomId);
+        return players == null ? Set.of() : Collections.unmodifiableSet(players);
+    }
+
+    /**
+     * Write a line to every player in a room (except, usually, the player who caused it). The
+     * message is only built if there is someone to tell, and then only once.
+     *
+     * @param roomId  The room.
+     * @param except  The player not to tell (may be null).
+     * @param message Builds the message.
+     */
+    public void broadcast(int roomId, Player except, Supplier<String> message) {
+        final Set<Player> players = occupants.get(roomId);
+        if (players == null) {
+            return;
+        }
+
+        String text = null;
+        for (Player player : players) {
+            if (player != except) {
+                if (text == null) {
+                    text = message.get();
+                }
+                player.getOutput().println(text);
+            }
+        }
+    }
+}
@@ -6,8 +6,6 @@ import objectAdventure.core.room.InputInterceptor;
 import objectAdventure.core.room.Room;
 import objectAdventure.core.room.RoomEventListener;
 
-import static java.lang.System.out;
-
 /**
  * A room for testing and demo purposes.
  *
@@ -91,9 +89,9 @@ public final class SecretTestingRoom extends Room implements InputInterceptor, R
         int currentRoomId = player.getCurrentRoomId();
         int previousRoom = player.getPreviousRoomID();
 
-        out.printf("Beware!!! You're entering a secret testing room (%02d) from room %02d%n%n",
-                   currentRoomId,
-                   previousRoom);
+        player.getOutput().printf("Beware!!! You're entering a secret testing room (%02d) from room %02d%n%n",
+                                  currentRoomId,
+                                  previousRoom);
     }
 
     /**
@@ -104,7 +102,7 @@ public final class SecretTestingRoom extends Room implements InputInterceptor, R
     @Override
     public void playerLeavingRoom(Player player) {
         int destinationRoomId = player.getCurrentRoomId();
-        out.printf("Goodbye!  (Player leaving for room %02d)%n", destinationRoomId);
+        player.getOutput().printf("Goodbye!  (Player leaving for room %02d)%n", destinationRoomId);
 
         // reset the description upon leaving the room.
         this.setRoomDescription(BASE_DESCRIPTION);
@@ -121,10 +119,24 @@ public final class SecretTestingRoom extends Room implements InputInterceptor, R
     @Override
     public String interceptInput(String inputLine) {
         if (inputLine.equalsIgnoreCase("info")) {
-            out.println("This is not an information kiosk!");
             return null;
         } else {
             return inputLine;
         }
     }
+
+    /**
+     * As above, but also tells the player why their "info" went nowhere.
+     *
+     * @param inputLine The original input line.
+     * @param player    The player who typed the line.
+     * @return The revised input line.
+     */
+    @Override
+    public String interceptInput(String inputLine, Player player) {
+        if (inputLine.equalsIgnoreCase("info")) {
+            player.getOutput().println("This is not an information kiosk!");
+        }
+        return interceptInput(inputLine);
+    }
 }
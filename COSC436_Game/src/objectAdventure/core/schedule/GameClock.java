@@ -0,0 +1,21 @@
+package objectAdventure.core.schedule;
+
+/**
+ * The engine's source of time. Game time is only ever measured as the difference between two
+ * readings, so a clock need not start at any particular value.
+ */
+@FunctionalInterface
+public interface GameClock {
+
+    /**
+     * Real time (see {@link System#nanoTime()}).
+     */
+    GameClock SYSTEM = System::nanoTime;
+
+    /**
+     * Read the clock.
+     *
+     * @return The current time (nanoseconds).
+     */
+    long nanoTime();
+}
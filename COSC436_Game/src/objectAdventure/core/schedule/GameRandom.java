@@ -0,0 +1,103 @@
+package objectAdventure.core.schedule;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The engine's source of randomness (which joke a map tells, where a monster wanders...).
+ *
+ * <p>Every draw comes from one seeded generator, so a game started with the same seed, fed the
+ * same commands at the same moments, makes the same draws. A listener can watch the draws as
+ * they are made (to record them, or to check a replay against a recording). Draws are made one
+ * at a time, so the listener sees them in the order they were made.</p>
+ */
+public final class GameRandom {
+
+    private static GameRandom instance;
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    private volatile DrawListener drawListener;
+
+    /**
+     * Constructor for GameRandom.
+     *
+     * @param seed The seed.
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Get the engine-wide source of randomness, creating it (with an arbitrary seed) on first
+     * use.
+     *
+     * @return The default source of randomness.
+     */
+    public static synchronized GameRandom getDefault() {
+        if (instance == null) {
+            instance = new GameRandom(ThreadLocalRandom.current().nextLong());
+        }
+        return instance;
+    }
+
+    /**
+     * Replace the engine-wide source of randomness (before the game starts).
+     *
+     * @param random The new default.
+     */
+    public static synchronized void setDefault(GameRandom random) {
+        instance = random;
+    }
+
+    /**
+     * Get the seed.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set the listener told of every draw.
+     *
+     * @param listener The listener (called while drawing, so it must be quick), or null.
+     */
+    public void setDrawListener(DrawListener listener) {
+        this.drawListener = listener;
+    }
+
+    /**
+     * Draw a number.
+     *
+     * @param bound The upper bound (exclusive; must be positive).
+     * @return A number from 0 to bound - 1.
+     */
+    public synchronized int nextInt(int bound) {
+        final int value = random.nextInt(bound);
+
+        final DrawListener listener = drawListener;
+        if (listener != null) {
+            listener.drawn(bound, value);
+        }
+        return value;
+    }
+
+    /**
+     * Told of every draw.
+     */
+    @FunctionalInterface
+    public interface DrawListener {
+
+        /**
+         * A number was drawn.
+         *
+         * @param bound The bound it was drawn with.
+         * @param value The number.
+         */
+        void drawn(int bound, int value);
+    }
+}
@@ -0,0 +1,444 @@
+package objectAdventure.core.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs delayed and periodic game events (talking maps, burning torches, wandering monsters...)
+ * for the whole engine on a single thread.
+ *
+ * <p>Pending events are kept in a hashed timing wheel: a ring of buckets, one per tick, each a
+ * doubly-linked list of events. An event due further away than one turn of the wheel simply
+ * waits out the extra turns in its bucket. Scheduling appends to a bucket and cancelling
+ * unlinks from one, so both are constant-time however many events are pending. The price is
+ * resolution: events run up to one tick late.</p>
+ *
+ * <p>Any thread may schedule or cancel events. New events and cancellations are queued and
+ * applied by the scheduler thread at the start of each tick, so the wheel itself is only ever
+ * touched by that one thread. Event tasks run on the scheduler thread too, so they must be
+ * short.</p>
+ *
+ * <p>Time comes from a {@link GameClock}. A scheduler made with {@link #manual} has no thread
+ * of its own: its ticks run only when {@link #runTick()} is called, so a recorded game can be
+ * replayed as fast as its events can run.</p>
+ */
+public final class GameScheduler implements AutoCloseable {
+
+    /**
+     * The default tick length (milliseconds).
+     */
+    public static final long DEFAULT_TICK_MILLIS = 100;
+
+    /**
+     * The default number of buckets (ticks per turn of the wheel).
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final Logger LOGGER = Logger.getGlobal();
+
+    private static GameScheduler instance;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final GameClock clock;
+    private final long startNanos;
+    private final Thread worker;
+
+    // Hand-offs from other threads to the scheduler thread.
+    private final Queue<ScheduledEvent> newEvents = new ConcurrentLinkedQueue<>();
+    private final Queue<ScheduledEvent> cancelledEvents = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder pendingCount = new LongAdder();
+
+    // The tick currently being processed. (Scheduler thread only.)
+    private long tick = 0;
+
+    private volatile boolean running = true;
+
+    private volatile LongConsumer firingListener;
+
+    /**
+     * Constructor for the GameScheduler. The scheduler thread is a daemon, so a running
+     * scheduler never keeps the game from exiting.
+     *
+     * @param tickDuration The length of a tick (the scheduler's resolution).
+     * @param unit         The unit of the tick length.
+     * @param wheelSize    The number of buckets (rounded up to a power of two).
+     */
+    public GameScheduler(long tickDuration, TimeUnit unit, int wheelSize) {
+        this(tickDuration, unit, wheelSize, GameClock.SYSTEM, true);
+    }
+
+    /**
+     * Constructor for the GameScheduler.
+     *
+     * @param tickDuration The length of a tick (the scheduler's resolution).
+     * @param unit         The unit of the tick length.
+     * @param wheelSize    The number of buckets (rounded up to a power of two).
+     * @param clock        The source of time.
+     * @param threaded     Whether to run the ticks on a thread of the scheduler's own.
+     */
+    private GameScheduler(long tickDuration, TimeUnit unit, int wheelSize, GameClock clock, boolean threaded) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        this.clock = clock;
+        this.startNanos = clock.nanoTime();
+        this.worker = threaded ? Thread.ofPlatform().daemon().name("GameScheduler").start(this::runWheel) : null;
+    }
+
+    /**
+     * Create a scheduler without a thread of its own, whose ticks are run (as fast as they can
+     * be) by calling {@link #runTick()}. Events are scheduled by the given clock, which the
+     * caller keeps in step with the ticks.
+     *
+     * @param tickDuration The length of a tick (the scheduler's resolution).
+     * @param unit         The unit of the tick length.
+     * @param wheelSize    The number of buckets (rounded up to a power of two).
+     * @param clock        The source of time.
+     * @return The scheduler.
+     */
+    public static GameScheduler manual(long tickDuration, TimeUnit unit, int wheelSize, GameClock clock) {
+        return new GameScheduler(tickDuration, unit, wheelSize, clock, false);
+    }
+
+    /**
+     * Get the engine-wide scheduler, creating it on first use.
+     *
+     * @return The default scheduler.
+     */
+    public static synchronized GameScheduler getDefault() {
+        if (instance == null) {
+            instance = new GameScheduler(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+        }
+        return instance;
+    }
+
+    /**
+     * Replace the engine-wide scheduler (before anything is scheduled on it). The old one, if
+     * any, is stopped.
+     *
+     * @param scheduler The new default.
+     */
+    public static synchronized void setDefault(GameScheduler scheduler) {
+        if (instance != null && instance != scheduler) {
+            instance.close();
+        }
+        instance = scheduler;
+    }
+
+    /**
+     * Run a task once, after a delay.
+     *
+     * @param task  The task to run.
+     * @param delay The delay before running the task.
+     * @param unit  The unit of the delay.
+     * @return A handle for cancelling the event.
+     */
+    public ScheduledEvent schedule(Runnable task, long delay, TimeUnit unit) {
+        return submit(new ScheduledEvent(this, task, deadlineTick(delay, unit), 0));
+    }
+
+    /**
+     * Run a task repeatedly, after an initial delay, until the event is cancelled.
+     *
+     * @param task         The task to run.
+     * @param initialDelay The delay before the first run.
+     * @param period       The time between runs (at least one tick).
+     * @param unit         The unit of the delay and period.
+     * @return A handle for cancelling the event.
+     */
+    public ScheduledEvent scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        long periodTicks = Math.max(1, unit.toNanos(period) / tickNanos);
+        return submit(new ScheduledEvent(this, task, deadlineTick(initialDelay, unit), periodTicks));
+    }
+
+    /**
+     * Get the number of events waiting to run (periodic events count until cancelled).
+     *
+     * @return The number of pending events.
+     */
+    public long getPendingCount() {
+        return pendingCount.sum();
+    }
+
+    /**
+     * Get the length of a tick.
+     *
+     * @return The tick length (nanoseconds).
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Get the time since the scheduler started, by its clock.
+     *
+     * @return The elapsed time (nanoseconds).
+     */
+    public long getElapsedNanos() {
+        return clock.nanoTime() - startNanos;
+    }
+
+    /**
+     * Set the listener told of every event as it runs.
+     *
+     * @param listener The listener, given the tick the event runs in (called on the scheduler
+     *                 thread, just before the event, so it must be quick), or null.
+     */
+    public void setFiringListener(LongConsumer listener) {
+        this.firingListener = listener;
+    }
+
+    /**
+     * Run the next tick now, without waiting for it. (Only for a scheduler made by
+     * {@link #manual}; the caller should first move the clock to the tick's start.)
+     *
+     * @return The tick that was run.
+     * @throws IllegalStateException if the scheduler runs its own ticks.
+     */
+    public long runTick() {
+        if (worker != null) {
+            throw new IllegalStateException("This scheduler runs its own ticks.");
+        }
+        final long ran = tick;
+        processTick();
+        return ran;
+    }
+
+    /**
+     * Stop the scheduler. Pending events are abandoned.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Called by {@link ScheduledEvent#cancel()} once the event has been marked cancelled.
+     *
+     * @param event The cancelled event.
+     */
+    void eventCancelled(ScheduledEvent event) {
+        pendingCount.decrement();
+        cancelledEvents.add(event);
+    }
+
+    /**
+     * Convert a delay from now into an absolute tick.
+     *
+     * @param delay The delay.
+     * @param unit  The unit of the delay.
+     * @return The first tick at or after the delay.
+     */
+    private long deadlineTick(long delay, TimeUnit unit) {
+        long deadlineNanos = getElapsedNanos() + Math.max(0, unit.toNanos(delay));
+        return (deadlineNanos + tickNanos - 1) / tickNanos;
+    }
+
+    /**
+     * Queue a new event for the scheduler thread.
+     *
+     * @param event The event.
+     * @return The event.
+     */
+    private ScheduledEvent submit(ScheduledEvent event) {
+        pendingCount.increment();
+        newEvents.add(event);
+        return event;
+    }
+
+    /**
+     * The scheduler thread: wait for the start of each tick, then run whatever is due.
+     */
+    private void runWheel() {
+        while (running) {
+            // Wait for the start of the current tick.
+            final long tickStart = startNanos + tick * tickNanos;
+            long remaining;
+            while (running && (remaining = tickStart - clock.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            if (running) {
+                processTick();
+            }
+        }
+    }
+
+    /**
+     * Run whatever is due in the current tick, and move on to the next.
+     */
+    private void processTick() {
+        removeCancelledEvents();
+        placeNewEvents();
+        expireBucket(wheel[(int) (tick & mask)]);
+        tick++;
+    }
+
+    /**
+     * Unlink cancelled events from their buckets.
+     */
+    private void removeCancelledEvents() {
+        ScheduledEvent event;
+        while ((event = cancelledEvents.poll()) != null) {
+            if (event.bucket != null) {
+                event.bucket.remove(event);
+            }
+        }
+    }
+
+    /**
+     * Move newly scheduled events into their buckets.
+     */
+    private void placeNewEvents() {
+        ScheduledEvent event;
+        while ((event = newEvents.poll()) != null) {
+            if (!event.isCancelled()) {
+                place(event);
+            }
+        }
+    }
+
+    /**
+     * Put an event into the bucket for its deadline. An event already overdue goes into the
+     * current bucket, to run this tick.
+     *
+     * @param event The event.
+     */
+    private void place(ScheduledEvent event) {
+        final long dueTick = Math.max(event.deadlineTick, tick);
+        event.remainingRounds = (dueTick - tick) / wheel.length;
+        wheel[(int) (dueTick & mask)].add(event);
+    }
+
+    /**
+     * Run every event in a bucket that is due this turn of the wheel; the rest wait another turn.
+     *
+     * @param bucket The bucket for the current tick.
+     */
+    private void expireBucket(Bucket bucket) {
+        List<ScheduledEvent> repeats = new ArrayList<>();
+
+        ScheduledEvent event = bucket.head;
+        while (event != null) {
+            final ScheduledEvent next = event.next;
+
+            if (event.remainingRounds > 0) {
+                event.remainingRounds--;
+            } else {
+                bucket.remove(event);
+
+                if (event.isPeriodic()) {
+                    if (!event.isCancelled()) {
+                        run(event);
+                        event.deadlineTick += event.getPeriodTicks();
+                        repeats.add(event);
+                    }
+                } else if (event.expire()) {
+                    pendingCount.decrement();
+                    run(event);
+                }
+            }
+
+            event = next;
+        }
+
+        // Re-placed only now, as a repeat could land back in this bucket.
+        for (ScheduledEvent repeat : repeats) {
+            if (!repeat.isCancelled()) {
+                place(repeat);
+            }
+        }
+    }
+
+    /**
+     * Run an event's task. A failing task must never stop the scheduler.
+     *
+     * @param event The event.
+     */
+    private void run(ScheduledEvent event) {
+        final LongConsumer listener = firingListener;
+        if (listener != null) {
+            listener.accept(tick);
+        }
+
+        try {
+            event.getTask().run();
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Scheduled event failed: " + ex, ex);
+        }
+    }
+
+    /**
+     * One slot of the wheel: a doubly-linked list of events.
+     */
+    static final class Bucket {
+
+        private ScheduledEvent head;
+        private ScheduledEvent tail;
+
+        /**
+         * Append an event.
+         *
+         * @param event The event.
+         */
+        private void add(ScheduledEvent event) {
+            event.bucket = this;
+            event.prev = tail;
+            event.next = null;
+
+            if (tail == null) {
+                head = event;
+            } else {
+                tail.next = event;
+            }
+            tail = event;
+        }
+
+        /**
+         * Unlink an event.
+         *
+         * @param event The event.
+         */
+        private void remove(ScheduledEvent event) {
+            if (event.prev == null) {
+                head = event.next;
+            } else {
+                event.prev.next = event.next;
+            }
+
+            if (event.next == null) {
+                tail = event.prev;
+            } else {
+                event.next.prev = event.prev;
+            }
+
+            event.bucket = null;
+            event.prev = null;
+            event.next = null;
+        }
+    }
+}
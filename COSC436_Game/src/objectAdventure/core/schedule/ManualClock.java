@@ -0,0 +1,29 @@
+package objectAdventure.core.schedule;
+
+/**
+ * A clock that only moves when told to (e.g. to replay a recorded game faster than it was
+ * played). It starts at zero and never goes backwards.
+ */
+public final class ManualClock implements GameClock {
+
+    private volatile long now = 0;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Move the clock forward to a given time. (A time already passed is ignored.)
+     *
+     * @param nanos The new time (nanoseconds).
+     */
+    public synchronized void advanceTo(long nanos) {
+        if (nanos > now) {
+            now = nanos;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package objectAdventure.core.schedule;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A handle on an event scheduled with a {@link GameScheduler}, used to cancel it.
+ *
+ * <p>Each event is also a node in one of the scheduler's wheel buckets (a doubly-linked list),
+ * which is what makes both scheduling and cancellation constant-time.</p>
+ */
+public final class ScheduledEvent {
+
+    // Life cycle states.
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    // A field updater rather than an AtomicInteger per event, as there may be millions of events.
+    private static final AtomicIntegerFieldUpdater<ScheduledEvent> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(ScheduledEvent.class, "state");
+
+    private final GameScheduler scheduler;
+    private final Runnable task;
+
+    // The period between runs, in ticks (0 for a one-off event).
+    private final long periodTicks;
+
+    private volatile int state = PENDING;
+
+    // The tick the event is next due, and how many more turns of the wheel until then.
+    // (Only ever touched by the scheduler thread, once the event has been handed over.)
+    long deadlineTick;
+    long remainingRounds;
+
+    // The bucket holding the event, and its neighbours in that bucket.
+    GameScheduler.Bucket bucket;
+    ScheduledEvent prev;
+    ScheduledEvent next;
+
+    /**
+     * Constructor for the ScheduledEvent.
+     *
+     * @param scheduler    The scheduler running the event.
+     * @param task         The task to run.
+     * @param deadlineTick The tick the event is first due.
+     * @param periodTicks  The period between runs, in ticks (0 for a one-off event).
+     */
+    ScheduledEvent(GameScheduler scheduler, Runnable task, long deadlineTick, long periodTicks) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.deadlineTick = deadlineTick;
+        this.periodTicks = periodTicks;
+    }
+
+    /**
+     * Cancel the event. A one-off event that has already run, or an event that has already
+     * been cancelled, is unaffected.
+     *
+     * @return true if the event was cancelled by this call, false otherwise.
+     */
+    public boolean cancel() {
+        if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+            return false;
+        }
+
+        // Let the scheduler thread unlink it from its bucket.
+        scheduler.eventCancelled(this);
+        return true;
+    }
+
+    /**
+     * Has the event been cancelled?
+     *
+     * @return true if cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * Has the (one-off) event already run?
+     *
+     * @return true if the event has run and will not run again, false otherwise.
+     */
+    public boolean isExpired() {
+        return state == EXPIRED;
+    }
+
+    /**
+     * Is this a periodic event?
+     *
+     * @return true if the event repeats, false otherwise.
+     */
+    boolean isPeriodic() {
+        return periodTicks > 0;
+    }
+
+    /**
+     * Get the period between runs.
+     *
+     * @return The period, in ticks.
+     */
+    long getPeriodTicks() {
+        return periodTicks;
+    }
+
+    /**
+     * Get the task to run.
+     *
+     * @return The task.
+     */
+    Runnable getTask() {
+        return task;
+    }
+
+    /**
+     * Mark a one-off event as run, unless it has been cancelled in the meantime.
+     *
+     * @return true if the event should run, false if it was cancelled.
+     */
+    boolean expire() {
+        return STATE.compareAndSet(this, PENDING, EXPIRED);
+    }
+}
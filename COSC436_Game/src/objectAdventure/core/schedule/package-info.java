@@ -0,0 +1,13 @@
+/**
+ * Timed game events, and the engine's clock and randomness.
+ *
+ * <p>{@link objectAdventure.core.schedule.GameScheduler} runs delayed and periodic events for
+ * every item and room in the game on a single thread, using a hashed timing wheel. Scheduling
+ * and cancelling an event are both constant-time, so a world may hold millions of pending
+ * events without a thread (or even a heap operation) per event.</p>
+ *
+ * <p>The engine's time ({@link objectAdventure.core.schedule.GameClock}) and randomness
+ * ({@link objectAdventure.core.schedule.GameRandom}) live here too, so that both can be
+ * controlled when a recorded game is replayed.</p>
+ */
+package objectAdventure.core.schedule;
@@ -0,0 +1,266 @@
+package objectAdventure.server;
+
+import objectAdventure.core.command.GameSession;
+import objectAdventure.core.command.InputLimits;
+import objectAdventure.core.command.SessionInputQueue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The server side of one client connection: frames incoming bytes into lines, feeds them to the
+ * connection's {@link GameSession}, and queues the responses for non-blocking writes.
+ *
+ * <p>Lines wait in a bounded {@link SessionInputQueue} and are run no faster than the
+ * session's rate limit, so a client sending a flood of commands gets no more of the server's
+ * time than any other. When the queue fills, new lines are either dropped or (when parked)
+ * left unread, so the flood backs up in the client's own connection.</p>
+ *
+ * <p>When the client has sent everything (end of stream, e.g. a script piped into
+ * {@code nc}), the connection stops reading but still runs the lines it has, at the usual
+ * rate, and closes once the last response has been written.</p>
+ */
+final class ClientConnection {
+
+    // Size of the per-connection read buffer.
+    private static final int READ_BUFFER_SIZE = 1024;
+
+    // Longer lines are truncated; no sensible command is anywhere near this long.
+    private static final int MAX_LINE_LENGTH = 4096;
+
+    private final SelectionKey key;
+    private final SocketChannel channel;
+    private final GameSession session;
+    private final SessionInputQueue input;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+
+    // Set once the session is over; the connection closes when the last write drains.
+    private boolean closing = false;
+
+    // Set while reading is suspended because the input queue is full.
+    private boolean parked = false;
+
+    // Set once the client has sent everything; the lines already received still run.
+    private boolean inputEnded = false;
+
+    /**
+     * Constructor for the ClientConnection.
+     *
+     * @param key     The selection key for the connection's channel.
+     * @param session The game session for the connection.
+     * @param limits  The input limits for the connection.
+     */
+    ClientConnection(SelectionKey key, GameSession session, InputLimits limits) {
+        this.key = key;
+        this.channel = (SocketChannel) key.channel();
+        this.session = session;
+        this.input = new SessionInputQueue(limits);
+    }
+
+    /**
+     * Send the initial room description and prompt.
+     *
+     * @throws IOException if the write fails.
+     */
+    void start() throws IOException {
+        send(session.getPrompt());
+    }
+
+    /**
+     * Read whatever is available, queue every complete line, and run as many as the rate
+     * limit allows. At the end of the stream, reading stops, and the connection closes once
+     * the lines received so far have run.
+     *
+     * @throws IOException if the read fails.
+     */
+    void onReadable() throws IOException {
+        int count = channel.read(readBuffer);
+
+        if (count < 0) {
+            inputEnded = true;
+        }
+
+        frameLines();
+        processInput();
+    }
+
+    /**
+     * Run the queued lines the rate limit allows now.
+     *
+     * @throws IOException if a write fails.
+     */
+    void processInput() throws IOException {
+        String line;
+        while (!closing && (line = input.poll()) != null) {
+            processLine(line);
+
+            // Room in the queue again; take in what was held back.
+            if (parked) {
+                frameLines();
+            }
+        }
+
+        // The client has sent everything and all of it has run: close once it is written.
+        if (inputEnded && !closing && input.isEmpty() && readBuffer.position() == 0) {
+            closing = true;
+            if (pendingWrites.isEmpty()) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Does the connection have lines waiting for the rate limit?
+     *
+     * @return true if lines are waiting.
+     */
+    boolean hasPendingInput() {
+        return !closing && key.isValid() && !input.isEmpty();
+    }
+
+    /**
+     * Get how long until the next waiting line may run.
+     *
+     * @return The wait in nanoseconds, or -1 if no lines are waiting.
+     */
+    long nanosUntilInputReady() {
+        return input.nanosUntilReady();
+    }
+
+    /**
+     * Send any output that arrived for the player between commands (e.g. from a timed event).
+     *
+     * @throws IOException if the write fails.
+     */
+    void flushAsyncOutput() throws IOException {
+        final String text = session.drainOutput();
+        if (!text.isEmpty() && !closing && key.isValid()) {
+            send(text);
+        }
+    }
+
+    /**
+     * Write as much queued output as the socket will take.
+     *
+     * @throws IOException if the write fails.
+     */
+    void onWritable() throws IOException {
+        while (!pendingWrites.isEmpty()) {
+            ByteBuffer buffer = pendingWrites.peek();
+            channel.write(buffer);
+
+            if (buffer.hasRemaining()) {
+                return; // Socket is full; wait for the next OP_WRITE.
+            }
+            pendingWrites.remove();
+        }
+
+        // Everything is written; stop asking for write readiness.
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+
+        if (closing) {
+            close();
+        }
+    }
+
+    /**
+     * Close the connection. (The player leaves the game, if they haven't already quit.)
+     */
+    void close() {
+        session.leave();
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do; the connection is gone either way.
+        }
+    }
+
+    /**
+     * Move complete lines from the read buffer into the input queue. When the queue is full,
+     * parking stops here, leaving the rest in the buffer and no longer reading from the
+     * client; dropping throws the lines away and tells the client. At the end of the stream,
+     * a last line without a line break counts too.
+     *
+     * @throws IOException if a write fails.
+     */
+    private void frameLines() throws IOException {
+        final boolean park = input.getPolicy() == InputLimits.Policy.PARK;
+        int dropped = 0;
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && !closing && !(park && input.isFull())) {
+            byte b = readBuffer.get();
+
+            if (b == '\n') {
+                if (!input.offer(partialLine.toString(UTF_8))) {
+                    dropped++;
+                }
+                partialLine.reset();
+            } else if (b != '\r' && partialLine.size() < MAX_LINE_LENGTH) {
+                partialLine.write(b);
+            }
+        }
+        if (inputEnded && !readBuffer.hasRemaining() && partialLine.size() > 0 && !(park && input.isFull())) {
+            if (!input.offer(partialLine.toString(UTF_8))) {
+                dropped++;
+            }
+            partialLine.reset();
+        }
+        readBuffer.compact();
+
+        if (dropped > 0) {
+            send("Too many commands; %d ignored.%n".formatted(dropped));
+        }
+
+        // Stop (or resume) reading from the client.
+        parked = park && input.isFull();
+        if (key.isValid()) {
+            key.interestOps(parked || inputEnded
+                                    ? key.interestOps() & ~SelectionKey.OP_READ
+                                    : key.interestOps() | SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Run a line through the session and send the response (and next prompt).
+     *
+     * @param line The line received from the client.
+     * @throws IOException if the write fails.
+     */
+    private void processLine(String line) throws IOException {
+        String response = session.processLine(line);
+
+        if (session.isFinished()) {
+            closing = true;
+            send(response + "Goodbye!" + System.lineSeparator());
+        } else {
+            send(response + session.getPrompt());
+        }
+    }
+
+    /**
+     * Queue text for the client, writing immediately if nothing is already waiting.
+     *
+     * @param text The text to send.
+     * @throws IOException if the write fails.
+     */
+    private void send(String text) throws IOException {
+        pendingWrites.add(ByteBuffer.wrap(text.getBytes(UTF_8)));
+        onWritable();
+
+        if (!pendingWrites.isEmpty()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+}
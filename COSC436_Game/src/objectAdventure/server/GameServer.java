@@ -0,0 +1,306 @@
+package objectAdventure.server;
+
+import objectAdventure.core.command.CommandInterpreter;
+import objectAdventure.core.command.GameController;
+import objectAdventure.core.command.GameSession;
+import objectAdventure.core.command.InputLimits;
+import objectAdventure.core.persist.SaveGame;
+import objectAdventure.core.player.Player;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A multi-session game server. Each TCP connection gets its own {@link Player} and
+ * {@link GameController}, all sharing the same game world.
+ *
+ * <p>All connections are multiplexed on a single non-blocking NIO {@link Selector}, so an idle
+ * connection costs a socket and a couple of small buffers rather than a thread. Every command
+ * is processed on the selector thread, so players' commands never run at the same time as one
+ * another. They are not the only thing that touches the shared world, though: timed events
+ * (such as a talking map's chatter) and autosave snapshots run on the game scheduler's
+ * thread, with no lock between the two threads, just as they run alongside the console in the
+ * single-player game.</p>
+ *
+ * <p>Output for a player that arrives between commands (from timed events, which run on
+ * another thread) is handed to the selector thread, which sends it.</p>
+ *
+ * <p>Each connection's commands are rate limited (see {@link InputLimits}); lines over the
+ * limit wait, and the selector wakes up when the next one is due.</p>
+ *
+ * <p>The protocol is plain text: one command per line in, prompts and responses out (exactly
+ * what the console version prints). Any telnet/netcat client will do.</p>
+ */
+public final class GameServer implements Closeable {
+
+    /**
+     * The default port the server listens on.
+     */
+    public static final int DEFAULT_PORT = 4436;
+
+    private static final Logger LOGGER = Logger.getGlobal();
+
+    // Maximum number of pending (not yet accepted) connections.
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+
+    // Connections with output that arrived between commands, waiting for the selector thread.
+    private final Queue<ClientConnection> asyncOutput = new ConcurrentLinkedQueue<>();
+
+    // Connections with lines waiting for the rate limit. (Selector thread only.)
+    private final Set<ClientConnection> throttled = new LinkedHashSet<>();
+
+    private final InputLimits inputLimits;
+
+    // Restores returning players and saves new ones (null if the game is not being saved).
+    private final SaveGame saveGame;
+
+    // Used to give each player a unique name.
+    private int sessionCount = 0;
+
+    private volatile boolean running = false;
+
+    /**
+     * Constructor for the GameServer, with the default input limits. The server listens on the
+     * loopback interface only.
+     *
+     * @param port The port to listen on (0 for any free port).
+     * @throws IOException if the server socket cannot be opened.
+     * @see InputLimits#SERVER_DEFAULT
+     */
+    public GameServer(int port) throws IOException {
+        this(port, InputLimits.SERVER_DEFAULT);
+    }
+
+    /**
+     * Constructor for the GameServer. The server listens on the loopback interface only.
+     *
+     * @param port        The port to listen on (0 for any free port).
+     * @param inputLimits The input limits for every connection.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public GameServer(int port, InputLimits inputLimits) throws IOException {
+        this(port, inputLimits, null);
+    }
+
+    /**
+     * Constructor for the GameServer, for a saved game. Each player is restored, by name, from
+     * the saved game as they connect, and their commands are journaled (if the saved game has a
+     * journal). The server listens on the loopback interface only.
+     *
+     * @param port        The port to listen on (0 for any free port).
+     * @param inputLimits The input limits for every connection.
+     * @param saveGame    The saved game (opened on the shared world), or null.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public GameServer(int port, InputLimits inputLimits, SaveGame saveGame) throws IOException {
+        this.inputLimits = inputLimits;
+        this.saveGame = saveGame;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Run the selector loop on the calling thread until {@link #close()} is called.
+     *
+     * @throws IOException if the selector fails.
+     */
+    public void run() throws IOException {
+        running = true;
+        LOGGER.info("Game server listening on port %d".formatted(getPort()));
+
+        while (running) {
+            final long timeoutMillis = nextThrottleTimeout();
+            if (timeoutMillis < 0) {
+                selector.select();
+            } else if (timeoutMillis == 0) {
+                selector.selectNow();
+            } else {
+                selector.select(timeoutMillis);
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        ClientConnection connection = (ClientConnection) key.attachment();
+                        connection.onReadable();
+                        if (connection.hasPendingInput()) {
+                            throttled.add(connection);
+                        }
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        ((ClientConnection) key.attachment()).onWritable();
+                    }
+                } catch (IOException ex) {
+                    // A single broken connection must never take down the server.
+                    LOGGER.log(Level.FINE, "Closing connection: " + ex.getMessage());
+                    if (key.attachment() instanceof ClientConnection connection) {
+                        connection.close();
+                    }
+                }
+            }
+
+            flushAsyncOutput();
+            processThrottledInput();
+        }
+
+        shutdown();
+    }
+
+    /**
+     * Stop the server. The selector loop exits and all connections are closed.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Accept all pending connections, creating a new game session for each.
+     *
+     * @throws IOException if a connection cannot be configured.
+     */
+    private void acceptConnection() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            GameSession session = newSession();
+            ClientConnection connection = new ClientConnection(key, session, inputLimits);
+            key.attach(connection);
+
+            // Timed events write from another thread; pass their output to the selector thread.
+            session.setAsyncOutputListener(() -> {
+                asyncOutput.add(connection);
+                selector.wakeup();
+            });
+
+            connection.start();
+        }
+    }
+
+    /**
+     * Send the output that arrived between commands, for every connection that has some.
+     */
+    private void flushAsyncOutput() {
+        ClientConnection connection;
+        while ((connection = asyncOutput.poll()) != null) {
+            try {
+                connection.flushAsyncOutput();
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Closing connection: " + ex.getMessage());
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Get how long the selector may sleep before a rate-limited line is due.
+     *
+     * @return The timeout in milliseconds (0 if a line is due now), or -1 if none are waiting.
+     */
+    private long nextThrottleTimeout() {
+        long nanos = Long.MAX_VALUE;
+        for (ClientConnection connection : throttled) {
+            nanos = Math.min(nanos, Math.max(0, connection.nanosUntilInputReady()));
+        }
+
+        if (throttled.isEmpty()) {
+            return -1;
+        }
+        // Round up, so the line is due when the selector wakes.
+        return (nanos + 999_999) / 1_000_000;
+    }
+
+    /**
+     * Run the rate-limited lines that are now due.
+     */
+    private void processThrottledInput() {
+        Iterator<ClientConnection> connections = throttled.iterator();
+        while (connections.hasNext()) {
+            ClientConnection connection = connections.next();
+            try {
+                connection.processInput();
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Closing connection: " + ex.getMessage());
+                connection.close();
+            }
+
+            if (!connection.hasPendingInput()) {
+                connections.remove();
+            }
+        }
+    }
+
+    /**
+     * Create a new player and game session in the shared world.
+     *
+     * @return The new session.
+     */
+    private GameSession newSession() {
+        var player = new Player("Player-%d".formatted(++sessionCount));
+        if (saveGame != null) {
+            saveGame.join(player);
+        }
+        var controller = new GameController(player);
+        if (saveGame != null) {
+            saveGame.getJournal().ifPresent(controller::setJournal);
+        }
+        return new GameSession(new CommandInterpreter(controller));
+    }
+
+    /**
+     * Close every connection and the server socket.
+     *
+     * @throws IOException if the selector cannot be closed.
+     */
+    private void shutdown() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof ClientConnection connection) {
+                connection.close();
+            }
+        }
+        serverChannel.close();
+        selector.close();
+    }
+}
@@ -0,0 +1,261 @@
+package objectAdventure.server;
+
+import objectAdventure.core.command.InputLimits;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A load tester for the {@link GameServer}. Opens many simulated clients against a server on
+ * localhost (all driven from one NIO selector), has each one play a short scripted session,
+ * and reports throughput and response latency.
+ *
+ * <p>Usage: {@code java objectAdventure.server.LoadTestClient [clients] [commands] [port]}.
+ * If no server is listening on the port, one is started in-process.</p>
+ */
+public final class LoadTestClient {
+
+    // The commands each simulated player cycles through.
+    private static final String[] SCRIPT = {"look", "i", "n", "s", "where map", "help", "down", "up"};
+
+    // The server's prompt; a response is complete once this has been received.
+    private static final byte[] PROMPT = "[Enter Command]: ".getBytes(UTF_8);
+
+    private final int clientCount;
+    private final int commandsPerClient;
+    private final InetSocketAddress address;
+
+    // Response latencies in nanoseconds, one per command sent.
+    private final long[] latencies;
+    private int latencyCount = 0;
+    private int openClients = 0;
+
+    // Private constructor; see main().
+    private LoadTestClient(int clientCount, int commandsPerClient, int port) {
+        this.clientCount = clientCount;
+        this.commandsPerClient = commandsPerClient;
+        this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        this.latencies = new long[clientCount * commandsPerClient];
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @param args [clients] [commands per client] [port]
+     * @throws Exception if the test cannot be run.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : GameServer.DEFAULT_PORT;
+
+        GameServer server = null;
+        if (!isListening(port)) {
+            server = new GameServer(port, InputLimits.UNLIMITED); // Measure the engine, not the limits.
+            Thread.ofPlatform().daemon().name("GameServer").start(runServer(server));
+        }
+
+        try {
+            new LoadTestClient(clients, commands, port).run();
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    /**
+     * Drive all the clients to completion and print the report.
+     *
+     * @throws IOException if a connection cannot be opened.
+     */
+    private void run() throws IOException {
+        try (Selector selector = Selector.open()) {
+            final long start = System.nanoTime();
+
+            for (int i = 0; i < clientCount; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT, new SimulatedClient(i));
+                openClients++;
+            }
+
+            while (openClients > 0) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+
+            report(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Handle a ready client channel.
+     *
+     * @param key The selection key for the client.
+     */
+    private void handle(SelectionKey key) {
+        SimulatedClient client = (SimulatedClient) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+
+        try {
+            if (key.isConnectable() && channel.finishConnect()) {
+                key.interestOps(SelectionKey.OP_READ);
+            } else if (key.isReadable() && client.onReadable(channel)) {
+                key.cancel();
+                channel.close();
+                openClients--;
+            }
+        } catch (IOException ex) {
+            System.err.printf("Client %d failed: %s%n", client.id, ex.getMessage());
+            key.cancel();
+            openClients--;
+        }
+    }
+
+    /**
+     * Print the throughput and latency summary.
+     *
+     * @param elapsedNanos The total run time.
+     */
+    private void report(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Clients: %,d  Commands: %,d  Elapsed: %.2fs  Throughput: %,.0f commands/s%n",
+                          clientCount, latencyCount, seconds, latencyCount / seconds);
+        System.out.printf("Latency (ms): p50=%.2f  p90=%.2f  p99=%.2f  max=%.2f%n",
+                          percentile(sorted, 0.50), percentile(sorted, 0.90),
+                          percentile(sorted, 0.99), percentile(sorted, 1.00));
+    }
+
+    /**
+     * Get a percentile (in milliseconds) from sorted nanosecond samples.
+     *
+     * @param sorted   The sorted samples.
+     * @param fraction The percentile, from 0.0 to 1.0.
+     * @return The percentile in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Is a server already listening on the port?
+     *
+     * @param port The port to check.
+     * @return true if a connection can be made, false otherwise.
+     */
+    private static boolean isListening(int port) {
+        try {
+            SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)).close();
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Wrap the server's run loop for use on a background thread.
+     *
+     * @param server The server to run.
+     * @return A runnable for the server's selector loop.
+     */
+    private static Runnable runServer(GameServer server) {
+        return () -> {
+            try {
+                server.run();
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+    }
+
+    /**
+     * The state of one simulated player.
+     */
+    private final class SimulatedClient {
+
+        private final int id;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+
+        // How many bytes of the prompt have been matched so far (the prompt may span reads).
+        private int promptMatched = 0;
+        private int commandsSent = 0;
+        private long sentAt = 0;
+
+        private SimulatedClient(int id) {
+            this.id = id;
+        }
+
+        /**
+         * Consume server output, answering each prompt with the next scripted command.
+         *
+         * @param channel The client's channel.
+         * @return true once the client is finished, false otherwise.
+         * @throws IOException if the socket fails.
+         */
+        private boolean onReadable(SocketChannel channel) throws IOException {
+            readBuffer.clear();
+            if (channel.read(readBuffer) < 0) {
+                return true;
+            }
+
+            readBuffer.flip();
+            while (readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                promptMatched = (b == PROMPT[promptMatched]) ? promptMatched + 1 : (b == PROMPT[0] ? 1 : 0);
+
+                if (promptMatched == PROMPT.length) {
+                    promptMatched = 0;
+                    onPrompt(channel);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Record the latency of the previous command and send the next one.
+         *
+         * @param channel The client's channel.
+         * @throws IOException if the write fails.
+         */
+        private void onPrompt(SocketChannel channel) throws IOException {
+            if (sentAt != 0) {
+                latencies[latencyCount++] = System.nanoTime() - sentAt;
+            }
+
+            String command = commandsSent < commandsPerClient
+                    ? SCRIPT[(id + commandsSent) % SCRIPT.length]
+                    : "QUIT";
+            commandsSent++;
+
+            sentAt = System.nanoTime();
+            ByteBuffer out = ByteBuffer.wrap((command + "\n").getBytes(UTF_8));
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * A multi-session network front end for the game.
+ *
+ * <p>The {@link objectAdventure.server.GameServer} multiplexes many local TCP connections on a
+ * single NIO selector, giving each connection its own player and game session over a shared
+ * world. {@link objectAdventure.server.LoadTestClient} simulates many such connections to
+ * measure throughput and latency.</p>
+ */
+package objectAdventure.server;